@@ -1,5 +1,6 @@
 plugins {
     java
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.extracrates"
@@ -24,6 +25,7 @@ dependencies {
     compileOnly("me.clip:placeholderapi:2.11.6")
     testImplementation("io.papermc.paper:paper-api:1.20.4-R0.1-SNAPSHOT")
     testImplementation("org.junit.jupiter:junit-jupiter:5.10.2")
+    jmh("io.papermc.paper:paper-api:1.20.4-R0.1-SNAPSHOT")
 }
 
 java {
@@ -35,3 +37,10 @@ java {
 tasks.test {
     useJUnitPlatform()
 }
+
+// ./gradlew jmh -> build/reports/jmh/results.json
+jmh {
+    jmhVersion.set("1.37")
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("reports/jmh/results.json"))
+}
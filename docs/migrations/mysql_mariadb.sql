@@ -20,7 +20,8 @@ CREATE TABLE IF NOT EXISTS crate_opens (
   server_id VARCHAR(64) NOT NULL,
   opened_at BIGINT NOT NULL,
   PRIMARY KEY (id),
-  INDEX idx_crate_opens_player (player_uuid)
+  INDEX idx_crate_opens_player_seek (player_uuid, opened_at, id),
+  INDEX idx_crate_opens_player_crate_seek (player_uuid, crate_id, opened_at, id)
 );
 
 CREATE TABLE IF NOT EXISTS crate_pending_rewards (
@@ -35,8 +36,11 @@ CREATE TABLE IF NOT EXISTS crate_pending_rewards (
 CREATE TABLE IF NOT EXISTS crate_locks (
   player_uuid CHAR(36) NOT NULL,
   crate_id VARCHAR(64) NOT NULL,
+  server_id VARCHAR(64) NOT NULL DEFAULT '',
   locked_at BIGINT NOT NULL,
-  PRIMARY KEY (player_uuid, crate_id)
+  expires_at BIGINT NOT NULL DEFAULT 0,
+  PRIMARY KEY (player_uuid, crate_id),
+  INDEX idx_crate_locks_expires (expires_at)
 );
 
 CREATE TABLE IF NOT EXISTS crate_deliveries (
@@ -21,7 +21,8 @@ CREATE TABLE IF NOT EXISTS crate_opens (
   opened_at INTEGER NOT NULL
 );
 
-CREATE INDEX IF NOT EXISTS idx_crate_opens_player ON crate_opens (player_uuid);
+CREATE INDEX IF NOT EXISTS idx_crate_opens_player_seek ON crate_opens (player_uuid, opened_at, id);
+CREATE INDEX IF NOT EXISTS idx_crate_opens_player_crate_seek ON crate_opens (player_uuid, crate_id, opened_at, id);
 
 CREATE TABLE IF NOT EXISTS crate_pending_rewards (
   player_uuid TEXT NOT NULL,
@@ -35,9 +36,12 @@ CREATE TABLE IF NOT EXISTS crate_pending_rewards (
 CREATE TABLE IF NOT EXISTS crate_locks (
   player_uuid TEXT NOT NULL,
   crate_id TEXT NOT NULL,
+  server_id TEXT NOT NULL DEFAULT '',
   locked_at INTEGER NOT NULL,
+  expires_at INTEGER NOT NULL DEFAULT 0,
   PRIMARY KEY (player_uuid, crate_id)
 );
+CREATE INDEX IF NOT EXISTS idx_crate_locks_expires ON crate_locks (expires_at);
 
 CREATE TABLE IF NOT EXISTS crate_deliveries (
   player_uuid TEXT NOT NULL,
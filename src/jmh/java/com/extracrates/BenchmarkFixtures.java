@@ -0,0 +1,52 @@
+package com.extracrates;
+
+import com.extracrates.model.Reward;
+import org.bukkit.World;
+
+import java.lang.reflect.Proxy;
+import java.util.UUID;
+
+/**
+ * Shared inputs for the JMH benchmarks. Bukkit types are stood in by proxies since no server is running.
+ */
+public final class BenchmarkFixtures {
+    private BenchmarkFixtures() {
+    }
+
+    public static Reward reward(String id, double chance, String rarity) {
+        return new Reward(
+                id,
+                chance,
+                id,
+                "STONE",
+                1,
+                null,
+                null,
+                "",
+                false,
+                null,
+                null,
+                new Reward.RewardEffects("", "", ""),
+                null,
+                "",
+                "",
+                rarity
+        );
+    }
+
+    public static World world() {
+        UUID worldId = UUID.nameUUIDFromBytes("benchmark".getBytes());
+        return (World) Proxy.newProxyInstance(
+                World.class.getClassLoader(),
+                new Class<?>[]{World.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getName" -> "benchmark";
+                    case "getUID" -> worldId;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "BenchmarkWorld";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                }
+        );
+    }
+}
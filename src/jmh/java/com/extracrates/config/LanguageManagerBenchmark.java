@@ -0,0 +1,59 @@
+package com.extracrates.config;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LanguageManagerBenchmark {
+    private LanguageManager languageManager;
+    private Map<String, String> placeholders;
+
+    @Setup
+    public void setUp() throws IOException {
+        Path dataFolder = Files.createTempDirectory("extracrates-bench");
+        Path langFolder = Files.createDirectories(dataFolder.resolve("lang"));
+        try (InputStream input = LanguageManager.class.getClassLoader().getResourceAsStream("lang/en_us.yml")) {
+            if (input == null) {
+                throw new IllegalStateException("lang/en_us.yml no está en el classpath");
+            }
+            Files.copy(input, langFolder.resolve("en_us.yml"), StandardCopyOption.REPLACE_EXISTING);
+        }
+        YamlConfiguration mainConfig = new YamlConfiguration();
+        languageManager = new LanguageManager(() -> mainConfig, dataFolder::toFile);
+        languageManager.load();
+        placeholders = Map.of("reward", "Diamond Sword", "field", "chance", "player", "Steve", "pool", "starter");
+    }
+
+    @Benchmark
+    public String rawWithPlaceholders() {
+        return languageManager.getRaw("command.reward-updated", placeholders);
+    }
+
+    @Benchmark
+    public Component messageWithPlaceholders() {
+        return languageManager.getMessage("command.reward-updated", placeholders);
+    }
+}
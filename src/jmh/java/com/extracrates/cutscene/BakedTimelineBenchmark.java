@@ -0,0 +1,74 @@
+package com.extracrates.cutscene;
+
+import com.extracrates.BenchmarkFixtures;
+import org.bukkit.Location;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BakedTimelineBenchmark {
+    @Param({"8", "64"})
+    public int pointCount;
+
+    private CutscenePath path;
+    private BakedTimeline baked;
+    private Location frameLocation;
+
+    @Setup
+    public void setUp() {
+        frameLocation = new Location(BenchmarkFixtures.world(), 0, 0, 0);
+        List<CutscenePoint> points = new ArrayList<>(pointCount);
+        for (int i = 0; i < pointCount; i++) {
+            double angle = i * (Math.PI * 2.0 / pointCount);
+            points.add(new CutscenePoint(Math.cos(angle) * 12.0, 70.0 + i * 0.25, Math.sin(angle) * 12.0, i * 15f, 10f));
+        }
+        path = new CutscenePath(
+                "bench",
+                6.0,
+                true,
+                0.15,
+                "linear",
+                "",
+                new CutsceneSpinSettings(true, 0, pointCount / 2, SpinDirection.RIGHT, 4.0),
+                points,
+                Set.of(),
+                List.of(),
+                List.of(),
+                List.of()
+        );
+        baked = BakedTimeline.bake(path);
+    }
+
+    @Benchmark
+    public BakedTimeline bake() {
+        return BakedTimeline.bake(path);
+    }
+
+    @Benchmark
+    public double playback() {
+        double sum = 0;
+        for (int frame = 0; frame < baked.size(); frame++) {
+            sum += baked.read(frame, frameLocation).getX();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,51 @@
+package com.extracrates.logging;
+
+import com.extracrates.BenchmarkFixtures;
+import com.extracrates.model.Reward;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RewardLoggerBenchmark {
+    @Param({"json", "yaml"})
+    public String format;
+
+    private RewardLogger rewardLogger;
+    private Reward reward;
+    private Instant timestamp;
+    private long seed;
+
+    @Setup
+    public void setUp() {
+        YamlConfiguration section = new YamlConfiguration();
+        section.set("format", format);
+        rewardLogger = new RewardLogger(section, Path.of(System.getProperty("java.io.tmpdir")), Logger.getLogger("RewardLoggerBenchmark"));
+        reward = BenchmarkFixtures.reward("diamond \"sword\"", 2.5, "epic");
+        timestamp = Instant.parse("2024-01-01T12:00:00Z");
+    }
+
+    @Benchmark
+    public String formatEntry() {
+        return rewardLogger.formatEntry("Steve", "starter", reward, seed++, timestamp);
+    }
+}
@@ -0,0 +1,76 @@
+package com.extracrates.storage;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocalStorageBenchmark {
+    private static final int PLAYERS = 256;
+
+    private LocalStorage storage;
+    private UUID[] players;
+    private Instant now;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        storage = new LocalStorage();
+        players = new UUID[PLAYERS];
+        now = Instant.now();
+        for (int i = 0; i < PLAYERS; i++) {
+            players[i] = UUID.randomUUID();
+            storage.addKey(players[i], "starter", 1_000_000);
+            for (int open = 0; open < 200; open++) {
+                storage.logOpen(players[i], "starter", "reward-" + (open % 10), "bench", now.minusSeconds(open));
+            }
+        }
+    }
+
+    private UUID nextPlayer() {
+        next = (next + 1) & (PLAYERS - 1);
+        return players[next];
+    }
+
+    @Benchmark
+    public boolean lockCycle() {
+        UUID player = nextPlayer();
+        boolean acquired = storage.acquireLock(player, "starter");
+        storage.releaseLock(player, "starter");
+        return acquired;
+    }
+
+    @Benchmark
+    public boolean consumeKeyAndCooldown() {
+        UUID player = nextPlayer();
+        storage.setCooldown(player, "starter", now);
+        return storage.consumeKey(player, "starter");
+    }
+
+    @Benchmark
+    public void logOpen() {
+        storage.logOpen(nextPlayer(), "starter", "reward-1", "bench", now);
+    }
+
+    @Benchmark
+    public List<CrateOpenEntry> historyPage() {
+        return storage.getOpenHistory(nextPlayer(), OpenHistoryFilter.none(), 10);
+    }
+}
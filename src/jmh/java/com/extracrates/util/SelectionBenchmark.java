@@ -0,0 +1,80 @@
+package com.extracrates.util;
+
+import com.extracrates.BenchmarkFixtures;
+import com.extracrates.model.RarityDefinition;
+import com.extracrates.model.Reward;
+import com.extracrates.model.RewardPool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SelectionBenchmark {
+    private static final String[] RARITIES = {"common", "rare", "epic", "legendary"};
+
+    @Param({"10", "400"})
+    public int rewardCount;
+
+    private RewardPool pool;
+    private RewardPool distinctPool;
+    private Map<String, RarityDefinition> rarities;
+    private WeightedTable<RarityDefinition> raritySampler;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        List<Reward> rewards = new ArrayList<>(rewardCount);
+        for (int i = 0; i < rewardCount; i++) {
+            rewards.add(BenchmarkFixtures.reward("reward-" + i, 1 + (i % 13), RARITIES[i % RARITIES.length]));
+        }
+        pool = new RewardPool("bench", 3, false, rewards).compile();
+        distinctPool = new RewardPool("bench-distinct", 3, true, rewards).compile();
+        rarities = new LinkedHashMap<>();
+        double[] chances = {70.0, 20.0, 8.0, 2.0};
+        for (int i = 0; i < RARITIES.length; i++) {
+            rarities.put(RARITIES[i], new RarityDefinition(RARITIES[i], RARITIES[i], chances[i], ""));
+        }
+        raritySampler = WeightedTable.of(rarities.values(), RarityDefinition::chance);
+        random = new SplittableRandom(42L);
+    }
+
+    @Benchmark
+    public List<Reward> rewardRoll() {
+        return RewardSelector.roll(pool, random, null);
+    }
+
+    @Benchmark
+    public List<Reward> rewardRollDistinct() {
+        return RewardSelector.roll(distinctPool, random, null);
+    }
+
+    @Benchmark
+    public RarityDefinition raritySelect() {
+        return RaritySelector.select(rarities, random);
+    }
+
+    @Benchmark
+    public RarityDefinition raritySampler() {
+        return raritySampler.sample(random);
+    }
+}
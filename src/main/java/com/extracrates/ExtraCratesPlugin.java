@@ -40,6 +40,7 @@ public final class ExtraCratesPlugin extends JavaPlugin {
     private Economy economy;
     private SyncBridge syncBridge;
     private PendingRewardStore pendingRewardStore;
+    private CrateCommand crateCommandExecutor;
 
     @Override
     public void onEnable() {
@@ -97,6 +98,7 @@ public final class ExtraCratesPlugin extends JavaPlugin {
             );
             crateCommand.setExecutor(executor);
             crateCommand.setTabCompleter(executor);
+            crateCommandExecutor = executor;
         }
     }
 
@@ -105,6 +107,9 @@ public final class ExtraCratesPlugin extends JavaPlugin {
         if (apiService != null) {
             getServer().getServicesManager().unregister(ExtraCratesApi.class, apiService);
         }
+        if (crateCommandExecutor != null) {
+            crateCommandExecutor.shutdown();
+        }
         if (sessionManager != null) {
             sessionManager.shutdown();
         }
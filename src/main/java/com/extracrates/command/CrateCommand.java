@@ -6,6 +6,7 @@ import com.extracrates.gui.CrateGui;
 import com.extracrates.gui.OpenHistoryGui;
 import com.extracrates.gui.editor.EditorMenu;
 import com.extracrates.model.CrateDefinition;
+import com.extracrates.model.RarityDefinition;
 import com.extracrates.model.Reward;
 import com.extracrates.model.RewardPool;
 import com.extracrates.route.RouteEditorManager;
@@ -13,6 +14,7 @@ import com.extracrates.runtime.CutscenePreviewSession;
 import com.extracrates.config.ConfigLoader;
 import com.extracrates.runtime.core.CrateSession;
 import com.extracrates.runtime.core.SessionManager;
+import com.extracrates.storage.HistoryCursor;
 import com.extracrates.storage.PendingRewardStore;
 import com.extracrates.storage.StorageMigrationReport;
 import com.extracrates.storage.StorageTarget;
@@ -21,6 +23,8 @@ import com.extracrates.sync.SyncBridge;
 import com.extracrates.sync.SyncEventType;
 import com.extracrates.util.CommandUtil;
 import com.extracrates.util.ItemUtil;
+import com.extracrates.util.PoolSimulator;
+import com.extracrates.util.WeightedTable;
 import net.kyori.adventure.text.Component;
 import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
@@ -29,6 +33,7 @@ import org.bukkit.Material;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
+import org.bukkit.command.ConsoleCommandSender;
 import org.bukkit.command.TabCompleter;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
@@ -45,15 +50,26 @@ import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
 
 public class CrateCommand implements CommandExecutor, TabCompleter {
     private static final Map<String, FieldType> MASS_FIELDS = new LinkedHashMap<>();
+    private static final int HISTORY_CURSOR_CACHE_SIZE = 64;
+    private static final long MAX_SIMULATION_ROLLS = 1_000_000_000L;
+    private static final int SIMULATION_CHAT_LINES = 15;
 
     static {
         MASS_FIELDS.put("display-name", FieldType.STRING);
@@ -78,6 +94,15 @@ public class CrateCommand implements CommandExecutor, TabCompleter {
     private final RouteEditorManager routeEditorManager;
     private final PendingRewardStore pendingRewardStore;
     private final SyncBridge syncBridge;
+    private final Map<String, List<HistoryCursor>> historyPageCursors = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, List<HistoryCursor>> eldest) {
+            return size() > HISTORY_CURSOR_CACHE_SIZE;
+        }
+    };
+    private final AtomicBoolean simulationRunning = new AtomicBoolean();
+    // Pool of the running simulation; never the common pool, which the server and other plugins share.
+    private volatile ForkJoinPool simulationPool;
 
     public CrateCommand(
             ExtraCratesPlugin plugin,
@@ -284,6 +309,26 @@ public class CrateCommand implements CommandExecutor, TabCompleter {
             case "sync" -> {
                 return syncCommand.handle(sender, args);
             }
+            case "storage" -> {
+                if (!sender.hasPermission("extracrates.storage")) {
+                    sender.sendMessage(languageManager.getMessage("command.no-permission"));
+                    return true;
+                }
+                for (String line : sessionManager.getStorageStatusLines()) {
+                    sender.sendMessage(Component.text(line));
+                }
+                return true;
+            }
+            case "stats" -> {
+                if (!sender.hasPermission("extracrates.stats")) {
+                    sender.sendMessage(languageManager.getMessage("command.no-permission"));
+                    return true;
+                }
+                for (String line : sessionManager.getTickerStatusLines()) {
+                    sender.sendMessage(Component.text(line));
+                }
+                return true;
+            }
             case "migrate" -> {
                 if (!sender.hasPermission("extracrates.migrate")) {
                     sender.sendMessage(languageManager.getMessage("command.no-permission"));
@@ -306,6 +351,9 @@ public class CrateCommand implements CommandExecutor, TabCompleter {
                 }
                 return true;
             }
+            case "simulate" -> {
+                return handleSimulate(sender, args);
+            }
             case "givekey" -> {
                 sender.sendMessage(languageManager.getMessage("command.unknown-subcommand"));
                 return true;
@@ -440,7 +488,7 @@ public class CrateCommand implements CommandExecutor, TabCompleter {
         List<String> options = new ArrayList<>();
         String current = args.length > 0 ? args[args.length - 1] : "";
         if (args.length == 1) {
-            options.addAll(List.of("gui", "history", "editor", "open", "preview", "openrarity", "cutscene", "reroll", "reload", "debug", "sync", "route", "migrate", "clear", "forceclear", "hardreset", "crates", "pools", "rewards"));
+            options.addAll(List.of("gui", "history", "editor", "open", "preview", "openrarity", "cutscene", "reroll", "reload", "debug", "sync", "storage", "stats", "route", "migrate", "simulate", "clear", "forceclear", "hardreset", "crates", "pools", "rewards"));
             return filterByPrefix(options, current);
         }
         if (args.length == 2 && args[0].equalsIgnoreCase("crates")) {
@@ -536,6 +584,14 @@ public class CrateCommand implements CommandExecutor, TabCompleter {
                 return filterByPrefix(options, current);
             }
         }
+        if (args.length == 2 && args[0].equalsIgnoreCase("simulate")) {
+            options.addAll(configLoader.getRewardPools().keySet());
+            return filterByPrefix(options, current);
+        }
+        if (args.length == 3 && args[0].equalsIgnoreCase("simulate")) {
+            options.addAll(List.of("1000000", "100000000"));
+            return filterByPrefix(options, current);
+        }
         if (args.length == 2 && args[0].equalsIgnoreCase("migrate")) {
             options.addAll(List.of("sql", "local"));
             return filterByPrefix(options, current);
@@ -822,11 +878,23 @@ public class CrateCommand implements CommandExecutor, TabCompleter {
             return true;
         }
         int pageSize = 10;
-        int offset = Math.max(0, page - 1) * pageSize;
-        List<CrateHistoryEntry> history = sessionManager.getHistory(target.getUniqueId(), crateId, pageSize + 1, offset);
+        String cursorKey = sender.getName() + ":" + target.getUniqueId() + ":" + (crateId != null ? crateId : "");
+        List<HistoryCursor> cursors = cachedHistoryCursors(cursorKey, page);
+        if (cursors.size() < page - 1) {
+            // Seeking to an unvisited page would cost one query per skipped page on the main thread.
+            int reachable = cursors.size() + 1;
+            sender.sendMessage(Component.text("Página " + page + " aún no visitada; avanza desde la página " + reachable
+                    + ": " + buildHistoryCommand(args[1], crateId, reachable)));
+            return true;
+        }
+        HistoryCursor before = page > 1 ? cursors.get(page - 2) : null;
+        List<CrateHistoryEntry> history = sessionManager.getHistory(target.getUniqueId(), crateId, before, pageSize + 1);
         boolean hasNext = history.size() > pageSize;
         if (hasNext) {
             history = history.subList(0, pageSize);
+            if (cursors.size() == page - 1) {
+                cursors.add(history.get(pageSize - 1).cursor());
+            }
         }
         if (history.isEmpty()) {
             sender.sendMessage(Component.text("Sin historial para este jugador."));
@@ -851,6 +919,142 @@ public class CrateCommand implements CommandExecutor, TabCompleter {
         return true;
     }
 
+    private boolean handleSimulate(CommandSender sender, String[] args) {
+        if (!sender.hasPermission("extracrates.simulate")) {
+            sender.sendMessage(languageManager.getMessage("command.no-permission"));
+            return true;
+        }
+        if (args.length < 3) {
+            sender.sendMessage(Component.text("Uso: /crates simulate <pool> <tiradas> [semilla]"));
+            return true;
+        }
+        RewardPool pool = configLoader.getRewardPools().get(args[1]);
+        if (pool == null) {
+            sender.sendMessage(Component.text("Pool no encontrado: " + args[1]));
+            return true;
+        }
+        long rolls = parseRollCount(args[2]);
+        if (rolls < 1 || rolls > MAX_SIMULATION_ROLLS) {
+            sender.sendMessage(Component.text("Número de tiradas inválido (1 - " + MAX_SIMULATION_ROLLS + ")."));
+            return true;
+        }
+        long seed;
+        if (args.length >= 4) {
+            try {
+                seed = Long.parseLong(args[3]);
+            } catch (NumberFormatException ex) {
+                sender.sendMessage(Component.text("Semilla inválida: " + args[3]));
+                return true;
+            }
+        } else {
+            seed = ThreadLocalRandom.current().nextLong();
+        }
+        if (!simulationRunning.compareAndSet(false, true)) {
+            sender.sendMessage(Component.text("Ya hay una simulación en curso."));
+            return true;
+        }
+        WeightedTable<RarityDefinition> rarities = configLoader.getRaritySampler();
+        ForkJoinPool executor = createSimulationPool();
+        simulationPool = executor;
+        sender.sendMessage(Component.text("Simulando " + rolls + " tiradas de " + pool.id() + " (semilla " + seed + ")..."));
+        CompletableFuture
+                .supplyAsync(() -> PoolSimulator.run(pool, rarities, rolls, seed, executor), executor)
+                .whenComplete((report, error) -> {
+                    executor.shutdown();
+                    simulationPool = null;
+                    simulationRunning.set(false);
+                    Bukkit.getScheduler().runTask(plugin, () -> {
+                        if (error != null) {
+                            plugin.getLogger().log(Level.WARNING, "Simulación fallida para el pool " + pool.id(), error);
+                            sender.sendMessage(Component.text("Simulación fallida: " + error.getMessage()));
+                            return;
+                        }
+                        sendSimulationReport(sender, report);
+                    });
+                });
+        return true;
+    }
+
+    public void shutdown() {
+        ForkJoinPool executor = simulationPool;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private static ForkJoinPool createSimulationPool() {
+        // Leave a core for the server thread.
+        int parallelism = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        AtomicInteger counter = new AtomicInteger();
+        return new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("ExtraCrates-Simulation-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+    }
+
+    private long parseRollCount(String raw) {
+        try {
+            return Long.parseLong(raw.replace("_", ""));
+        } catch (NumberFormatException ignored) {
+            // Accept scientific notation such as 1e8.
+        }
+        try {
+            double value = Double.parseDouble(raw);
+            return Double.isFinite(value) ? (long) value : -1L;
+        } catch (NumberFormatException ex) {
+            return -1L;
+        }
+    }
+
+    private void sendSimulationReport(CommandSender sender, PoolSimulator.Report report) {
+        List<String> header = List.of(
+                "Simulación pool=" + report.poolId() + " rolls=" + report.rolls() + " seed=" + report.seed(),
+                String.format(Locale.ROOT, "Throughput: %.1f ms, %.2fM rolls/s, parallelism=%d",
+                        report.elapsedNanos() / 1_000_000.0,
+                        report.rollsPerSecond() / 1_000_000.0,
+                        report.parallelism())
+        );
+        List<String> rewardLines = simulationLines("Rewards", report.rewards(), report.rolls());
+        List<String> rarityLines = simulationLines("Rarities", report.rarities(), report.rolls());
+        header.forEach(line -> sender.sendMessage(Component.text(line)));
+        sendTruncated(sender, rewardLines);
+        sendTruncated(sender, rarityLines);
+        if (!(sender instanceof ConsoleCommandSender)) {
+            header.forEach(plugin.getLogger()::info);
+            rewardLines.forEach(plugin.getLogger()::info);
+            rarityLines.forEach(plugin.getLogger()::info);
+        }
+    }
+
+    private List<String> simulationLines(String label, PoolSimulator.Distribution distribution, long rolls) {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format(Locale.ROOT, "%s: chi2=%.2f df=%d p=%.4f",
+                label, distribution.chiSquare(), distribution.degreesOfFreedom(), distribution.pValue()));
+        // Largest drift first so a truncated chat report still shows what matters.
+        distribution.outcomes().stream()
+                .sorted(Comparator.comparingDouble((PoolSimulator.Outcome outcome) -> Math.abs(outcome.zScore(rolls))).reversed())
+                .forEach(outcome -> lines.add(String.format(Locale.ROOT,
+                        "  %s: observed=%.4f%% configured=%.4f%% delta=%+.4f%% z=%+.2f",
+                        outcome.id(),
+                        outcome.observed() * 100.0,
+                        outcome.expected() * 100.0,
+                        outcome.deviation() * 100.0,
+                        outcome.zScore(rolls))));
+        return lines;
+    }
+
+    private void sendTruncated(CommandSender sender, List<String> lines) {
+        int shown = sender instanceof ConsoleCommandSender ? lines.size() : Math.min(lines.size(), SIMULATION_CHAT_LINES + 1);
+        for (int i = 0; i < shown; i++) {
+            sender.sendMessage(Component.text(lines.get(i)));
+        }
+        if (shown < lines.size()) {
+            sender.sendMessage(Component.text("  ... " + (lines.size() - shown) + " más (ver consola)"));
+        }
+    }
+
     private boolean handleCrates(CommandSender sender, String[] args) {
         if (args.length < 2) {
             sender.sendMessage(languageManager.getMessage("command.crates-usage"));
@@ -1455,6 +1659,19 @@ public class CrateCommand implements CommandExecutor, TabCompleter {
         }
     }
 
+    /**
+     * Returns the cached page-start cursors for this listing ({@code cursors.get(i)} starts page {@code i + 2}).
+     * Cursors are only learned by paging forward, so page 1 starts a fresh list.
+     */
+    private List<HistoryCursor> cachedHistoryCursors(String cursorKey, int page) {
+        List<HistoryCursor> cursors = page > 1 ? historyPageCursors.get(cursorKey) : null;
+        if (cursors == null) {
+            cursors = new ArrayList<>();
+            historyPageCursors.put(cursorKey, cursors);
+        }
+        return cursors;
+    }
+
     private String buildHistoryCommand(@NotNull String playerName, @Nullable String crateId, int page) {
         if (crateId == null || crateId.isEmpty()) {
             return "/crates history " + playerName + " " + page;
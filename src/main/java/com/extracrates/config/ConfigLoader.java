@@ -6,6 +6,7 @@ import com.extracrates.model.CrateDefinition;
 import com.extracrates.model.RarityDefinition;
 import com.extracrates.model.Reward;
 import com.extracrates.model.RewardPool;
+import com.extracrates.util.WeightedTable;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
@@ -26,6 +27,7 @@ public class ConfigLoader {
     private final Map<String, RewardPool> rewardPools = new HashMap<>();
     private final Map<String, RarityDefinition> rarities = new HashMap<>();
     private final Map<String, CutscenePath> paths = new HashMap<>();
+    private WeightedTable<RarityDefinition> raritySampler = WeightedTable.empty();
     private SettingsSnapshot settings;
     private boolean configValid = true;
 
@@ -43,11 +45,14 @@ public class ConfigLoader {
         crates.clear();
         rewardPools.clear();
         rarities.clear();
+        // Sessions already playing keep their baked frames; the old paths just stop holding them.
+        paths.values().forEach(CutscenePath::invalidateTimeline);
         paths.clear();
         loadSettings();
         loadCrates();
         loadRewards();
         loadRarities();
+        raritySampler = WeightedTable.of(rarities.values(), RarityDefinition::chance);
         loadPaths();
         logger.info(String.format(
                 "Configuracion cargada: crates=%d, pools=%d, rarities=%d, paths=%d",
@@ -70,6 +75,10 @@ public class ConfigLoader {
         return Collections.unmodifiableMap(rarities);
     }
 
+    public WeightedTable<RarityDefinition> getRaritySampler() {
+        return raritySampler;
+    }
+
     public Optional<Reward> findRewardById(String rewardId) {
         if (rewardId == null || rewardId.isEmpty()) {
             return Optional.empty();
@@ -158,7 +167,7 @@ public class ConfigLoader {
         for (String id : section.getKeys(false)) {
             RewardPool pool = RewardPool.fromSection(id, section.getConfigurationSection(id));
             if (pool != null) {
-                rewardPools.put(id, pool);
+                rewardPools.put(id, pool.compile());
             }
         }
         logger.info(String.format(
@@ -16,21 +16,29 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 public class LanguageManager {
-    private final ExtraCratesPlugin plugin;
+    private final Supplier<FileConfiguration> mainConfigSupplier;
+    private final Supplier<File> dataFolderSupplier;
     private FileConfiguration messages;
     private FileConfiguration fallbackMessages;
 
     public LanguageManager(ExtraCratesPlugin plugin) {
-        this.plugin = plugin;
+        this(plugin::getConfig, plugin::getDataFolder);
+    }
+
+    LanguageManager(Supplier<FileConfiguration> mainConfigSupplier, Supplier<File> dataFolderSupplier) {
+        this.mainConfigSupplier = mainConfigSupplier;
+        this.dataFolderSupplier = dataFolderSupplier;
     }
 
     public void load() {
-        String language = plugin.getConfig().getString("language", "en_us");
-        File fallbackFile = new File(plugin.getDataFolder(), "lang/en_us.yml");
+        String language = mainConfigSupplier.get().getString("language", "en_us");
+        File dataFolder = dataFolderSupplier.get();
+        File fallbackFile = new File(dataFolder, "lang/en_us.yml");
         fallbackMessages = YamlConfiguration.loadConfiguration(fallbackFile);
-        File file = new File(plugin.getDataFolder(), "lang/" + language + ".yml");
+        File file = new File(dataFolder, "lang/" + language + ".yml");
         if (!file.exists()) {
             file = fallbackFile;
         }
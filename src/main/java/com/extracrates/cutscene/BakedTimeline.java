@@ -0,0 +1,280 @@
+package com.extracrates.cutscene;
+
+import org.bukkit.Location;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A cutscene path interpolated once into packed primitive arrays: {@code x,y,z} triples, {@code yaw,pitch} pairs,
+ * the source segment of every frame, whether that segment uses the player as camera and whether the frame is the
+ * landing point of a direct jump. Instances are immutable and shared by every session playing the path; frames are
+ * read into a caller-owned {@link Location}.
+ */
+public final class BakedTimeline {
+    private static final BakedTimeline EMPTY =
+            new BakedTimeline(new double[0], new float[0], new int[0], new boolean[0], new boolean[0]);
+
+    private final double[] positions;
+    private final float[] rotations;
+    private final int[] segments;
+    private final boolean[] playerCamera;
+    private final boolean[] jumps;
+
+    private BakedTimeline(double[] positions, float[] rotations, int[] segments, boolean[] playerCamera, boolean[] jumps) {
+        this.positions = positions;
+        this.rotations = rotations;
+        this.segments = segments;
+        this.playerCamera = playerCamera;
+        this.jumps = jumps;
+    }
+
+    public static BakedTimeline bake(CutscenePath path) {
+        List<CutscenePoint> points = path.getPoints();
+        if (points.isEmpty()) {
+            return EMPTY;
+        }
+        Builder builder = new Builder(estimateFrames(path, points));
+        if (points.size() == 1) {
+            builder.add(points.getFirst(), 0, path.isPlayerSegment(0), false);
+            return builder.build();
+        }
+        CutsceneSpinSettings spinSettings = path.getSpinSettings();
+        double spinOffset = 0.0;
+        double spinStep = spinSettings != null ? spinSettings.stepDelta() : 0.0;
+        boolean spinStarted = false;
+        String smoothing = resolveSmoothing(path.getSmoothing());
+        for (int i = 0; i < points.size() - 1; i++) {
+            CutscenePoint start = points.get(i);
+            CutscenePoint end = points.get(i + 1);
+            boolean usePlayer = path.isPlayerSegment(i);
+            if (path.isDirectPoint(i + 1)) {
+                if (builder.size == 0) {
+                    builder.add(start, i, usePlayer, false);
+                }
+                builder.add(end, i, usePlayer, true);
+                continue;
+            }
+            int steps = segmentSteps(path, start, end);
+            for (int s = 0; s <= steps; s++) {
+                double eased = applyEasing(s / (double) steps, smoothing);
+                float yaw = lerpAngle(start.yaw(), end.yaw(), eased);
+                float pitch = lerpAngle(start.pitch(), end.pitch(), eased);
+                if (spinSettings != null && spinSettings.isActiveForSegment(i)) {
+                    yaw = wrapDegrees(yaw + (float) spinOffset);
+                    spinOffset += spinStep;
+                    spinStarted = true;
+                } else if (spinStarted) {
+                    yaw = wrapDegrees(yaw + (float) spinOffset);
+                }
+                builder.add(
+                        lerp(start.x(), end.x(), eased),
+                        lerp(start.y(), end.y(), eased),
+                        lerp(start.z(), end.z(), eased),
+                        yaw,
+                        pitch,
+                        i,
+                        usePlayer,
+                        false
+                );
+            }
+        }
+        return builder.build();
+    }
+
+    public int size() {
+        return segments.length;
+    }
+
+    public boolean isEmpty() {
+        return segments.length == 0;
+    }
+
+    public int segmentIndex(int frame) {
+        return segments[frame];
+    }
+
+    public boolean usesPlayerCamera(int frame) {
+        return playerCamera[frame];
+    }
+
+    /**
+     * Whether {@code frame} is reached by a direct jump from the previous frame rather than by interpolation.
+     */
+    public boolean isJump(int frame) {
+        return jumps[frame];
+    }
+
+    public double x(int frame) {
+        return positions[frame * 3];
+    }
+
+    public double y(int frame) {
+        return positions[frame * 3 + 1];
+    }
+
+    public double z(int frame) {
+        return positions[frame * 3 + 2];
+    }
+
+    public float yaw(int frame) {
+        return rotations[frame * 2];
+    }
+
+    public float pitch(int frame) {
+        return rotations[frame * 2 + 1];
+    }
+
+    /**
+     * Writes frame {@code frame} into {@code target} (world untouched) and returns it.
+     */
+    public Location read(int frame, Location target) {
+        int p = frame * 3;
+        int r = frame * 2;
+        target.setX(positions[p]);
+        target.setY(positions[p + 1]);
+        target.setZ(positions[p + 2]);
+        target.setYaw(rotations[r]);
+        target.setPitch(rotations[r + 1]);
+        return target;
+    }
+
+    /**
+     * Writes the path at fractional frame {@code position} into {@code target}, interpolating between the two
+     * neighbouring frames when they belong to the same segment and the second one is not a direct jump landing
+     * (direct jumps stay jumps).
+     */
+    public Location sample(double position, Location target) {
+        int last = segments.length - 1;
+        if (!(position > 0)) {
+            return read(0, target);
+        }
+        if (position >= last) {
+            return read(last, target);
+        }
+        int frame = (int) position;
+        double t = position - frame;
+        if (t <= 0 || segments[frame] != segments[frame + 1] || jumps[frame + 1]) {
+            return read(frame, target);
+        }
+        int p = frame * 3;
+        int r = frame * 2;
+        target.setX(lerp(positions[p], positions[p + 3], t));
+        target.setY(lerp(positions[p + 1], positions[p + 4], t));
+        target.setZ(lerp(positions[p + 2], positions[p + 5], t));
+        target.setYaw(wrapDegrees(lerpAngle(rotations[r], rotations[r + 2], t)));
+        target.setPitch(lerpAngle(rotations[r + 1], rotations[r + 3], t));
+        return target;
+    }
+
+    private static int estimateFrames(CutscenePath path, List<CutscenePoint> points) {
+        int frames = 1;
+        for (int i = 0; i < points.size() - 1; i++) {
+            frames += path.isDirectPoint(i + 1) ? 1 : segmentSteps(path, points.get(i), points.get(i + 1)) + 1;
+        }
+        return frames;
+    }
+
+    private static int segmentSteps(CutscenePath path, CutscenePoint start, CutscenePoint end) {
+        double dx = end.x() - start.x();
+        double dy = end.y() - start.y();
+        double dz = end.z() - start.z();
+        double distance = Math.sqrt(dx * dx + dy * dy + dz * dz);
+        return Math.max(2, (int) Math.ceil(distance / path.getStepResolution()));
+    }
+
+    private static String resolveSmoothing(String smoothing) {
+        if (smoothing == null || smoothing.isBlank()) {
+            return "linear";
+        }
+        return smoothing.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static double applyEasing(double t, String mode) {
+        return switch (mode) {
+            case "ease-in", "ease_in", "in" -> t * t;
+            case "ease-out", "ease_out", "out" -> 1 - Math.pow(1 - t, 2);
+            case "ease-in-out", "ease_in_out", "in-out", "smoothstep", "catmull-rom" -> t * t * (3 - 2 * t);
+            default -> t;
+        };
+    }
+
+    private static double lerp(double start, double end, double t) {
+        return start + (end - start) * t;
+    }
+
+    private static float lerpAngle(float start, float end, double t) {
+        float delta = wrapDegrees(end - start);
+        return start + (float) (delta * t);
+    }
+
+    private static float wrapDegrees(float angle) {
+        float wrapped = angle % 360.0f;
+        if (wrapped >= 180.0f) {
+            wrapped -= 360.0f;
+        }
+        if (wrapped < -180.0f) {
+            wrapped += 360.0f;
+        }
+        return wrapped;
+    }
+
+    private static final class Builder {
+        private double[] positions;
+        private float[] rotations;
+        private int[] segments;
+        private boolean[] playerCamera;
+        private boolean[] jumps;
+        private int size;
+
+        private Builder(int capacity) {
+            int safe = Math.max(1, capacity);
+            positions = new double[safe * 3];
+            rotations = new float[safe * 2];
+            segments = new int[safe];
+            playerCamera = new boolean[safe];
+            jumps = new boolean[safe];
+        }
+
+        private void add(CutscenePoint point, int segment, boolean usePlayer, boolean jump) {
+            add(point.x(), point.y(), point.z(), point.yaw(), point.pitch(), segment, usePlayer, jump);
+        }
+
+        private void add(double x, double y, double z, float yaw, float pitch, int segment, boolean usePlayer,
+                         boolean jump) {
+            if (size == segments.length) {
+                int capacity = size * 2;
+                positions = Arrays.copyOf(positions, capacity * 3);
+                rotations = Arrays.copyOf(rotations, capacity * 2);
+                segments = Arrays.copyOf(segments, capacity);
+                playerCamera = Arrays.copyOf(playerCamera, capacity);
+                jumps = Arrays.copyOf(jumps, capacity);
+            }
+            int p = size * 3;
+            int r = size * 2;
+            positions[p] = x;
+            positions[p + 1] = y;
+            positions[p + 2] = z;
+            rotations[r] = yaw;
+            rotations[r + 1] = pitch;
+            segments[size] = segment;
+            playerCamera[size] = usePlayer;
+            jumps[size] = jump;
+            size++;
+        }
+
+        private BakedTimeline build() {
+            if (size == segments.length) {
+                return new BakedTimeline(positions, rotations, segments, playerCamera, jumps);
+            }
+            return new BakedTimeline(
+                    Arrays.copyOf(positions, size * 3),
+                    Arrays.copyOf(rotations, size * 2),
+                    Arrays.copyOf(segments, size),
+                    Arrays.copyOf(playerCamera, size),
+                    Arrays.copyOf(jumps, size)
+            );
+        }
+    }
+}
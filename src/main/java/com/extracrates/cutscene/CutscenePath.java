@@ -19,7 +19,7 @@ public class CutscenePath {
     private final List<CutsceneSegmentCommand> segmentCommands;
     private final List<String> startCommands;
     private final List<CutsceneSegmentRange> playerSegments;
-    private volatile List<CutscenePoint> timelineCache;
+    private volatile BakedTimeline bakedTimeline;
 
     public CutscenePath(
             String id,
@@ -109,19 +109,26 @@ public class CutscenePath {
         return isPlayerSegment(segmentIndex);
     }
 
-    public List<CutscenePoint> getTimelinePoints() {
-        List<CutscenePoint> cached = timelineCache;
+    /**
+     * Interpolated frames of this path, baked on first use and shared by every session that plays it.
+     */
+    public BakedTimeline getBakedTimeline() {
+        BakedTimeline cached = bakedTimeline;
         if (cached != null) {
             return cached;
         }
         synchronized (this) {
-            if (timelineCache == null) {
-                timelineCache = Collections.unmodifiableList(buildTimelinePoints());
+            if (bakedTimeline == null) {
+                bakedTimeline = BakedTimeline.bake(this);
             }
-            return timelineCache;
+            return bakedTimeline;
         }
     }
 
+    public void invalidateTimeline() {
+        bakedTimeline = null;
+    }
+
     public static CutscenePath fromSection(String id, ConfigurationSection section) {
         if (section == null) {
             return null;
@@ -163,47 +170,6 @@ public class CutscenePath {
         );
     }
 
-    private List<CutscenePoint> buildTimelinePoints() {
-        if (points.isEmpty()) {
-            return List.of();
-        }
-        if (points.size() == 1) {
-            return new ArrayList<>(points);
-        }
-        List<CutscenePoint> timeline = new ArrayList<>();
-        for (int i = 0; i < points.size() - 1; i++) {
-            CutscenePoint start = points.get(i);
-            CutscenePoint end = points.get(i + 1);
-            if (isDirectPoint(i + 1)) {
-                if (timeline.isEmpty()) {
-                    timeline.add(start);
-                }
-                timeline.add(end);
-                continue;
-            }
-            double distance = Math.sqrt(
-                    Math.pow(start.x() - end.x(), 2)
-                            + Math.pow(start.y() - end.y(), 2)
-                            + Math.pow(start.z() - end.z(), 2)
-            );
-            int steps = Math.max(2, (int) Math.ceil(distance / stepResolution));
-            for (int s = 0; s <= steps; s++) {
-                double t = s / (double) steps;
-                double x = lerp(start.x(), end.x(), t);
-                double y = lerp(start.y(), end.y(), t);
-                double z = lerp(start.z(), end.z(), t);
-                float yaw = (float) lerp(start.yaw(), end.yaw(), t);
-                float pitch = (float) lerp(start.pitch(), end.pitch(), t);
-                timeline.add(new CutscenePoint(x, y, z, yaw, pitch));
-            }
-        }
-        return timeline;
-    }
-
-    private double lerp(double start, double end, double t) {
-        return start + (end - start) * t;
-    }
-
     private static double getNumber(java.util.Map<?, ?> map, String key) {
         Object value = map.get(key);
         if (value instanceof Number number) {
@@ -6,6 +6,7 @@ import com.extracrates.model.CrateDefinition;
 import com.extracrates.model.Reward;
 import com.extracrates.runtime.core.SessionManager;
 import com.extracrates.storage.CrateOpenEntry;
+import com.extracrates.storage.HistoryCursor;
 import com.extracrates.storage.OpenHistoryFilter;
 import com.extracrates.util.TextUtil;
 import net.kyori.adventure.text.Component;
@@ -15,6 +16,7 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
@@ -24,14 +26,17 @@ import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 public class OpenHistoryGui implements Listener {
     private static final int INVENTORY_SIZE = 54;
@@ -41,68 +46,132 @@ public class OpenHistoryGui implements Listener {
     private static final int CRATE_FILTER_SLOT = 49;
     private static final int DATE_FILTER_SLOT = 51;
     private static final int RESET_FILTERS_SLOT = 45;
+    private static final int LOADING_SLOT = 22;
+    private static final long PAGE_CACHE_MILLIS = 30_000L;
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")
             .withLocale(new Locale("es", "ES"))
             .withZone(ZoneId.systemDefault());
 
+    private final ExtraCratesPlugin plugin;
     private final ConfigLoader configLoader;
     private final SessionManager sessionManager;
     private final Map<UUID, HistoryState> states = new HashMap<>();
 
     public OpenHistoryGui(ExtraCratesPlugin plugin, ConfigLoader configLoader, SessionManager sessionManager) {
+        this.plugin = plugin;
         this.configLoader = configLoader;
         this.sessionManager = sessionManager;
         Bukkit.getPluginManager().registerEvents(this, plugin);
     }
 
     public void open(@NotNull Player player) {
-        open(player, 0);
-    }
-
-    private void open(@NotNull Player player, int pageIndex) {
         HistoryState state = states.computeIfAbsent(player.getUniqueId(), key -> new HistoryState());
-        state.pageIndex = Math.max(0, pageIndex);
+        state.resetPaging();
+        // A fresh open should show opens made since the last visit; navigation inside the menu reuses the cache.
+        state.pages.clear();
+        render(player, state);
+    }
 
+    private void render(@NotNull Player player, HistoryState state) {
         List<String> crateOptions = getCrateOptions();
         if (state.crateIndex >= crateOptions.size()) {
             state.crateIndex = 0;
         }
+        Inventory inventory = currentInventory(player);
+        boolean reuse = inventory != null;
+        if (!reuse) {
+            String title = configLoader.getMainConfig().getString("gui.history-title", "&8Historial de Crates");
+            HistoryGuiHolder holder = new HistoryGuiHolder(player.getUniqueId());
+            inventory = Bukkit.createInventory(holder, INVENTORY_SIZE, TextUtil.colorNoItalic(title));
+            holder.setInventory(inventory);
+        }
+        inventory.clear();
+        inventory.setItem(CRATE_FILTER_SLOT, buildCrateFilterItem(crateOptions, state.crateIndex));
+        inventory.setItem(DATE_FILTER_SLOT, buildDateFilterItem(state.dateFilter));
+        inventory.setItem(RESET_FILTERS_SLOT, buildStaticItem(Material.BOOK, "&aResetear filtros", List.of("&7Haz click para limpiar filtros.")));
+        MenuSpacer.applyTopRow(inventory, buildSpacerItem());
 
-        HistoryDateFilter dateFilter = state.dateFilter;
-        OpenHistoryFilter filter = buildFilter(crateOptions.get(state.crateIndex), dateFilter);
-        int offset = state.pageIndex * PAGE_SIZE;
-        List<CrateOpenEntry> entries = sessionManager.getOpenHistory(player.getUniqueId(), filter, PAGE_SIZE + 1, offset);
-        boolean hasNext = entries.size() > PAGE_SIZE;
-        if (hasNext) {
-            entries = entries.subList(0, PAGE_SIZE);
+        PageKey key = new PageKey(state.crateIndex, state.dateFilter, state.pageCursor);
+        CompletableFuture<HistoryPage> page = fetchPage(player.getUniqueId(), state, key, crateOptions);
+        long request = ++state.requestId;
+        state.nextCursor = null;
+        Inventory target = inventory;
+        if (page.isDone() && !page.isCompletedExceptionally()) {
+            fillPage(target, state, page.join());
+            prefetchNext(player.getUniqueId(), state, key, page.join(), crateOptions);
+        } else {
+            target.setItem(LOADING_SLOT, buildStaticItem(Material.HOPPER, "&eCargando...", List.of("&7Consultando historial.")));
+            page.whenComplete((result, error) -> Bukkit.getScheduler().runTask(plugin, () -> {
+                // Drop stale results: the player navigated again or closed the menu while the page loaded.
+                if (state.requestId != request || target != currentInventory(player)) {
+                    return;
+                }
+                target.setItem(LOADING_SLOT, null);
+                if (error != null) {
+                    target.setItem(LOADING_SLOT, buildStaticItem(Material.BARRIER, "&cError al cargar", List.of("&7Inténtalo de nuevo en unos segundos.")));
+                    return;
+                }
+                fillPage(target, state, result);
+                prefetchNext(player.getUniqueId(), state, key, result, crateOptions);
+            }));
         }
+        if (!reuse) {
+            player.openInventory(inventory);
+        }
+    }
 
-        String title = configLoader.getMainConfig().getString("gui.history-title", "&8Historial de Crates");
-        HistoryGuiHolder holder = new HistoryGuiHolder(player.getUniqueId());
-        Inventory inventory = Bukkit.createInventory(holder, INVENTORY_SIZE, TextUtil.colorNoItalic(title));
-        holder.setInventory(inventory);
-        List<ItemStack> entryItems = new ArrayList<>();
-        if (entries.isEmpty()) {
-            inventory.setItem(22, buildStaticItem(Material.BARRIER, "&cSin aperturas", List.of("&7No hay registros para los filtros actuales.")));
+    private void fillPage(Inventory inventory, HistoryState state, HistoryPage page) {
+        state.nextCursor = page.nextCursor();
+        if (page.entries().isEmpty()) {
+            inventory.setItem(LOADING_SLOT, buildStaticItem(Material.BARRIER, "&cSin aperturas", List.of("&7No hay registros para los filtros actuales.")));
         } else {
-            for (CrateOpenEntry entry : entries) {
+            List<ItemStack> entryItems = new ArrayList<>(page.entries().size());
+            for (CrateOpenEntry entry : page.entries()) {
                 entryItems.add(buildEntryItem(entry));
             }
+            MenuSpacer.applyCenteredItems(inventory, 9, 9 + PAGE_SIZE - 1, entryItems);
         }
-        MenuSpacer.applyCenteredItems(inventory, 9, 9 + PAGE_SIZE - 1, entryItems);
-
-        if (state.pageIndex > 0) {
+        if (!state.previousCursors.isEmpty()) {
             inventory.setItem(PREVIOUS_PAGE_SLOT, buildNavItem(Material.ARROW, "&ePágina anterior"));
         }
-        if (hasNext) {
+        if (page.nextCursor() != null) {
             inventory.setItem(NEXT_PAGE_SLOT, buildNavItem(Material.ARROW, "&ePágina siguiente"));
         }
-        inventory.setItem(CRATE_FILTER_SLOT, buildCrateFilterItem(crateOptions, state.crateIndex));
-        inventory.setItem(DATE_FILTER_SLOT, buildDateFilterItem(state.dateFilter));
-        inventory.setItem(RESET_FILTERS_SLOT, buildStaticItem(Material.BOOK, "&aResetear filtros", List.of("&7Haz click para limpiar filtros.")));
+    }
 
-        MenuSpacer.applyTopRow(inventory, buildSpacerItem());
-        player.openInventory(inventory);
+    private CompletableFuture<HistoryPage> fetchPage(UUID playerId, HistoryState state, PageKey key, List<String> crateOptions) {
+        long now = System.currentTimeMillis();
+        state.pages.values().removeIf(cached -> now - cached.createdAt() > PAGE_CACHE_MILLIS
+                || cached.page().isCompletedExceptionally());
+        CachedPage cached = state.pages.get(key);
+        if (cached != null) {
+            return cached.page();
+        }
+        OpenHistoryFilter filter = buildFilter(crateOptions.get(key.crateIndex()), key.dateFilter()).before(key.cursor());
+        CompletableFuture<HistoryPage> page = sessionManager.getOpenHistory(playerId, filter, PAGE_SIZE + 1)
+                .thenApply(entries -> {
+                    if (entries.size() <= PAGE_SIZE) {
+                        return new HistoryPage(entries, null);
+                    }
+                    List<CrateOpenEntry> visible = List.copyOf(entries.subList(0, PAGE_SIZE));
+                    return new HistoryPage(visible, visible.get(PAGE_SIZE - 1).cursor());
+                });
+        state.pages.put(key, new CachedPage(page, now));
+        return page;
+    }
+
+    private void prefetchNext(UUID playerId, HistoryState state, PageKey key, HistoryPage page, List<String> crateOptions) {
+        if (page.nextCursor() != null) {
+            fetchPage(playerId, state, new PageKey(key.crateIndex(), key.dateFilter(), page.nextCursor()), crateOptions);
+        }
+    }
+
+    private Inventory currentInventory(Player player) {
+        Inventory top = player.getOpenInventory().getTopInventory();
+        if (top.getHolder() instanceof HistoryGuiHolder holder && holder.playerId().equals(player.getUniqueId())) {
+            return top;
+        }
+        return null;
     }
 
     @EventHandler
@@ -123,32 +192,40 @@ public class OpenHistoryGui implements Listener {
         }
         HistoryState state = states.computeIfAbsent(player.getUniqueId(), key -> new HistoryState());
         int slot = event.getSlot();
-        if (slot == PREVIOUS_PAGE_SLOT) {
-            open(player, state.pageIndex - 1);
+        if (slot == PREVIOUS_PAGE_SLOT && !state.previousCursors.isEmpty()) {
+            state.pageCursor = state.previousCursors.pop().orElse(null);
+            render(player, state);
             return;
         }
-        if (slot == NEXT_PAGE_SLOT) {
-            open(player, state.pageIndex + 1);
+        if (slot == NEXT_PAGE_SLOT && state.nextCursor != null) {
+            state.previousCursors.push(Optional.ofNullable(state.pageCursor));
+            state.pageCursor = state.nextCursor;
+            render(player, state);
             return;
         }
         if (slot == CRATE_FILTER_SLOT) {
             state.crateIndex = (state.crateIndex + 1) % getCrateOptions().size();
-            state.pageIndex = 0;
-            open(player, state.pageIndex);
+            state.resetPaging();
+            render(player, state);
             return;
         }
         if (slot == DATE_FILTER_SLOT) {
             state.dateFilter = state.dateFilter.next();
-            state.pageIndex = 0;
-            open(player, state.pageIndex);
+            state.resetPaging();
+            render(player, state);
             return;
         }
         if (slot == RESET_FILTERS_SLOT) {
             state.reset();
-            open(player, state.pageIndex);
+            render(player, state);
         }
     }
 
+    @EventHandler
+    public void onQuit(@NotNull PlayerQuitEvent event) {
+        states.remove(event.getPlayer().getUniqueId());
+    }
+
     private List<String> getCrateOptions() {
         List<String> options = new ArrayList<>();
         options.add("");
@@ -278,17 +355,38 @@ public class OpenHistoryGui implements Listener {
     }
 
     private static final class HistoryState {
-        private int pageIndex;
+        // Keyset paging: the cursor each visited page started from, so "previous" never re-scans.
+        private final Deque<Optional<HistoryCursor>> previousCursors = new ArrayDeque<>();
+        // Page fetches (in flight or done) keyed by filters + cursor, so back/forward and filter toggles reuse them.
+        private final Map<PageKey, CachedPage> pages = new HashMap<>();
+        private long requestId;
+        private HistoryCursor pageCursor;
+        private HistoryCursor nextCursor;
         private int crateIndex;
         private HistoryDateFilter dateFilter = HistoryDateFilter.ALL;
 
+        private void resetPaging() {
+            previousCursors.clear();
+            pageCursor = null;
+            nextCursor = null;
+        }
+
         private void reset() {
-            pageIndex = 0;
+            resetPaging();
             crateIndex = 0;
             dateFilter = HistoryDateFilter.ALL;
         }
     }
 
+    private record PageKey(int crateIndex, HistoryDateFilter dateFilter, HistoryCursor cursor) {
+    }
+
+    private record HistoryPage(List<CrateOpenEntry> entries, HistoryCursor nextCursor) {
+    }
+
+    private record CachedPage(CompletableFuture<HistoryPage> page, long createdAt) {
+    }
+
     private static final class HistoryGuiHolder implements org.bukkit.inventory.InventoryHolder {
         private final UUID playerId;
         private Inventory inventory;
@@ -4,7 +4,6 @@ import com.extracrates.ExtraCratesPlugin;
 import com.extracrates.model.CrateDefinition;
 import com.extracrates.model.Reward;
 import org.bukkit.configuration.ConfigurationSection;
-import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
 
 import java.io.IOException;
@@ -13,37 +12,51 @@ import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
+import java.util.logging.Logger;
 
 public class RewardLogger {
-    private final ExtraCratesPlugin plugin;
+    private final Logger logger;
     private final LogFormat format;
     private final Path logFile;
     private final boolean debug;
 
     public RewardLogger(ExtraCratesPlugin plugin) {
-        this.plugin = plugin;
-        FileConfiguration config = plugin.getConfig();
-        ConfigurationSection section = config.getConfigurationSection("logging");
+        this(plugin.getConfig().getConfigurationSection("logging"), plugin.getDataFolder().toPath(), plugin.getLogger());
+    }
+
+    RewardLogger(ConfigurationSection section, Path dataFolder, Logger logger) {
+        this.logger = logger;
         String formatName = section != null ? section.getString("format", "json") : "json";
         String fileName = section != null ? section.getString("file", "logs/rewards.log") : "logs/rewards.log";
         this.format = LogFormat.fromString(formatName);
-        this.logFile = plugin.getDataFolder().toPath().resolve(fileName);
+        this.logFile = dataFolder.resolve(fileName);
         this.debug = section != null && section.getBoolean("debug", false);
     }
 
-    public void logReward(Player player, CrateDefinition crate, Reward reward, long seed, Instant timestamp) {
-        String logEntry = format.format(
+    public static boolean isEnabled(ExtraCratesPlugin plugin) {
+        return plugin.getConfig().getBoolean("logging.enabled", false);
+    }
+
+    /**
+     * Appends one entry; {@code seed} is {@code null} when the roll cannot be replayed and is written as null.
+     */
+    public void logReward(Player player, CrateDefinition crate, Reward reward, Long seed, Instant timestamp) {
+        String logEntry = formatEntry(player.getName(), crate.id(), reward, seed, timestamp);
+        write(logEntry);
+        if (debug) {
+            logger.info("Reward log entry: " + logEntry);
+        }
+    }
+
+    String formatEntry(String playerName, String crateId, Reward reward, Long seed, Instant timestamp) {
+        return format.format(
                 DateTimeFormatter.ISO_INSTANT.format(timestamp),
-                player.getName(),
-                crate.id(),
+                playerName,
+                crateId,
                 reward.id(),
                 reward.chance(),
                 seed
         );
-        write(logEntry);
-        if (debug) {
-            plugin.getLogger().info("Reward log entry: " + logEntry);
-        }
     }
 
     private void write(String entry) {
@@ -54,7 +67,7 @@ public class RewardLogger {
             }
             Files.writeString(logFile, entry + System.lineSeparator(), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
         } catch (IOException ex) {
-            plugin.getLogger().warning("No se pudo escribir el log de recompensas: " + ex.getMessage());
+            logger.warning("No se pudo escribir el log de recompensas: " + ex.getMessage());
         }
     }
 
@@ -72,14 +85,14 @@ public class RewardLogger {
             };
         }
 
-        String format(String timestamp, String player, String crate, String reward, double chance, long seed) {
+        String format(String timestamp, String player, String crate, String reward, double chance, Long seed) {
             return switch (this) {
                 case YAML -> formatYaml(timestamp, player, crate, reward, chance, seed);
                 case JSON -> formatJson(timestamp, player, crate, reward, chance, seed);
             };
         }
 
-        private static String formatJson(String timestamp, String player, String crate, String reward, double chance, long seed) {
+        private static String formatJson(String timestamp, String player, String crate, String reward, double chance, Long seed) {
             return new StringBuilder()
                     .append("{\"timestamp\":\"").append(escapeJson(timestamp)).append("\",")
                     .append("\"player\":\"").append(escapeJson(player)).append("\",")
@@ -91,7 +104,7 @@ public class RewardLogger {
                     .toString();
         }
 
-        private static String formatYaml(String timestamp, String player, String crate, String reward, double chance, long seed) {
+        private static String formatYaml(String timestamp, String player, String crate, String reward, double chance, Long seed) {
             return new StringBuilder()
                     .append("---").append(System.lineSeparator())
                     .append("timestamp: '").append(escapeYaml(timestamp)).append("'").append(System.lineSeparator())
@@ -99,7 +112,7 @@ public class RewardLogger {
                     .append("crate: '").append(escapeYaml(crate)).append("'").append(System.lineSeparator())
                     .append("reward: '").append(escapeYaml(reward)).append("'").append(System.lineSeparator())
                     .append("chance: ").append(chance).append(System.lineSeparator())
-                    .append("seed: ").append(seed)
+                    .append("seed: ").append(seed != null ? seed.toString() : "null")
                     .toString();
         }
 
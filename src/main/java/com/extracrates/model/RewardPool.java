@@ -1,13 +1,71 @@
 package com.extracrates.model;
 
+import com.extracrates.util.AliasTable;
 import org.bukkit.configuration.ConfigurationSection;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
-public record RewardPool(String id, int rollCount, boolean preventDuplicateItems, List<Reward> rewards) {
+/**
+ * A reward pool as configured in rewards.yml. {@link #compile()} precomputes the samplers used on every open:
+ * {@code aliasTable} over {@code rewards} (same indices; {@code null} when no reward has a positive chance) and
+ * {@code rarityBuckets}, the rewards of each rarity keyed by lower-case rarity id in order of first appearance
+ * (seeded rolls lay rewards out in this order, so it must not depend on hashing). Both are {@code null} on
+ * uncompiled pools; use {@link #isCompiled()} rather than testing {@code aliasTable}.
+ */
+public record RewardPool(
+        String id,
+        int rollCount,
+        boolean preventDuplicateItems,
+        List<Reward> rewards,
+        AliasTable aliasTable,
+        Map<String, List<Reward>> rarityBuckets
+) {
     public RewardPool {
         rewards = rewards == null ? List.of() : List.copyOf(rewards);
+        rarityBuckets = rarityBuckets == null ? null : Collections.unmodifiableMap(new LinkedHashMap<>(rarityBuckets));
+    }
+
+    public RewardPool(String id, int rollCount, boolean preventDuplicateItems, List<Reward> rewards) {
+        this(id, rollCount, preventDuplicateItems, rewards, null, null);
+    }
+
+    public RewardPool compile() {
+        double[] weights = new double[rewards.size()];
+        Map<String, List<Reward>> buckets = new LinkedHashMap<>();
+        for (int i = 0; i < weights.length; i++) {
+            Reward reward = rewards.get(i);
+            weights[i] = reward.chance();
+            String rarity = reward.rarity();
+            if (rarity != null && !rarity.isBlank()) {
+                buckets.computeIfAbsent(rarity.toLowerCase(Locale.ROOT), key -> new ArrayList<>()).add(reward);
+            }
+        }
+        buckets.replaceAll((rarity, bucket) -> List.copyOf(bucket));
+        return new RewardPool(id, rollCount, preventDuplicateItems, rewards, AliasTable.build(weights), buckets);
+    }
+
+    public boolean isCompiled() {
+        return rarityBuckets != null;
+    }
+
+    /**
+     * Rewards whose rarity matches {@code rarityId} (case-insensitive), in pool order.
+     */
+    public List<Reward> rewardsOfRarity(String rarityId) {
+        if (rarityId == null || rarityId.isBlank()) {
+            return List.of();
+        }
+        if (rarityBuckets != null) {
+            return rarityBuckets.getOrDefault(rarityId.toLowerCase(Locale.ROOT), List.of());
+        }
+        return rewards.stream()
+                .filter(reward -> reward.rarity() != null && reward.rarity().equalsIgnoreCase(rarityId))
+                .toList();
     }
 
     public static RewardPool fromSection(String id, ConfigurationSection section) {
@@ -15,31 +15,42 @@ public final class CameraEntityFactory {
     }
 
     public static Entity spawn(Location start, String cameraEntityType, boolean armorStandInvisible) {
+        return spawn(null, start, cameraEntityType, armorStandInvisible);
+    }
+
+    /**
+     * Takes the camera entity from {@code pool} when one is given; release it back with {@link DisplayPool#release}.
+     */
+    public static Entity spawn(DisplayPool pool, Location start, String cameraEntityType, boolean armorStandInvisible) {
         String type = cameraEntityType == null ? "armorstand" : cameraEntityType.trim().toLowerCase(Locale.ROOT);
         return switch (type) {
-            case "display", "itemdisplay", "item_display" -> start.getWorld().spawn(start, ItemDisplay.class, display -> {
-                display.setBillboard(Display.Billboard.CENTER);
-                display.setShadowRadius(0.0f);
-                display.setShadowStrength(0.0f);
-            });
-            case "textdisplay", "text_display" -> start.getWorld().spawn(start, TextDisplay.class, display -> {
-                display.text(Component.empty());
-                display.setBillboard(Display.Billboard.CENTER);
-                display.setShadowRadius(0.0f);
-                display.setShadowStrength(0.0f);
-            });
-            case "armorstand", "armor_stand" -> start.getWorld().spawn(start, ArmorStand.class, stand -> {
-                stand.setInvisible(armorStandInvisible);
-                stand.setGravity(false);
-                stand.setMarker(true);
-                stand.setSilent(true);
-            });
-            default -> start.getWorld().spawn(start, ArmorStand.class, stand -> {
-                stand.setInvisible(armorStandInvisible);
-                stand.setGravity(false);
-                stand.setMarker(true);
-                stand.setSilent(true);
-            });
+            case "display", "itemdisplay", "item_display" -> pool != null
+                    ? pool.acquireItemDisplay(start, CameraEntityFactory::configureDisplay)
+                    : start.getWorld().spawn(start, ItemDisplay.class, display -> configureDisplay(display));
+            case "textdisplay", "text_display" -> pool != null
+                    ? pool.acquireTextDisplay(start, CameraEntityFactory::configureTextDisplay)
+                    : start.getWorld().spawn(start, TextDisplay.class, display -> configureTextDisplay(display));
+            default -> pool != null
+                    ? pool.acquireArmorStand(start, stand -> configureArmorStand(stand, armorStandInvisible))
+                    : start.getWorld().spawn(start, ArmorStand.class, stand -> configureArmorStand(stand, armorStandInvisible));
         };
     }
+
+    private static void configureDisplay(Display display) {
+        display.setBillboard(Display.Billboard.CENTER);
+        display.setShadowRadius(0.0f);
+        display.setShadowStrength(0.0f);
+    }
+
+    private static void configureTextDisplay(TextDisplay display) {
+        display.text(Component.empty());
+        configureDisplay(display);
+    }
+
+    private static void configureArmorStand(ArmorStand stand, boolean armorStandInvisible) {
+        stand.setInvisible(armorStandInvisible);
+        stand.setGravity(false);
+        stand.setMarker(true);
+        stand.setSilent(true);
+    }
 }
@@ -1,8 +1,8 @@
 package com.extracrates.runtime;
 
 import com.extracrates.ExtraCratesPlugin;
+import com.extracrates.cutscene.BakedTimeline;
 import com.extracrates.cutscene.CutscenePath;
-import com.extracrates.util.CutsceneTimeline;
 import org.bukkit.GameMode;
 import org.bukkit.Location;
 import org.bukkit.Particle;
@@ -12,8 +12,6 @@ import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitRunnable;
 
-import java.util.List;
-
 public class CutscenePreviewSession {
     private final ExtraCratesPlugin plugin;
     private final Player player;
@@ -25,6 +23,7 @@ public class CutscenePreviewSession {
     private Entity cameraEntity;
     private GameMode originalGameMode;
     private Location originalLocation;
+    private Location frameLocation;
     private boolean finished;
     private boolean usingPlayerCamera;
     private boolean playerBlindnessApplied;
@@ -44,7 +43,7 @@ public class CutscenePreviewSession {
     }
 
     public void start() {
-        List<CutsceneTimeline.CutsceneTimelineFrame> timeline = CutsceneTimeline.buildFrames(player.getWorld(), path);
+        BakedTimeline timeline = path.getBakedTimeline();
         if (timeline.isEmpty()) {
             finish();
             return;
@@ -53,14 +52,14 @@ public class CutscenePreviewSession {
         originalGameMode = player.getGameMode();
         originalLocation = player.getLocation();
         player.setGameMode(GameMode.SPECTATOR);
-        CutsceneTimeline.CutsceneTimelineFrame start = timeline.getFirst();
+        frameLocation = new Location(player.getWorld(), 0, 0, 0);
+        Location start = timeline.read(0, frameLocation.clone());
         boolean armorStandInvisible = plugin.getConfig().getBoolean("cutscene.armorstand-invisible", true);
         String cameraEntityType = plugin.getConfig().getString("cutscene.camera-entity", "armor_stand");
-        cameraEntity = CameraEntityFactory.spawn(start.location(), cameraEntityType, armorStandInvisible);
-        usingPlayerCamera = path.usesPlayerCamera(start.segmentIndex());
-        applyFrame(start);
+        cameraEntity = CameraEntityFactory.spawn(start, cameraEntityType, armorStandInvisible);
+        usingPlayerCamera = timeline.usesPlayerCamera(0);
+        applyFrame(timeline, 0);
         task = new BukkitRunnable() {
-            int index = 0;
             int elapsedTicks = 0;
             final int lastIndex = timeline.size() - 1;
 
@@ -73,10 +72,9 @@ public class CutscenePreviewSession {
                 }
                 double progress = totalTicks <= 1 ? 1.0 : elapsedTicks / (double) (totalTicks - 1);
                 int targetIndex = lastIndex <= 0 ? 0 : (int) Math.round(progress * lastIndex);
-                CutsceneTimeline.CutsceneTimelineFrame frame = timeline.get(Math.min(lastIndex, Math.max(0, targetIndex)));
-                applyFrame(frame);
+                Location point = applyFrame(timeline, Math.min(lastIndex, Math.max(0, targetIndex)));
                 if (particle != null) {
-                    player.getWorld().spawnParticle(particle, frame.location(), 1, 0, 0, 0, 0);
+                    player.getWorld().spawnParticle(particle, point, 1, 0, 0, 0, 0);
                 }
                 elapsedTicks++;
             }
@@ -125,9 +123,9 @@ public class CutscenePreviewSession {
         finishTask.runTaskLater(plugin, 40L);
     }
 
-    private void applyFrame(CutsceneTimeline.CutsceneTimelineFrame frame) {
-        Location point = frame.location();
-        boolean shouldUsePlayer = path.usesPlayerCamera(frame.segmentIndex());
+    private Location applyFrame(BakedTimeline timeline, int frame) {
+        Location point = timeline.read(frame, frameLocation);
+        boolean shouldUsePlayer = timeline.usesPlayerCamera(frame);
         if (shouldUsePlayer != usingPlayerCamera) {
             usingPlayerCamera = shouldUsePlayer;
         }
@@ -140,6 +138,7 @@ public class CutscenePreviewSession {
             player.setSpectatorTarget(cameraEntity);
             clearCutsceneBlindness();
         }
+        return point;
     }
 
     private void applyCutsceneBlindness() {
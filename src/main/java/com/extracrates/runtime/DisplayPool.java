@@ -1,75 +1,116 @@
 package com.extracrates.runtime;
 
 import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
 import org.bukkit.Location;
-import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
 import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.ArmorStand;
 import org.bukkit.entity.Display;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.ItemDisplay;
+import org.bukkit.entity.Player;
 import org.bukkit.entity.TextDisplay;
-import org.bukkit.inventory.ItemStack;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.util.Transformation;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
 
 import java.util.ArrayDeque;
-import java.util.Deque;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Consumer;
 
+/**
+ * Per-world pools of the entities crate sessions show: camera armor stands, reward item displays and hologram text
+ * displays. Released entities are reset, hidden (view range 0, invisible) and kept for the next open instead of
+ * being removed. Pooled entities are never persisted, so a restart starts from empty pools. A periodic sweep
+ * removes entities that stayed idle for a whole interval, keeping the prewarm size.
+ */
 public class DisplayPool {
-    private static final int MAX_POOL_SIZE = 64;
+    private final Plugin plugin;
+    private final Settings settings;
+    private final Map<UUID, Bucket<ArmorStand>> armorStands = new HashMap<>();
+    private final Map<UUID, Bucket<ItemDisplay>> itemDisplays = new HashMap<>();
+    private final Map<UUID, Bucket<TextDisplay>> textDisplays = new HashMap<>();
+    private final BukkitRunnable shrinkTask;
+    private long hits;
+    private long misses;
+    private long evictions;
 
-    private final Map<UUID, Deque<ArmorStand>> armorStands = new HashMap<>();
-    private final Map<UUID, Deque<ItemDisplay>> itemDisplays = new HashMap<>();
-    private final Map<UUID, Deque<TextDisplay>> textDisplays = new HashMap<>();
-
-    public ArmorStand acquireArmorStand(Location location) {
-        World world = location.getWorld();
-        if (world == null) {
-            return null;
-        }
-        ArmorStand stand = pollEntity(armorStands, world);
-        if (stand == null) {
-            stand = world.spawn(location, ArmorStand.class);
+    public DisplayPool(Plugin plugin, Settings settings) {
+        this.plugin = plugin;
+        this.settings = settings;
+        if (settings.enabled() && settings.shrinkIntervalTicks() > 0) {
+            this.shrinkTask = new BukkitRunnable() {
+                @Override
+                public void run() {
+                    shrink();
+                }
+            };
+            shrinkTask.runTaskTimer(plugin, settings.shrinkIntervalTicks(), settings.shrinkIntervalTicks());
         } else {
-            stand.teleport(location);
+            this.shrinkTask = null;
         }
-        return stand;
+    }
+
+    public ArmorStand acquireArmorStand(Location location) {
+        return acquireArmorStand(location, stand -> {
+        });
+    }
+
+    public ArmorStand acquireArmorStand(Location location, Consumer<? super ArmorStand> configurator) {
+        return acquire(armorStands, ArmorStand.class, location, configurator);
     }
 
     public ItemDisplay acquireItemDisplay(Location location) {
-        World world = location.getWorld();
-        if (world == null) {
-            return null;
-        }
-        ItemDisplay display = pollEntity(itemDisplays, world);
-        if (display == null) {
-            display = world.spawn(location, ItemDisplay.class);
-        } else {
-            display.teleport(location);
-        }
-        display.setViewRange(1.0f);
-        return display;
+        return acquireItemDisplay(location, display -> {
+        });
+    }
+
+    public ItemDisplay acquireItemDisplay(Location location, Consumer<? super ItemDisplay> configurator) {
+        return acquire(itemDisplays, ItemDisplay.class, location, configurator);
     }
 
     public TextDisplay acquireTextDisplay(Location location) {
-        World world = location.getWorld();
-        if (world == null) {
-            return null;
-        }
-        TextDisplay display = pollEntity(textDisplays, world);
-        if (display == null) {
-            display = world.spawn(location, TextDisplay.class);
-        } else {
-            display.teleport(location);
+        return acquireTextDisplay(location, display -> {
+        });
+    }
+
+    public TextDisplay acquireTextDisplay(Location location, Consumer<? super TextDisplay> configurator) {
+        return acquire(textDisplays, TextDisplay.class, location, configurator);
+    }
+
+    /**
+     * Returns {@code entity} to its pool, or removes it when it is not a pooled type or the pool is full.
+     */
+    public void release(Entity entity) {
+        if (entity instanceof ItemDisplay display) {
+            releaseItemDisplay(display);
+        } else if (entity instanceof TextDisplay display) {
+            releaseTextDisplay(display);
+        } else if (entity instanceof ArmorStand stand) {
+            releaseArmorStand(stand);
+        } else if (entity != null && !entity.isDead()) {
+            entity.remove();
         }
-        display.setViewRange(1.0f);
-        return display;
     }
 
     public void releaseArmorStand(ArmorStand stand) {
-        if (stand == null || stand.isDead()) {
+        if (stand == null || !stand.isValid()) {
+            return;
+        }
+        if (!settings.enabled()) {
+            stand.remove();
             return;
         }
         stand.customName(null);
@@ -78,62 +119,213 @@ public class DisplayPool {
         stand.setInvisible(true);
         stand.setGravity(false);
         stand.setMarker(true);
+        stand.setSmall(false);
+        stand.setGlowing(false);
         offerEntity(armorStands, stand);
     }
 
     public void releaseItemDisplay(ItemDisplay display) {
-        if (display == null || display.isDead()) {
+        if (display == null || !display.isValid()) {
             return;
         }
-        display.setItemStack(new ItemStack(Material.AIR));
-        display.setRotation(0f, 0f);
-        display.setViewRange(0.0f);
+        if (!settings.enabled()) {
+            display.remove();
+            return;
+        }
+        display.setItemStack(null);
+        resetDisplay(display);
         offerEntity(itemDisplays, display);
     }
 
     public void releaseTextDisplay(TextDisplay display) {
-        if (display == null || display.isDead()) {
+        if (display == null || !display.isValid()) {
+            return;
+        }
+        if (!settings.enabled()) {
+            display.remove();
             return;
         }
         display.text(Component.empty());
-        display.setViewRange(0.0f);
-        display.setBillboard(Display.Billboard.FIXED);
+        resetDisplay(display);
         offerEntity(textDisplays, display);
     }
 
+    /**
+     * Fills the pools of {@code anchor}'s world up to the prewarm size. Anchors in unloaded chunks are skipped, since
+     * pooled entities are discarded with their chunk anyway. Returns the number of entities spawned.
+     */
+    public int prewarm(Location anchor, boolean armorStandsToo) {
+        World world = anchor.getWorld();
+        if (!settings.enabled() || settings.prewarm() <= 0 || world == null
+                || !world.isChunkLoaded(anchor.getBlockX() >> 4, anchor.getBlockZ() >> 4)) {
+            return 0;
+        }
+        int spawned = prewarm(itemDisplays, ItemDisplay.class, anchor);
+        spawned += prewarm(textDisplays, TextDisplay.class, anchor);
+        if (armorStandsToo) {
+            spawned += prewarm(armorStands, ArmorStand.class, anchor);
+        }
+        return spawned;
+    }
+
+    /**
+     * Removes entities that were not needed during the last interval, down to the prewarm size, and forgets
+     * entities that died with their chunk or world.
+     */
+    public void shrink() {
+        shrink(armorStands);
+        shrink(itemDisplays);
+        shrink(textDisplays);
+    }
+
     public void clear() {
+        if (shrinkTask != null) {
+            shrinkTask.cancel();
+        }
         removeEntities(armorStands);
         removeEntities(itemDisplays);
         removeEntities(textDisplays);
     }
 
-    private <T extends Entity> T pollEntity(Map<UUID, Deque<T>> poolMap, World world) {
-        Deque<T> pool = poolMap.get(world.getUID());
-        if (pool == null) {
+    public List<String> getStatusLines() {
+        List<String> lines = new ArrayList<>();
+        if (!settings.enabled()) {
+            lines.add("Display pool: disabled");
+            return lines;
+        }
+        long requests = hits + misses;
+        lines.add(String.format(Locale.ROOT, "Display pool: hits=%d misses=%d evictions=%d hit-rate=%.1f%%",
+                hits, misses, evictions, requests == 0 ? 0.0 : hits * 100.0 / requests));
+        lines.add(String.format(Locale.ROOT, "Display pool: idle armor-stands=%d item-displays=%d text-displays=%d",
+                idleCount(armorStands), idleCount(itemDisplays), idleCount(textDisplays)));
+        return lines;
+    }
+
+    private <T extends Entity> T acquire(
+            Map<UUID, Bucket<T>> poolMap,
+            Class<T> type,
+            Location location,
+            Consumer<? super T> configurator
+    ) {
+        World world = location.getWorld();
+        if (world == null) {
+            return null;
+        }
+        T entity = pollEntity(poolMap, world);
+        if (entity == null) {
+            misses++;
+            return world.spawn(location, type, spawned -> {
+                spawned.setPersistent(false);
+                configurator.accept(spawned);
+            });
+        }
+        hits++;
+        entity.teleport(location);
+        if (entity instanceof Display display) {
+            display.setViewRange(1.0f);
+        }
+        configurator.accept(entity);
+        return entity;
+    }
+
+    private <T extends Entity> int prewarm(Map<UUID, Bucket<T>> poolMap, Class<T> type, Location anchor) {
+        World world = anchor.getWorld();
+        Bucket<T> bucket = poolMap.computeIfAbsent(world.getUID(), key -> new Bucket<>());
+        int spawned = 0;
+        while (bucket.idle.size() < Math.min(settings.prewarm(), settings.maxIdle())) {
+            T entity = world.spawn(anchor, type, created -> {
+                created.setPersistent(false);
+                if (created instanceof Display display) {
+                    display.setViewRange(0.0f);
+                } else if (created instanceof ArmorStand stand) {
+                    stand.setInvisible(true);
+                    stand.setMarker(true);
+                    stand.setGravity(false);
+                    stand.setSilent(true);
+                }
+            });
+            bucket.idle.addLast(entity);
+            spawned++;
+        }
+        bucket.lowWater = bucket.idle.size();
+        return spawned;
+    }
+
+    private void resetDisplay(Display display) {
+        display.setRotation(0f, 0f);
+        display.setTransformation(new Transformation(new Vector3f(), new Quaternionf(), new Vector3f(1f, 1f, 1f), new Quaternionf()));
+        display.setInterpolationDelay(0);
+        display.setInterpolationDuration(0);
+        display.setBillboard(Display.Billboard.FIXED);
+        display.setGlowing(false);
+        display.setViewRange(0.0f);
+    }
+
+    private <T extends Entity> T pollEntity(Map<UUID, Bucket<T>> poolMap, World world) {
+        if (!settings.enabled()) {
+            return null;
+        }
+        Bucket<T> bucket = poolMap.get(world.getUID());
+        if (bucket == null) {
             return null;
         }
-        while (!pool.isEmpty()) {
-            T entity = pool.pollFirst();
-            if (entity != null && !entity.isDead()) {
+        while (!bucket.idle.isEmpty()) {
+            T entity = bucket.idle.pollFirst();
+            if (entity != null && entity.isValid()) {
+                bucket.lowWater = Math.min(bucket.lowWater, bucket.idle.size());
                 return entity;
             }
         }
+        bucket.lowWater = 0;
         return null;
     }
 
-    private <T extends Entity> void offerEntity(Map<UUID, Deque<T>> poolMap, T entity) {
-        UUID worldId = entity.getWorld().getUID();
-        Deque<T> pool = poolMap.computeIfAbsent(worldId, key -> new ArrayDeque<>());
-        if (pool.size() >= MAX_POOL_SIZE) {
+    private <T extends Entity> void offerEntity(Map<UUID, Bucket<T>> poolMap, T entity) {
+        // The next owner may be a player this session hid the entity from.
+        for (Player online : Bukkit.getOnlinePlayers()) {
+            if (!online.canSee(entity)) {
+                online.showEntity(plugin, entity);
+            }
+        }
+        PersistentDataContainer container = entity.getPersistentDataContainer();
+        for (NamespacedKey key : new ArrayList<>(container.getKeys())) {
+            container.remove(key);
+        }
+        Bucket<T> bucket = poolMap.computeIfAbsent(entity.getWorld().getUID(), key -> new Bucket<>());
+        if (bucket.idle.size() >= settings.maxIdle()) {
             entity.remove();
+            evictions++;
             return;
         }
-        pool.addLast(entity);
+        // Most recently used first, so the coldest entities sit at the tail where shrink() trims.
+        bucket.idle.addFirst(entity);
+    }
+
+    private <T extends Entity> void shrink(Map<UUID, Bucket<T>> poolMap) {
+        Iterator<Map.Entry<UUID, Bucket<T>>> iterator = poolMap.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<UUID, Bucket<T>> entry = iterator.next();
+            Bucket<T> bucket = entry.getValue();
+            if (Bukkit.getWorld(entry.getKey()) == null) {
+                iterator.remove();
+                continue;
+            }
+            bucket.idle.removeIf(entity -> !entity.isValid());
+            int excess = Math.min(bucket.lowWater, bucket.idle.size() - settings.prewarm());
+            for (int i = 0; i < excess; i++) {
+                T entity = bucket.idle.pollLast();
+                if (entity != null) {
+                    entity.remove();
+                    evictions++;
+                }
+            }
+            bucket.lowWater = bucket.idle.size();
+        }
     }
 
-    private <T extends Entity> void removeEntities(Map<UUID, Deque<T>> poolMap) {
-        for (Deque<T> pool : poolMap.values()) {
-            for (T entity : pool) {
+    private <T extends Entity> void removeEntities(Map<UUID, Bucket<T>> poolMap) {
+        for (Bucket<T> bucket : poolMap.values()) {
+            for (T entity : bucket.idle) {
                 if (entity != null && !entity.isDead()) {
                     entity.remove();
                 }
@@ -141,4 +333,34 @@ public class DisplayPool {
         }
         poolMap.clear();
     }
+
+    private static <T extends Entity> int idleCount(Map<UUID, Bucket<T>> poolMap) {
+        int count = 0;
+        for (Bucket<T> bucket : poolMap.values()) {
+            count += bucket.idle.size();
+        }
+        return count;
+    }
+
+    private static final class Bucket<T extends Entity> {
+        private final ArrayDeque<T> idle = new ArrayDeque<>();
+        // Fewest idle entities seen since the last shrink: that many were not needed during the interval.
+        private int lowWater;
+    }
+
+    public record Settings(boolean enabled, int prewarm, int maxIdle, long shrinkIntervalTicks) {
+        public static Settings fromConfig(FileConfiguration config) {
+            ConfigurationSection section = config.getConfigurationSection("display-pool");
+            if (section == null) {
+                return new Settings(true, 2, 64, 1200L);
+            }
+            int maxIdle = Math.max(0, section.getInt("max-idle", 64));
+            return new Settings(
+                    section.getBoolean("enabled", true),
+                    Math.max(0, Math.min(maxIdle, section.getInt("prewarm", 2))),
+                    maxIdle,
+                    Math.max(0L, section.getLong("shrink-interval-seconds", 60L) * 20L)
+            );
+        }
+    }
 }
@@ -0,0 +1,129 @@
+package com.extracrates.runtime;
+
+import java.util.Arrays;
+
+/**
+ * Immutable entity id to owner entity id table with linear probing, kept at most half full. {@link #with} and
+ * {@link #without} return new tables, so readers on network threads never see a table being modified; ids outside
+ * the tracked min/max range are rejected without probing.
+ */
+final class EntityOwnerIndex {
+    static final int NO_OWNER = Integer.MIN_VALUE;
+    private static final int EMPTY_KEY = Integer.MIN_VALUE;
+    static final EntityOwnerIndex EMPTY = new EntityOwnerIndex(new int[0], new int[0], 0, Integer.MAX_VALUE, Integer.MIN_VALUE);
+
+    private final int[] keys;
+    private final int[] values;
+    private final int size;
+    private final int minId;
+    private final int maxId;
+
+    private EntityOwnerIndex(int[] keys, int[] values, int size, int minId, int maxId) {
+        this.keys = keys;
+        this.values = values;
+        this.size = size;
+        this.minId = minId;
+        this.maxId = maxId;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int ownerOf(int entityId) {
+        if (entityId < minId || entityId > maxId) {
+            return NO_OWNER;
+        }
+        int mask = keys.length - 1;
+        int slot = mix(entityId) & mask;
+        while (true) {
+            int key = keys[slot];
+            if (key == entityId) {
+                return values[slot];
+            }
+            if (key == EMPTY_KEY) {
+                return NO_OWNER;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    EntityOwnerIndex with(int[] entityIds, int owner) {
+        EntityOwnerIndex base = without(entityIds);
+        int[] keys = new int[base.size + entityIds.length];
+        int[] values = new int[keys.length];
+        int count = base.copyEntries(keys, values);
+        for (int entityId : entityIds) {
+            keys[count] = entityId;
+            values[count] = owner;
+            count++;
+        }
+        return build(keys, values, count);
+    }
+
+    EntityOwnerIndex without(int[] entityIds) {
+        int[] keys = new int[size];
+        int[] values = new int[size];
+        int count = 0;
+        for (int i = 0; i < this.keys.length; i++) {
+            int key = this.keys[i];
+            if (key != EMPTY_KEY && !contains(entityIds, key)) {
+                keys[count] = key;
+                values[count] = this.values[i];
+                count++;
+            }
+        }
+        return count == size ? this : build(keys, values, count);
+    }
+
+    private int copyEntries(int[] keys, int[] values) {
+        int count = 0;
+        for (int i = 0; i < this.keys.length; i++) {
+            if (this.keys[i] != EMPTY_KEY) {
+                keys[count] = this.keys[i];
+                values[count] = this.values[i];
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static EntityOwnerIndex build(int[] entryKeys, int[] entryValues, int count) {
+        if (count == 0) {
+            return EMPTY;
+        }
+        int capacity = Integer.highestOneBit(Math.max(4, count * 2 - 1)) << 1;
+        int[] keys = new int[capacity];
+        int[] values = new int[capacity];
+        Arrays.fill(keys, EMPTY_KEY);
+        int mask = capacity - 1;
+        int minId = Integer.MAX_VALUE;
+        int maxId = Integer.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            int key = entryKeys[i];
+            int slot = mix(key) & mask;
+            while (keys[slot] != EMPTY_KEY) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            values[slot] = entryValues[i];
+            minId = Math.min(minId, key);
+            maxId = Math.max(maxId, key);
+        }
+        return new EntityOwnerIndex(keys, values, count, minId, maxId);
+    }
+
+    private static boolean contains(int[] ids, int id) {
+        for (int candidate : ids) {
+            if (candidate == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int mix(int id) {
+        int h = id * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
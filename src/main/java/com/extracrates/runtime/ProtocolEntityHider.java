@@ -11,12 +11,21 @@ import com.extracrates.ExtraCratesPlugin;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitRunnable;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Hides session entities from everyone but their owner by cancelling entity packets sent to other players.
+ * The {@link EntityOwnerIndex} is swapped on the main thread when sessions track or untrack entities and read
+ * lock-free from the network threads. Each entity is keyed to its owner's entity id, so the check never touches a
+ * {@link Player} lookup beyond {@link Player#getEntityId()}.
+ */
 public class ProtocolEntityHider {
     private static final List<PacketType> ENTITY_PACKETS = List.of(
             PacketType.Play.Server.SPAWN_ENTITY,
@@ -32,8 +41,16 @@ public class ProtocolEntityHider {
 
     private final ExtraCratesPlugin plugin;
     private final ProtocolManager protocolManager;
-    private final Map<Integer, UUID> entityOwners = new ConcurrentHashMap<>();
     private final PacketAdapter packetAdapter;
+    private final BukkitRunnable counterTask;
+    private volatile EntityOwnerIndex owners = EntityOwnerIndex.EMPTY;
+
+    private final LongAdder filtered = new LongAdder();
+    private final LongAdder passed = new LongAdder();
+    private volatile long filteredPerSecond;
+    private volatile long passedPerSecond;
+    private long filteredTotal;
+    private long passedTotal;
 
     public ProtocolEntityHider(ExtraCratesPlugin plugin) {
         this.plugin = plugin;
@@ -45,6 +62,13 @@ public class ProtocolEntityHider {
             }
         };
         protocolManager.addPacketListener(packetAdapter);
+        this.counterTask = new BukkitRunnable() {
+            @Override
+            public void run() {
+                rollCounters();
+            }
+        };
+        counterTask.runTaskTimer(plugin, 20L, 20L);
     }
 
     public static ProtocolEntityHider createIfPresent(ExtraCratesPlugin plugin) {
@@ -55,36 +79,108 @@ public class ProtocolEntityHider {
     }
 
     public void trackEntity(Player owner, Entity entity) {
-        entityOwners.put(entity.getEntityId(), owner.getUniqueId());
-        sendDestroyToOthers(owner, entity);
+        trackEntities(owner, List.of(entity));
+    }
+
+    /**
+     * Hides {@code entities} from everyone but {@code owner}: one index swap and one destroy packet per other player
+     * carrying all the ids. Entities already tracked for the same owner are skipped.
+     */
+    public void trackEntities(Player owner, Collection<? extends Entity> entities) {
+        int ownerId = owner.getEntityId();
+        EntityOwnerIndex current = owners;
+        int[] ids = new int[entities.size()];
+        int count = 0;
+        for (Entity entity : entities) {
+            if (entity == null) {
+                continue;
+            }
+            int entityId = entity.getEntityId();
+            if (current.ownerOf(entityId) == ownerId) {
+                continue;
+            }
+            ids[count++] = entityId;
+            if (entity.getTicksLived() > 1) {
+                // A reused (pooled) entity: the owner's client may have had its spawn cancelled under a previous
+                // owner, so make the server send it again.
+                owner.hideEntity(plugin, entity);
+                owner.showEntity(plugin, entity);
+            }
+        }
+        if (count == 0) {
+            return;
+        }
+        int[] added = Arrays.copyOf(ids, count);
+        owners = current.with(added, ownerId);
+        sendDestroyToOthers(owner, added);
     }
 
     public void untrackEntity(Entity entity) {
-        entityOwners.remove(entity.getEntityId());
+        if (entity != null) {
+            untrackEntities(List.of(entity));
+        }
+    }
+
+    public void untrackEntities(Collection<? extends Entity> entities) {
+        EntityOwnerIndex current = owners;
+        int[] ids = new int[entities.size()];
+        int count = 0;
+        for (Entity entity : entities) {
+            if (entity != null && current.ownerOf(entity.getEntityId()) != EntityOwnerIndex.NO_OWNER) {
+                ids[count++] = entity.getEntityId();
+            }
+        }
+        if (count > 0) {
+            owners = current.without(Arrays.copyOf(ids, count));
+        }
     }
 
     public void shutdown() {
         protocolManager.removePacketListener(packetAdapter);
-        entityOwners.clear();
+        counterTask.cancel();
+        owners = EntityOwnerIndex.EMPTY;
+    }
+
+    public List<String> getStatusLines() {
+        List<String> lines = new ArrayList<>();
+        long filteredLast = filteredPerSecond;
+        long passedLast = passedPerSecond;
+        long seen = filteredLast + passedLast;
+        lines.add(String.format(Locale.ROOT, "Entity hider: tracked=%d filtered=%d/s passed=%d/s (%.1f%% filtered)",
+                owners.size(), filteredLast, passedLast, seen == 0 ? 0.0 : filteredLast * 100.0 / seen));
+        lines.add(String.format(Locale.ROOT, "Entity hider: total filtered=%d passed=%d", filteredTotal, passedTotal));
+        return lines;
     }
 
     private void handlePacket(PacketEvent event) {
         Integer entityId = event.getPacket().getIntegers().readSafely(0);
         if (entityId == null) {
+            passed.increment();
             return;
         }
-        UUID owner = entityOwners.get(entityId);
-        if (owner == null) {
-            return;
-        }
-        if (!event.getPlayer().getUniqueId().equals(owner)) {
+        int owner = owners.ownerOf(entityId);
+        if (owner != EntityOwnerIndex.NO_OWNER && event.getPlayer().getEntityId() != owner) {
             event.setCancelled(true);
+            filtered.increment();
+            return;
         }
+        passed.increment();
     }
 
-    private void sendDestroyToOthers(Player owner, Entity entity) {
+    private void rollCounters() {
+        filteredPerSecond = filtered.sumThenReset();
+        passedPerSecond = passed.sumThenReset();
+        filteredTotal += filteredPerSecond;
+        passedTotal += passedPerSecond;
+    }
+
+    private void sendDestroyToOthers(Player owner, int[] entityIds) {
         PacketContainer destroyPacket = protocolManager.createPacket(PacketType.Play.Server.ENTITY_DESTROY);
-        destroyPacket.getIntLists().write(0, List.of(entity.getEntityId()));
+        List<Integer> ids = new ArrayList<>(entityIds.length);
+        for (int entityId : entityIds) {
+            ids.add(entityId);
+        }
+        destroyPacket.getIntLists().write(0, ids);
         for (Player online : Bukkit.getOnlinePlayers()) {
             if (online.getUniqueId().equals(owner.getUniqueId())) {
                 continue;
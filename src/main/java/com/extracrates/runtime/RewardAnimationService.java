@@ -5,11 +5,106 @@ import org.bukkit.Location;
 import org.bukkit.entity.ItemDisplay;
 import org.bukkit.entity.TextDisplay;
 import org.bukkit.util.Transformation;
+import org.joml.Quaternionf;
 import org.joml.Vector3f;
 
 import java.util.Locale;
 
 public class RewardAnimationService {
+    // Client-side interpolation takes the shortest arc, so one keyframe must never turn half a revolution.
+    private static final double MAX_SPIN_DEGREES_PER_KEYFRAME = 90.0;
+    // Bob and pulse follow sin(tick / 6); linear interpolation needs this many keyframes per period to stay round.
+    private static final double OSCILLATION_PERIOD_TICKS = 2.0 * Math.PI * 6.0;
+    private static final int MIN_KEYFRAMES_PER_OSCILLATION = 8;
+
+    /**
+     * Keyframe spacing for {@link #applyKeyframe}: the configured ticks, shortened so a spin keyframe stays below
+     * a quarter turn and a bob or pulse cycle gets at least {@value #MIN_KEYFRAMES_PER_OSCILLATION} keyframes.
+     * Returns 1 when keyframes are disabled and {@link #applyAnimation} should run every tick.
+     */
+    public static int keyframeTicks(
+            int configuredTicks,
+            String animationName,
+            CrateDefinition.RewardFloatSettings floatSettings
+    ) {
+        if (configuredTicks <= 1) {
+            return 1;
+        }
+        String normalized = animationName == null ? "" : animationName.trim().toLowerCase(Locale.ROOT);
+        double limit = configuredTicks;
+        double spinSpeed = floatSettings == null ? 0.0 : Math.abs(floatSettings.spinSpeed());
+        if (spinSpeed > 0.0 && !normalized.equals("pulse")) {
+            limit = Math.min(limit, Math.floor(MAX_SPIN_DEGREES_PER_KEYFRAME / spinSpeed));
+        }
+        boolean bobbing = floatSettings != null && floatSettings.bobbing() && !normalized.equals("spin");
+        if (normalized.equals("pulse") || bobbing) {
+            limit = Math.min(limit, Math.floor(OSCILLATION_PERIOD_TICKS / MIN_KEYFRAMES_PER_OSCILLATION));
+        }
+        return (int) Math.max(1, limit);
+    }
+
+    /**
+     * Sends the transformation the reward display should have {@code keyframeTicks} after {@code tick} and lets
+     * the client interpolate towards it, so the entity is neither teleported nor updated in between. The display
+     * is expected to sit at its base location; motion is expressed as translation, rotation and scale.
+     */
+    public void applyKeyframe(
+            String animationName,
+            ItemDisplay rewardDisplay,
+            Transformation baseTransform,
+            int tick,
+            int keyframeTicks,
+            CrateDefinition.RewardFloatSettings floatSettings
+    ) {
+        if (rewardDisplay == null) {
+            return;
+        }
+        Transformation target = keyframe(animationName, baseTransform, tick, keyframeTicks, floatSettings);
+        if (target == null) {
+            return;
+        }
+        rewardDisplay.setInterpolationDelay(0);
+        rewardDisplay.setInterpolationDuration(keyframeTicks);
+        rewardDisplay.setTransformation(target);
+    }
+
+    /**
+     * The transformation of the keyframe {@code keyframeTicks} after {@code tick}, or {@code null} without a base.
+     */
+    public Transformation keyframe(
+            String animationName,
+            Transformation baseTransform,
+            int tick,
+            int keyframeTicks,
+            CrateDefinition.RewardFloatSettings floatSettings
+    ) {
+        if (baseTransform == null || floatSettings == null) {
+            return null;
+        }
+        int target = tick + keyframeTicks;
+        String normalized = animationName == null ? "" : animationName.trim().toLowerCase(Locale.ROOT);
+        Vector3f translation = new Vector3f(baseTransform.getTranslation());
+        Quaternionf leftRotation = new Quaternionf(baseTransform.getLeftRotation());
+        Vector3f scale = new Vector3f(baseTransform.getScale());
+        switch (normalized) {
+            case "spin" -> spinKeyframe(leftRotation, target, floatSettings);
+            case "pulse" -> scale.mul(1.0f + 0.1f * (float) Math.sin(target / 6.0));
+            default -> {
+                spinKeyframe(leftRotation, target, floatSettings);
+                if (floatSettings.bobbing()) {
+                    translation.add(0f, (float) (Math.sin(target / 6.0) * 0.05), 0f);
+                }
+            }
+        }
+        return new Transformation(translation, leftRotation, scale, new Quaternionf(baseTransform.getRightRotation()));
+    }
+
+    private void spinKeyframe(Quaternionf leftRotation, int tick, CrateDefinition.RewardFloatSettings floatSettings) {
+        // Negated so the display turns the same way entity yaw did.
+        float radians = (float) -Math.toRadians(tick * floatSettings.spinSpeed());
+        leftRotation.premul(new Quaternionf().rotationY(radians));
+    }
+
     public void applyAnimation(
             String animationName,
             ItemDisplay rewardDisplay,
@@ -4,13 +4,19 @@ import com.extracrates.ExtraCratesPlugin;
 import com.extracrates.runtime.core.CrateSession;
 import com.extracrates.runtime.core.SessionManager;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.block.Action;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.event.player.PlayerInteractEntityEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerLoginEvent;
 import org.bukkit.event.player.PlayerMoveEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.event.player.PlayerDropItemEvent;
@@ -23,6 +29,7 @@ import org.bukkit.event.entity.EntityPickupItemEvent;
 
 @SuppressWarnings("unused")
 public class SessionListener implements Listener {
+    private static final long PRELOAD_TIMEOUT_MILLIS = 2000L;
     private final ExtraCratesPlugin plugin;
     private final SessionManager sessionManager;
 
@@ -30,6 +37,31 @@ public class SessionListener implements Listener {
         this.plugin = plugin;
         this.sessionManager = sessionManager;
         plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        for (Player online : plugin.getServer().getOnlinePlayers()) {
+            sessionManager.preloadPlayerState(online.getUniqueId());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            return;
+        }
+        // Async thread: wait briefly so the cache is warm by the time the player joins.
+        try {
+            sessionManager.preloadPlayerState(event.getUniqueId()).get(PRELOAD_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException ex) {
+            plugin.getLogger().fine(() -> "Precarga de estado lenta para " + event.getName() + ", se completará tras el join.");
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onLogin(PlayerLoginEvent event) {
+        if (event.getResult() != PlayerLoginEvent.Result.ALLOWED) {
+            sessionManager.evictPlayerState(event.getPlayer().getUniqueId());
+        }
     }
 
     @EventHandler
@@ -38,11 +70,15 @@ public class SessionListener implements Listener {
         CrateSession session = sessionManager.getSession(event.getPlayer().getUniqueId());
         sessionManager.handleSessionQuit(event.getPlayer(), session);
         sessionManager.endSession(event.getPlayer().getUniqueId());
+        sessionManager.evictPlayerState(event.getPlayer().getUniqueId());
     }
 
     @EventHandler
     public void onJoin(PlayerJoinEvent event) {
         Player player = event.getPlayer();
+        if (!sessionManager.isPlayerStateLoaded(player.getUniqueId())) {
+            sessionManager.preloadPlayerState(player.getUniqueId());
+        }
         CrateSession activeSession = sessionManager.getSession(player.getUniqueId());
         if (activeSession != null && !activeSession.isActive()) {
             sessionManager.clearCrateEffects(player);
@@ -0,0 +1,211 @@
+package com.extracrates.runtime;
+
+import com.comphenix.protocol.PacketType;
+import com.comphenix.protocol.ProtocolLibrary;
+import com.comphenix.protocol.ProtocolManager;
+import com.comphenix.protocol.events.PacketContainer;
+import com.comphenix.protocol.wrappers.WrappedDataValue;
+import com.comphenix.protocol.wrappers.WrappedDataWatcher;
+import org.bukkit.Location;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Player;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Client-side cutscene camera: an entity that exists only in the viewer's client. It is spawned, moved and
+ * destroyed with packets sent to that player alone, so the server never tracks, ticks or collides it.
+ * Armor stand metadata indices follow the 1.20.2+ layout. Requires ProtocolLib.
+ */
+public final class VirtualCamera {
+    private static final double FIXED_POINT = 4096.0;
+    private static final int ENTITY_FLAGS = 0;
+    private static final int SILENT = 4;
+    private static final int NO_GRAVITY = 5;
+    private static final int ARMOR_STAND_FLAGS = 15;
+    private static final byte INVISIBLE_FLAG = 0x20;
+    private static final byte MARKER_FLAG = 0x10;
+
+    private final ProtocolManager protocolManager;
+    private final Player viewer;
+    private final int entityId;
+    private long encodedX;
+    private long encodedY;
+    private long encodedZ;
+    private byte yaw;
+    private byte pitch;
+    private boolean attached;
+    private boolean destroyed;
+
+    public VirtualCamera(Player viewer, Location start, String cameraEntityType, boolean armorStandInvisible) {
+        this.protocolManager = ProtocolLibrary.getProtocolManager();
+        this.viewer = viewer;
+        this.entityId = VirtualEntityIds.next();
+        PacketContainer spawn = protocolManager.createPacket(PacketType.Play.Server.SPAWN_ENTITY);
+        spawn.getIntegers().write(0, entityId);
+        spawn.getUUIDs().write(0, UUID.randomUUID());
+        EntityType type = resolveType(cameraEntityType);
+        spawn.getEntityTypeModifier().write(0, type);
+        spawn.getDoubles()
+                .write(0, start.getX())
+                .write(1, start.getY())
+                .write(2, start.getZ());
+        spawn.getBytes()
+                .write(0, angle(start.getPitch()))
+                .write(1, angle(start.getYaw()))
+                .writeSafely(2, angle(start.getYaw()));
+        protocolManager.sendServerPacket(viewer, spawn);
+        if (type == EntityType.ARMOR_STAND) {
+            // Same flags as a server-side camera stand; otherwise it is left floating in view after detach().
+            sendArmorStandMetadata(armorStandInvisible);
+        }
+        remember(start.getX(), start.getY(), start.getZ(), start.getYaw(), start.getPitch());
+    }
+
+    public int getEntityId() {
+        return entityId;
+    }
+
+    /**
+     * Makes the viewer look through this camera. The viewer should already be in spectator mode.
+     */
+    public void attach() {
+        if (attached || destroyed) {
+            return;
+        }
+        sendCamera(entityId);
+        attached = true;
+    }
+
+    public void detach() {
+        if (!attached || destroyed) {
+            return;
+        }
+        sendCamera(viewer.getEntityId());
+        attached = false;
+    }
+
+    public void moveTo(Location location) {
+        moveTo(location.getX(), location.getY(), location.getZ(), location.getYaw(), location.getPitch());
+    }
+
+    /**
+     * Moves the camera with a relative move/look packet when the delta fits in one, otherwise with a teleport.
+     */
+    public void moveTo(double x, double y, double z, float newYaw, float newPitch) {
+        if (destroyed) {
+            return;
+        }
+        long dx = encode(x) - encodedX;
+        long dy = encode(y) - encodedY;
+        long dz = encode(z) - encodedZ;
+        byte yawAngle = angle(newYaw);
+        byte pitchAngle = angle(newPitch);
+        boolean moved = dx != 0 || dy != 0 || dz != 0;
+        boolean rotated = yawAngle != yaw || pitchAngle != pitch;
+        if (!moved && !rotated) {
+            return;
+        }
+        if (!fitsShort(dx) || !fitsShort(dy) || !fitsShort(dz)) {
+            PacketContainer teleport = protocolManager.createPacket(PacketType.Play.Server.ENTITY_TELEPORT);
+            teleport.getIntegers().write(0, entityId);
+            teleport.getDoubles().write(0, x).write(1, y).write(2, z);
+            teleport.getBytes().write(0, yawAngle).write(1, pitchAngle);
+            teleport.getBooleans().writeSafely(0, false);
+            protocolManager.sendServerPacket(viewer, teleport);
+        } else if (moved) {
+            PacketContainer move = protocolManager.createPacket(rotated
+                    ? PacketType.Play.Server.REL_ENTITY_MOVE_LOOK
+                    : PacketType.Play.Server.REL_ENTITY_MOVE);
+            move.getIntegers().write(0, entityId);
+            move.getShorts().write(0, (short) dx).write(1, (short) dy).write(2, (short) dz);
+            if (rotated) {
+                move.getBytes().write(0, yawAngle).write(1, pitchAngle);
+            }
+            move.getBooleans().writeSafely(0, false);
+            protocolManager.sendServerPacket(viewer, move);
+        } else {
+            PacketContainer look = protocolManager.createPacket(PacketType.Play.Server.ENTITY_LOOK);
+            look.getIntegers().write(0, entityId);
+            look.getBytes().write(0, yawAngle).write(1, pitchAngle);
+            look.getBooleans().writeSafely(0, false);
+            protocolManager.sendServerPacket(viewer, look);
+        }
+        if (yawAngle != yaw) {
+            PacketContainer head = protocolManager.createPacket(PacketType.Play.Server.ENTITY_HEAD_ROTATION);
+            head.getIntegers().write(0, entityId);
+            head.getBytes().write(0, yawAngle);
+            protocolManager.sendServerPacket(viewer, head);
+        }
+        remember(x, y, z, newYaw, newPitch);
+    }
+
+    public void destroy() {
+        if (destroyed) {
+            return;
+        }
+        detach();
+        destroyed = true;
+        if (!viewer.isOnline()) {
+            return;
+        }
+        PacketContainer destroy = protocolManager.createPacket(PacketType.Play.Server.ENTITY_DESTROY);
+        destroy.getIntLists().write(0, List.of(entityId));
+        protocolManager.sendServerPacket(viewer, destroy);
+    }
+
+    private void sendArmorStandMetadata(boolean invisible) {
+        List<WrappedDataValue> values = List.of(
+                new WrappedDataValue(ENTITY_FLAGS, WrappedDataWatcher.Registry.get(Byte.class),
+                        invisible ? INVISIBLE_FLAG : (byte) 0),
+                new WrappedDataValue(SILENT, WrappedDataWatcher.Registry.get(Boolean.class), true),
+                new WrappedDataValue(NO_GRAVITY, WrappedDataWatcher.Registry.get(Boolean.class), true),
+                new WrappedDataValue(ARMOR_STAND_FLAGS, WrappedDataWatcher.Registry.get(Byte.class), MARKER_FLAG)
+        );
+        PacketContainer metadata = protocolManager.createPacket(PacketType.Play.Server.ENTITY_METADATA);
+        metadata.getIntegers().write(0, entityId);
+        metadata.getDataValueCollectionModifier().write(0, values);
+        protocolManager.sendServerPacket(viewer, metadata);
+    }
+
+    private void sendCamera(int targetId) {
+        if (!viewer.isOnline()) {
+            return;
+        }
+        PacketContainer camera = protocolManager.createPacket(PacketType.Play.Server.CAMERA);
+        camera.getIntegers().write(0, targetId);
+        protocolManager.sendServerPacket(viewer, camera);
+    }
+
+    private void remember(double x, double y, double z, float newYaw, float newPitch) {
+        // Deltas are taken against the fixed-point position the client holds, so rounding never accumulates.
+        encodedX = encode(x);
+        encodedY = encode(y);
+        encodedZ = encode(z);
+        yaw = angle(newYaw);
+        pitch = angle(newPitch);
+    }
+
+    private static long encode(double value) {
+        return Math.round(value * FIXED_POINT);
+    }
+
+    private static boolean fitsShort(long delta) {
+        return delta >= Short.MIN_VALUE && delta <= Short.MAX_VALUE;
+    }
+
+    private static byte angle(float degrees) {
+        return (byte) Math.floor(degrees * 256.0f / 360.0f);
+    }
+
+    private static EntityType resolveType(String cameraEntityType) {
+        String type = cameraEntityType == null ? "armorstand" : cameraEntityType.trim().toLowerCase(Locale.ROOT);
+        return switch (type) {
+            case "display", "itemdisplay", "item_display" -> EntityType.ITEM_DISPLAY;
+            case "textdisplay", "text_display" -> EntityType.TEXT_DISPLAY;
+            default -> EntityType.ARMOR_STAND;
+        };
+    }
+}
@@ -0,0 +1,167 @@
+package com.extracrates.runtime;
+
+import com.comphenix.protocol.PacketType;
+import com.comphenix.protocol.ProtocolLibrary;
+import com.comphenix.protocol.ProtocolManager;
+import com.comphenix.protocol.events.PacketContainer;
+import com.comphenix.protocol.utility.MinecraftReflection;
+import com.comphenix.protocol.wrappers.WrappedChatComponent;
+import com.comphenix.protocol.wrappers.WrappedDataValue;
+import com.comphenix.protocol.wrappers.WrappedDataWatcher;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
+import org.bukkit.Location;
+import org.bukkit.entity.Display;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.util.Transformation;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * An item or text display that exists only in one player's client. Spawn, metadata and destroy packets go to that
+ * player alone, so the server never ticks or tracks it and other players never receive anything to filter.
+ * Metadata indices follow the 1.20.2+ display layout. Requires ProtocolLib.
+ */
+public final class VirtualDisplay {
+    private static final int INTERPOLATION_DELAY = 8;
+    private static final int INTERPOLATION_DURATION = 9;
+    private static final int TRANSLATION = 11;
+    private static final int SCALE = 12;
+    private static final int LEFT_ROTATION = 13;
+    private static final int RIGHT_ROTATION = 14;
+    private static final int BILLBOARD = 15;
+    private static final int ITEM = 23;
+    private static final int TEXT = 23;
+
+    private final ProtocolManager protocolManager;
+    private final Player viewer;
+    private final int entityId;
+    private final Location location;
+    private Transformation transformation;
+    private boolean destroyed;
+
+    private VirtualDisplay(Player viewer, Location location, EntityType type) {
+        this.protocolManager = ProtocolLibrary.getProtocolManager();
+        this.viewer = viewer;
+        this.entityId = VirtualEntityIds.next();
+        this.location = location.clone();
+        this.transformation = identity();
+        PacketContainer spawn = protocolManager.createPacket(PacketType.Play.Server.SPAWN_ENTITY);
+        spawn.getIntegers().write(0, entityId);
+        spawn.getUUIDs().write(0, UUID.randomUUID());
+        spawn.getEntityTypeModifier().write(0, type);
+        spawn.getDoubles()
+                .write(0, location.getX())
+                .write(1, location.getY())
+                .write(2, location.getZ());
+        protocolManager.sendServerPacket(viewer, spawn);
+    }
+
+    public static VirtualDisplay item(Player viewer, Location location, ItemStack item, Transformation transformation) {
+        VirtualDisplay display = new VirtualDisplay(viewer, location, EntityType.ITEM_DISPLAY);
+        display.transformation = transformation;
+        List<WrappedDataValue> values = new ArrayList<>();
+        display.addTransformation(values, transformation);
+        values.add(itemValue(item));
+        display.sendMetadata(values);
+        return display;
+    }
+
+    public static VirtualDisplay text(Player viewer, Location location, Component text, Display.Billboard billboard) {
+        VirtualDisplay display = new VirtualDisplay(viewer, location, EntityType.TEXT_DISPLAY);
+        List<WrappedDataValue> values = new ArrayList<>();
+        values.add(new WrappedDataValue(BILLBOARD, WrappedDataWatcher.Registry.get(Byte.class), (byte) billboard.ordinal()));
+        values.add(textValue(text));
+        display.sendMetadata(values);
+        return display;
+    }
+
+    public int getEntityId() {
+        return entityId;
+    }
+
+    public Location getLocation() {
+        return location.clone();
+    }
+
+    public Transformation getTransformation() {
+        return transformation;
+    }
+
+    public void setItemStack(ItemStack item) {
+        sendMetadata(List.of(itemValue(item)));
+    }
+
+    public void setText(Component text) {
+        sendMetadata(List.of(textValue(text)));
+    }
+
+    /**
+     * Sets the transformation the client should reach over {@code interpolationTicks} (0 applies it at once).
+     */
+    public void interpolateTo(Transformation target, int interpolationTicks) {
+        transformation = target;
+        List<WrappedDataValue> values = new ArrayList<>(6);
+        values.add(new WrappedDataValue(INTERPOLATION_DELAY, WrappedDataWatcher.Registry.get(Integer.class), 0));
+        values.add(new WrappedDataValue(INTERPOLATION_DURATION, WrappedDataWatcher.Registry.get(Integer.class),
+                Math.max(0, interpolationTicks)));
+        addTransformation(values, target);
+        sendMetadata(values);
+    }
+
+    public void destroy() {
+        if (destroyed) {
+            return;
+        }
+        destroyed = true;
+        if (!viewer.isOnline()) {
+            return;
+        }
+        PacketContainer destroy = protocolManager.createPacket(PacketType.Play.Server.ENTITY_DESTROY);
+        destroy.getIntLists().write(0, List.of(entityId));
+        protocolManager.sendServerPacket(viewer, destroy);
+    }
+
+    private void addTransformation(List<WrappedDataValue> values, Transformation target) {
+        // Copies: packets are encoded later on the network thread.
+        values.add(new WrappedDataValue(TRANSLATION, WrappedDataWatcher.Registry.get(Vector3f.class),
+                new Vector3f(target.getTranslation())));
+        values.add(new WrappedDataValue(SCALE, WrappedDataWatcher.Registry.get(Vector3f.class),
+                new Vector3f(target.getScale())));
+        values.add(new WrappedDataValue(LEFT_ROTATION, WrappedDataWatcher.Registry.get(Quaternionf.class),
+                new Quaternionf(target.getLeftRotation())));
+        values.add(new WrappedDataValue(RIGHT_ROTATION, WrappedDataWatcher.Registry.get(Quaternionf.class),
+                new Quaternionf(target.getRightRotation())));
+    }
+
+    private void sendMetadata(List<WrappedDataValue> values) {
+        if (destroyed || !viewer.isOnline()) {
+            return;
+        }
+        PacketContainer metadata = protocolManager.createPacket(PacketType.Play.Server.ENTITY_METADATA);
+        metadata.getIntegers().write(0, entityId);
+        metadata.getDataValueCollectionModifier().write(0, values);
+        protocolManager.sendServerPacket(viewer, metadata);
+    }
+
+    private static WrappedDataValue itemValue(ItemStack item) {
+        return new WrappedDataValue(ITEM, WrappedDataWatcher.Registry.getItemStackSerializer(false),
+                MinecraftReflection.getMinecraftItemStack(item));
+    }
+
+    private static WrappedDataValue textValue(Component text) {
+        WrappedChatComponent component = WrappedChatComponent.fromJson(GsonComponentSerializer.gson().serialize(text));
+        return new WrappedDataValue(TEXT, WrappedDataWatcher.Registry.getChatComponentSerializer(false),
+                component.getHandle());
+    }
+
+    private static Transformation identity() {
+        return new Transformation(new Vector3f(), new Quaternionf(), new Vector3f(1f, 1f, 1f), new Quaternionf());
+    }
+}
@@ -0,0 +1,25 @@
+package com.extracrates.runtime;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Entity ids for packet-only entities. They are handed out downwards from the top of the int range, inside a band
+ * the server's own counter (which counts up from zero) never reaches, and wrap around within that band.
+ */
+public final class VirtualEntityIds {
+    private static final int RANGE = 1 << 24;
+    private static final int FIRST = Integer.MAX_VALUE;
+    private static final int LAST = FIRST - RANGE + 1;
+    private static final AtomicInteger NEXT = new AtomicInteger(FIRST);
+
+    private VirtualEntityIds() {
+    }
+
+    public static int next() {
+        return NEXT.getAndUpdate(id -> id == LAST ? FIRST : id - 1);
+    }
+
+    public static boolean isVirtual(int entityId) {
+        return entityId >= LAST;
+    }
+}
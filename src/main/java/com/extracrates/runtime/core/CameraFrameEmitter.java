@@ -0,0 +1,84 @@
+package com.extracrates.runtime.core;
+
+import org.bukkit.Location;
+
+/**
+ * Decides which cutscene frames are worth sending. A frame is dropped when it moved less than the configured
+ * distance and turned less than the configured angle since the last frame that was sent, which also coalesces
+ * identical consecutive frames. Deltas are measured against the last sent frame, so slow paths still advance.
+ */
+final class CameraFrameEmitter {
+    private final double minDistanceSquared;
+    private final float minRotation;
+    private boolean hasLast;
+    private double lastX;
+    private double lastY;
+    private double lastZ;
+    private float lastYaw;
+    private float lastPitch;
+    private long sent;
+    private long skipped;
+
+    CameraFrameEmitter(double minDistance, double minRotation) {
+        double distance = Math.max(0.0, minDistance);
+        this.minDistanceSquared = distance * distance;
+        this.minRotation = (float) Math.max(0.0, minRotation);
+    }
+
+    /**
+     * Returns whether {@code point} should be sent and, if so, records it as the last sent frame.
+     * {@code force} sends it regardless of the thresholds (camera switches, the final frame).
+     */
+    boolean accept(Location point, boolean force) {
+        double x = point.getX();
+        double y = point.getY();
+        double z = point.getZ();
+        float yaw = point.getYaw();
+        float pitch = point.getPitch();
+        if (!force && hasLast) {
+            double dx = x - lastX;
+            double dy = y - lastY;
+            double dz = z - lastZ;
+            if (dx * dx + dy * dy + dz * dz <= minDistanceSquared
+                    && Math.abs(wrapDegrees(yaw - lastYaw)) <= minRotation
+                    && Math.abs(pitch - lastPitch) <= minRotation) {
+                skipped++;
+                return false;
+            }
+        }
+        hasLast = true;
+        lastX = x;
+        lastY = y;
+        lastZ = z;
+        lastYaw = yaw;
+        lastPitch = pitch;
+        sent++;
+        return true;
+    }
+
+    /**
+     * Forgets the last sent frame, e.g. after the camera was moved outside the emitter.
+     */
+    void reset() {
+        hasLast = false;
+    }
+
+    long getSent() {
+        return sent;
+    }
+
+    long getSkipped() {
+        return skipped;
+    }
+
+    private static float wrapDegrees(float angle) {
+        float wrapped = angle % 360.0f;
+        if (wrapped >= 180.0f) {
+            wrapped -= 360.0f;
+        }
+        if (wrapped < -180.0f) {
+            wrapped += 360.0f;
+        }
+        return wrapped;
+    }
+}
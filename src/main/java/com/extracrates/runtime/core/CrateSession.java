@@ -2,12 +2,16 @@ package com.extracrates.runtime.core;
 
 import com.extracrates.ExtraCratesPlugin;
 import com.extracrates.config.ConfigLoader;
+import com.extracrates.cutscene.BakedTimeline;
 import com.extracrates.cutscene.CutscenePath;
 import com.extracrates.cutscene.CutsceneSegmentCommand;
 import com.extracrates.model.CrateDefinition;
 import com.extracrates.model.Reward;
 import com.extracrates.runtime.CameraEntityFactory;
+import com.extracrates.runtime.DisplayPool;
 import com.extracrates.runtime.ProtocolEntityHider;
+import com.extracrates.runtime.VirtualCamera;
+import com.extracrates.runtime.VirtualDisplay;
 import com.extracrates.config.LanguageManager;
 import com.extracrates.util.ItemUtil;
 import com.extracrates.util.ResourcepackModelResolver;
@@ -27,11 +31,11 @@ import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.persistence.PersistentDataType;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.util.Transformation;
 import org.bukkit.util.Vector;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
+import org.joml.Quaternionf;
 import org.joml.Vector3f;
 
 
@@ -64,18 +68,27 @@ public class CrateSession {
     private final SessionManager sessionManager;
     private final boolean preview;
     private final OpenState openState;
+    // Seed the current rewards were rolled from; replays them through the configured RandomSource.
+    private long rollSeed;
     private final String forcedRarityId;
     private final com.extracrates.runtime.RewardAnimationService rewardAnimationService = new com.extracrates.runtime.RewardAnimationService();
 
     private Entity cameraEntity;
+    // Client-side camera used instead of cameraEntity when ProtocolLib is present and cutscene.virtual-camera is on.
+    private VirtualCamera virtualCamera;
+    private int virtualCameraAnchorChunks;
+    private Location anchorLocation;
+    private VirtualDisplay virtualRewardDisplay;
+    private VirtualDisplay virtualHologram;
     private ItemDisplay rewardDisplay;
     private TextDisplay hologram;
     private final Set<Entity> visibleEntities = new LinkedHashSet<>();
-    private BukkitRunnable task;
-    private BukkitRunnable musicTask;
-    private BukkitRunnable watchdogTask;
-    private BukkitRunnable rewardAnimationTask;
-    private BukkitRunnable autoConfirmTask;
+    private SessionTicker.Task task;
+    private SessionTicker.Task musicTask;
+    private SessionTicker.Task watchdogTask;
+    private SessionTicker.Task rewardAnimationTask;
+    private SessionTicker.Task autoConfirmTask;
+    private SessionTicker.Task timeoutTask;
 
     private int rewardIndex;
     private int rerollsUsed;
@@ -83,12 +96,14 @@ public class CrateSession {
     private int nextRewardSwitchTick;
     private int elapsedTicks;
     private int maxDurationTicks;
-    private long sessionStartMillis;
     private long lastTaskTickMillis;
     private boolean ending;
     private boolean ended;
     private boolean active;
     private Location rewardBaseLocation;
+    // Reused for every cutscene frame; teleport copies the coordinates.
+    private Location frameLocation;
+    private CameraFrameEmitter frameEmitter;
     private Location hologramBaseLocation;
     private Transformation rewardBaseTransform;
     private int rerollEnabledAtTick;
@@ -134,7 +149,8 @@ public class CrateSession {
             CutscenePath path,
             SessionManager sessionManager,
             boolean preview,
-            OpenState openState
+            OpenState openState,
+            long rollSeed
     ) {
         this.plugin = plugin;
         this.configLoader = configLoader;
@@ -147,6 +163,7 @@ public class CrateSession {
         this.sessionManager = sessionManager;
         this.preview = preview;
         this.openState = openState;
+        this.rollSeed = rollSeed;
     }
 
     public void start() {
@@ -190,7 +207,7 @@ public class CrateSession {
         startWatchdog();
     }
 
-    public void reroll(List<Reward> rewards, CutscenePath path) {
+    public void reroll(List<Reward> rewards, CutscenePath path, long rollSeed) {
         if (rewards == null || rewards.isEmpty()) {
             return;
         }
@@ -198,6 +215,7 @@ public class CrateSession {
             this.path = path;
         }
         this.rewards = rewards;
+        this.rollSeed = rollSeed;
         resetCutsceneForReroll();
         refreshRewardDisplay();
         startCutscene();
@@ -222,14 +240,68 @@ public class CrateSession {
         FileConfiguration config = configLoader.getMainConfig();
         String cameraEntityType = config.getString("cutscene.camera-entity", "armorstand");
         boolean armorStandInvisible = config.getBoolean("cutscene.armorstand-invisible", true);
-        cameraEntity = CameraEntityFactory.spawn(start, cameraEntityType, armorStandInvisible);
+        if (config.getBoolean("cutscene.virtual-camera", true) && plugin.getProtocolEntityHider() != null) {
+            try {
+                // Chunks and entities are sent around the server-side player, so it starts at the camera and is
+                // re-anchored whenever the camera moves away (see reanchorPlayer).
+                player.teleport(start);
+                virtualCamera = new VirtualCamera(player, start, cameraEntityType, armorStandInvisible);
+                virtualCameraAnchorChunks = Math.max(1, config.getInt("cutscene.virtual-camera-anchor-chunks", 2));
+                anchorLocation = start.clone();
+                return;
+            } catch (RuntimeException ex) {
+                plugin.getLogger().warning("No se pudo crear la cámara virtual, usando entidad: " + ex.getMessage());
+                virtualCamera = null;
+            }
+        }
+        cameraEntity = CameraEntityFactory.spawn(sessionManager.getDisplayPool(), start, cameraEntityType, armorStandInvisible);
         registerVisibleEntity(cameraEntity);
     }
 
+    private void moveCamera(Location point) {
+        if (virtualCamera != null) {
+            virtualCamera.moveTo(point);
+            reanchorPlayer(point);
+        } else if (cameraEntity != null) {
+            cameraEntity.teleport(point);
+        }
+    }
+
+    /**
+     * Teleports the server-side player to the virtual camera once they are more than the configured number of
+     * chunks apart, so chunk sending and entity tracking (reward display, hologram) follow the camera.
+     */
+    private void reanchorPlayer(Location point) {
+        Location anchor = player.getLocation(anchorLocation);
+        int chunkDx = Math.abs((anchor.getBlockX() >> 4) - (point.getBlockX() >> 4));
+        int chunkDz = Math.abs((anchor.getBlockZ() >> 4) - (point.getBlockZ() >> 4));
+        if (Math.max(chunkDx, chunkDz) < virtualCameraAnchorChunks) {
+            return;
+        }
+        player.teleport(point);
+    }
+
+    private void attachCamera() {
+        if (virtualCamera != null) {
+            virtualCamera.attach();
+        } else if (cameraEntity != null && player.getSpectatorTarget() != cameraEntity) {
+            player.setSpectatorTarget(cameraEntity);
+        }
+    }
+
+    private void detachCamera() {
+        if (virtualCamera != null) {
+            virtualCamera.detach();
+        }
+        if (player.getSpectatorTarget() != null) {
+            player.setSpectatorTarget(null);
+        }
+    }
+
     private void applySpectatorMode() {
         FileConfiguration config = configLoader.getMainConfig();
         sessionManager.applySpectator(player);
-        player.setSpectatorTarget(cameraEntity);
+        attachCamera();
 
         if (config.getBoolean("cutscene.fake-equip", true)) {
             previousHelmet = player.getInventory().getHelmet();
@@ -260,35 +332,39 @@ public class CrateSession {
         playerBlindnessApplied = false;
     }
 
-    private void applyFrameLocation(CutsceneFrame frame) {
-        Location point = frame.location();
-        boolean shouldUsePlayer = path.usesPlayerCamera(frame.segmentIndex());
+    private void applyFrameLocation(BakedTimeline timeline, double position) {
+        int lastIndex = timeline.size() - 1;
+        int frame = Math.min(lastIndex, (int) position);
+        Location point = timeline.sample(position, frameLocation);
+        boolean shouldUsePlayer = timeline.usesPlayerCamera(frame);
         if (shouldUsePlayer != usingPlayerCamera) {
             usingPlayerCamera = shouldUsePlayer;
+            frameEmitter.accept(point, true);
             if (usingPlayerCamera) {
-                player.setSpectatorTarget(null);
+                detachCamera();
                 player.teleport(point);
                 applyCutsceneBlindness();
             } else {
-                if (cameraEntity != null) {
-                    cameraEntity.teleport(point);
-                    player.setSpectatorTarget(cameraEntity);
-                }
+                moveCamera(point);
+                attachCamera();
                 clearCutsceneBlindness();
             }
             return;
         }
+        boolean emit = frameEmitter.accept(point, position >= lastIndex);
         if (usingPlayerCamera) {
-            if (player.getSpectatorTarget() != null) {
-                player.setSpectatorTarget(null);
+            detachCamera();
+            if (emit) {
+                player.teleport(point);
             }
-            player.teleport(point);
             if (!playerBlindnessApplied) {
                 applyCutsceneBlindness();
             }
-        } else if (cameraEntity != null) {
-            cameraEntity.teleport(point);
-            player.setSpectatorTarget(cameraEntity);
+        } else {
+            if (emit) {
+                moveCamera(point);
+            }
+            attachCamera();
         }
     }
 
@@ -369,20 +445,66 @@ public class CrateSession {
         }
         CrateDefinition.RewardFloatSettings floatSettings = resolveFloatSettings(reward);
         Location displayLocation = anchor.clone().add(0, floatSettings.height() + resolveRewardDisplayOffset(), 0);
+        rewardAnimationName = resolveRewardAnimation(reward);
+        if (spawnVirtualRewardDisplay(displayLocation, reward)) {
+            logVerbose("Reward display virtual creado: reward=%s", reward.id());
+            return;
+        }
 
         rewardDisplay = createRewardDisplay(displayLocation, reward);
         hologram = createHologram(resolveHologramLocation(displayLocation), reward);
 
-        registerVisibleEntity(rewardDisplay);
-        registerVisibleEntity(hologram);
+        registerVisibleEntities(rewardDisplay, hologram);
 
         rewardBaseLocation = rewardDisplay.getLocation().clone();
         hologramBaseLocation = hologram.getLocation().clone();
         rewardBaseTransform = rewardDisplay.getTransformation();
-        rewardAnimationName = resolveRewardAnimation(reward);
         logVerbose("Reward display creado: reward=%s", reward.id());
     }
 
+    private boolean spawnVirtualRewardDisplay(Location displayLocation, Reward reward) {
+        if (!configLoader.getMainConfig().getBoolean("cutscene.virtual-displays", true)
+                || plugin.getProtocolEntityHider() == null) {
+            return false;
+        }
+        Location hologramLocation = resolveHologramLocation(displayLocation);
+        float scale = (float) Math.max(0.1, configLoader.getMainConfig().getDouble("cutscene.reward-display-scale", 0.7));
+        Transformation baseTransform = new Transformation(
+                new Vector3f(),
+                new Quaternionf(),
+                new Vector3f(scale, scale, scale),
+                new Quaternionf()
+        );
+        try {
+            virtualRewardDisplay = VirtualDisplay.item(
+                    player,
+                    displayLocation,
+                    buildRewardDisplayItem(reward, displayLocation.getWorld()),
+                    baseTransform
+            );
+            virtualHologram = VirtualDisplay.text(player, hologramLocation, buildHologramComponent(reward), Display.Billboard.CENTER);
+        } catch (RuntimeException ex) {
+            plugin.getLogger().warning("No se pudo crear el display virtual, usando entidades: " + ex.getMessage());
+            destroyVirtualDisplays();
+            return false;
+        }
+        rewardBaseLocation = displayLocation.clone();
+        hologramBaseLocation = hologramLocation.clone();
+        rewardBaseTransform = baseTransform;
+        return true;
+    }
+
+    private void destroyVirtualDisplays() {
+        if (virtualRewardDisplay != null) {
+            virtualRewardDisplay.destroy();
+            virtualRewardDisplay = null;
+        }
+        if (virtualHologram != null) {
+            virtualHologram.destroy();
+            virtualHologram = null;
+        }
+    }
+
     private CrateDefinition.RewardFloatSettings resolveFloatSettings(Reward reward) {
         if (reward != null && reward.rewardDisplayOverrides() != null) {
             return crate.animation().rewardFloatSettings();
@@ -458,20 +580,33 @@ public class CrateSession {
     }
 
     private void registerVisibleEntity(Entity entity) {
-        if (entity == null) {
+        registerVisibleEntities(entity);
+    }
+
+    private void registerVisibleEntities(Entity... entities) {
+        if (!configLoader.getMainConfig().getBoolean("cutscene.hide-others", true)) {
             return;
         }
-        if (!configLoader.getMainConfig().getBoolean("cutscene.hide-others", true)) {
+        List<Entity> added = new ArrayList<>(entities.length);
+        for (Entity entity : entities) {
+            if (entity != null && visibleEntities.add(entity)) {
+                added.add(entity);
+            }
+        }
+        if (added.isEmpty()) {
             return;
         }
-        visibleEntities.add(entity);
         ProtocolEntityHider protocolEntityHider = plugin.getProtocolEntityHider();
         if (protocolEntityHider != null) {
-            protocolEntityHider.trackEntity(player, entity);
+            // One index swap and one destroy packet per other player for the whole batch.
+            protocolEntityHider.trackEntities(player, added);
             return;
         }
         for (Player online : Bukkit.getOnlinePlayers()) {
-            if (!online.getUniqueId().equals(player.getUniqueId())) {
+            if (online.getUniqueId().equals(player.getUniqueId())) {
+                continue;
+            }
+            for (Entity entity : added) {
                 online.hideEntity(plugin, entity);
             }
         }
@@ -502,19 +637,26 @@ public class CrateSession {
             end();
             return;
         }
-        List<CutsceneFrame> timeline = buildTimeline(cameraEntity.getWorld(), path);
+        BakedTimeline timeline = path.getBakedTimeline();
         if (timeline.isEmpty()) {
             logVerbose("Cutscene finalizada: timeline vacio para crate=%s", crate.id());
             finish();
             end();
             return;
         }
-        usingPlayerCamera = path.usesPlayerCamera(timeline.getFirst().segmentIndex());
-        applyFrameLocation(timeline.getFirst());
+        frameLocation = new Location(player.getWorld(), 0, 0, 0);
+        if (frameEmitter == null) {
+            FileConfiguration config = configLoader.getMainConfig();
+            frameEmitter = new CameraFrameEmitter(
+                    config.getDouble("cutscene.min-teleport-distance", 0.0),
+                    config.getDouble("cutscene.min-rotation-delta", 0.0)
+            );
+        }
+        frameEmitter.reset();
+        usingPlayerCamera = timeline.usesPlayerCamera(0);
+        applyFrameLocation(timeline, 0.0);
         executeInlineCommands(path.getStartCommands(), getCurrentReward());
-        double minTeleportDistance = Math.max(0.0, configLoader.getMainConfig().getDouble("cutscene.min-teleport-distance", 0.0));
-        double minTeleportDistanceSquared = minTeleportDistance * minTeleportDistance;
-        task = new BukkitRunnable() {
+        task = new SessionTicker.Task() {
             int tick = 0;
             final int totalTicks = resolveTotalTicks(timeline);
             final int lastIndex = timeline.size() - 1;
@@ -528,18 +670,20 @@ public class CrateSession {
                     enterWaitingForClaim();
                     return;
                 }
-                double progress = totalTicks <= 1 ? 1.0 : tick / (double) (totalTicks - 1);
-                int index = lastIndex <= 0 ? 0 : (int) Math.round(progress * lastIndex);
-                CutsceneFrame frame = timeline.get(Math.min(lastIndex, Math.max(0, index)));
+                // Ticks map linearly onto the path; between baked frames the position is interpolated so long
+                // paths don't repeat frames and short ones don't stutter.
+                double position = totalTicks <= 1 ? lastIndex : tick * (double) lastIndex / (totalTicks - 1);
+                int frame = Math.min(lastIndex, (int) position);
                 tick++;
                 lastTaskTickMillis = System.currentTimeMillis();
                 applyCutsceneBlindness();
                 applyMovementLock();
-                if (frame.segmentIndex() != lastSegmentIndex) {
-                    executeSegmentCommands(path.getSegmentCommands(), frame.segmentIndex(), executedSegmentCommands);
-                    lastSegmentIndex = frame.segmentIndex();
+                int segmentIndex = timeline.segmentIndex(frame);
+                if (segmentIndex != lastSegmentIndex) {
+                    executeSegmentCommands(path.getSegmentCommands(), segmentIndex, executedSegmentCommands);
+                    lastSegmentIndex = segmentIndex;
                 }
-                applyFrameLocation(frame);
+                applyFrameLocation(timeline, position);
                 elapsedTicks++;
                 if (!rerollLocked && rewards.size() > 1 && rewardSwitchTicks > 0) {
                     while (elapsedTicks >= nextRewardSwitchTick && rewardIndex < rewards.size() - 1) {
@@ -554,7 +698,7 @@ public class CrateSession {
                 updateRerollHud();
             }
         };
-        task.runTaskTimer(plugin, 0L, 1L);
+        sessionManager.getTicker().repeat(SessionTicker.Category.CUTSCENE, task, 0L, 1L);
     }
 
     private void enterWaitingForClaim() {
@@ -562,12 +706,17 @@ public class CrateSession {
         lastTaskTickMillis = System.currentTimeMillis();
         updateRerollHud();
         clearCutsceneBlindness();
+        scheduleAutoConfirm();
     }
 
     private void resetCutsceneForReroll() {
         if (task != null) {
             task.cancel();
         }
+        if (autoConfirmTask != null) {
+            autoConfirmTask.cancel();
+            autoConfirmTask = null;
+        }
         waitingForClaim = false;
         rewardAnimationTick = 0;
         elapsedTicks = 0;
@@ -576,16 +725,17 @@ public class CrateSession {
         rerollLocked = false;
         nextRewardSwitchTick = rewardSwitchTicks;
         Location start = resolveCameraStart();
-        if (cameraEntity != null) {
-            cameraEntity.teleport(start);
-            player.setSpectatorTarget(cameraEntity);
+        moveCamera(start);
+        attachCamera();
+        if (frameEmitter != null) {
+            frameEmitter.reset();
         }
         usingPlayerCamera = false;
         clearCutsceneBlindness();
         scheduleTimeout();
     }
 
-    private int resolveTotalTicks(List<CutsceneFrame> timeline) {
+    private int resolveTotalTicks(BakedTimeline timeline) {
         if (path != null) {
             int durationTicks = (int) Math.round(path.getDurationSeconds() * 20.0);
             if (durationTicks > 0) {
@@ -611,8 +761,22 @@ public class CrateSession {
 
     private void scheduleTimeout() {
         maxDurationTicks = Math.max(0, configLoader.getMainConfig().getInt("sessions.max-duration-ticks", 0));
-        sessionStartMillis = System.currentTimeMillis();
-        lastTaskTickMillis = sessionStartMillis;
+        lastTaskTickMillis = System.currentTimeMillis();
+        if (timeoutTask != null) {
+            timeoutTask.cancel();
+            timeoutTask = null;
+        }
+        if (maxDurationTicks <= 0) {
+            return;
+        }
+        timeoutTask = new SessionTicker.Task() {
+            @Override
+            public void run() {
+                logVerbose("Sesion expirada: jugador=%s crate=%s", player.getName(), crate.id());
+                end();
+            }
+        };
+        sessionManager.getTicker().schedule(SessionTicker.Category.TIMEOUT, timeoutTask, maxDurationTicks + 1L);
     }
 
     private void updateRerollHud() {
@@ -623,7 +787,7 @@ public class CrateSession {
         if (watchdogTask != null) {
             watchdogTask.cancel();
         }
-        watchdogTask = new BukkitRunnable() {
+        watchdogTask = new SessionTicker.Task() {
             @Override
             public void run() {
                 if (ending || ended) {
@@ -631,13 +795,6 @@ public class CrateSession {
                     return;
                 }
                 long now = System.currentTimeMillis();
-                if (maxDurationTicks > 0) {
-                    long elapsedRealTicks = (now - sessionStartMillis) / 50L;
-                    if (elapsedRealTicks > maxDurationTicks) {
-                        end();
-                        return;
-                    }
-                }
                 if (task == null || task.isCancelled()) {
                     if (waitingForClaim) {
                         return;
@@ -650,67 +807,7 @@ public class CrateSession {
                 }
             }
         };
-        watchdogTask.runTaskTimer(plugin, 20L, 20L);
-    }
-
-    private List<CutsceneFrame> buildTimeline(World world, CutscenePath path) {
-        List<CutsceneFrame> timeline = new ArrayList<>();
-        List<com.extracrates.cutscene.CutscenePoint> points = path.getPoints();
-        com.extracrates.cutscene.CutsceneSpinSettings spinSettings = path.getSpinSettings();
-        double spinOffset = 0.0;
-        double spinStep = spinSettings != null ? spinSettings.stepDelta() : 0.0;
-        boolean spinStarted = false;
-        String smoothing = resolveSmoothing(path);
-        if (points.size() == 1) {
-            com.extracrates.cutscene.CutscenePoint point = points.getFirst();
-            timeline.add(new CutsceneFrame(
-                    new Location(world, point.x(), point.y(), point.z(), point.yaw(), point.pitch()),
-                    0,
-                    path.isPlayerSegment(0)
-            ));
-            return timeline;
-        }
-        for (int i = 0; i < points.size() - 1; i++) {
-            com.extracrates.cutscene.CutscenePoint start = points.get(i);
-            com.extracrates.cutscene.CutscenePoint end = points.get(i + 1);
-            if (path.isDirectPoint(i + 1)) {
-                if (timeline.isEmpty()) {
-                    timeline.add(new CutsceneFrame(
-                            new Location(world, start.x(), start.y(), start.z(), start.yaw(), start.pitch()),
-                            i,
-                            path.isPlayerSegment(i)
-                    ));
-                }
-                timeline.add(new CutsceneFrame(
-                        new Location(world, end.x(), end.y(), end.z(), end.yaw(), end.pitch()),
-                        i,
-                        path.isPlayerSegment(i)
-                ));
-                continue;
-            }
-            Location startLoc = new Location(world, start.x(), start.y(), start.z(), start.yaw(), start.pitch());
-            Location endLoc = new Location(world, end.x(), end.y(), end.z(), end.yaw(), end.pitch());
-            double distance = startLoc.distance(endLoc);
-            int steps = Math.max(2, (int) Math.ceil(distance / path.getStepResolution()));
-            for (int s = 0; s <= steps; s++) {
-                double t = s / (double) steps;
-                double eased = applyEasing(t, smoothing);
-                double x = lerp(startLoc.getX(), endLoc.getX(), eased);
-                double y = lerp(startLoc.getY(), endLoc.getY(), eased);
-                double z = lerp(startLoc.getZ(), endLoc.getZ(), eased);
-                float yaw = lerpAngle(startLoc.getYaw(), endLoc.getYaw(), eased);
-                float pitch = lerpAngle(startLoc.getPitch(), endLoc.getPitch(), eased);
-                if (spinSettings != null && spinSettings.isActiveForSegment(i)) {
-                    yaw = wrapDegrees(yaw + (float) spinOffset);
-                    spinOffset += spinStep;
-                    spinStarted = true;
-                } else if (spinStarted) {
-                    yaw = wrapDegrees(yaw + (float) spinOffset);
-                }
-                timeline.add(new CutsceneFrame(new Location(world, x, y, z, yaw, pitch), i, path.isPlayerSegment(i)));
-            }
-        }
-        return timeline;
+        sessionManager.getTicker().repeat(SessionTicker.Category.WATCHDOG, watchdogTask, 20L, 20L);
     }
 
     private void executeSegmentCommands(
@@ -733,44 +830,6 @@ public class CrateSession {
         }
     }
 
-    private String resolveSmoothing(CutscenePath path) {
-        String smoothing = path.getSmoothing();
-        if (smoothing == null || smoothing.isBlank()) {
-            smoothing = "linear";
-        }
-        return smoothing;
-    }
-
-    private double applyEasing(double t, String smoothing) {
-        String mode = smoothing == null ? "linear" : smoothing.trim().toLowerCase(Locale.ROOT);
-        return switch (mode) {
-            case "ease-in", "ease_in", "in" -> t * t;
-            case "ease-out", "ease_out", "out" -> 1 - Math.pow(1 - t, 2);
-            case "ease-in-out", "ease_in_out", "in-out", "smoothstep", "catmull-rom" -> t * t * (3 - 2 * t);
-            default -> t;
-        };
-    }
-
-    private double lerp(double start, double end, double t) {
-        return start + (end - start) * t;
-    }
-
-    private float lerpAngle(float start, float end, double t) {
-        float delta = wrapDegrees(end - start);
-        return start + (float) (delta * t);
-    }
-
-    private float wrapDegrees(float angle) {
-        float wrapped = angle % 360.0f;
-        if (wrapped >= 180.0f) {
-            wrapped -= 360.0f;
-        }
-        if (wrapped < -180.0f) {
-            wrapped += 360.0f;
-        }
-        return wrapped;
-    }
-
     private void finish() {
         if (rewardDelivered) {
             return;
@@ -819,7 +878,7 @@ public class CrateSession {
             }
         }
         rewardDelivered = true;
-        sessionManager.logRewardConfirmation(player, crate, reward, rerollsUsed);
+        sessionManager.logRewardConfirmation(player, crate, reward, rerollsUsed, rollSeed);
         sessionManager.completeOpen(player, crate, reward, openState);
         if (rewardIndex >= rewards.size() - 1) {
             return;
@@ -915,9 +974,6 @@ public class CrateSession {
         }
     }
 
-    private record CutsceneFrame(Location location, int segmentIndex, boolean usePlayerCamera) {
-    }
-
     private Map<String, String> buildCommandPlaceholders(Reward reward) {
         Map<String, String> placeholders = new HashMap<>();
         placeholders.put("player", player.getName());
@@ -964,6 +1020,14 @@ public class CrateSession {
         if (reward == null) {
             return;
         }
+        if (virtualRewardDisplay != null) {
+            virtualRewardDisplay.setItemStack(buildRewardDisplayItem(reward, player.getWorld()));
+            if (virtualHologram != null) {
+                virtualHologram.setText(buildHologramComponent(reward));
+            }
+            rewardAnimationName = resolveRewardAnimation(reward);
+            return;
+        }
         Location displayLocation = resolveRewardDisplayLocation();
         if (rewardDisplay == null || rewardDisplay.isDead()) {
             rewardDisplay = createRewardDisplay(displayLocation, reward);
@@ -1016,14 +1080,14 @@ public class CrateSession {
     }
 
     private ItemDisplay createRewardDisplay(Location displayLocation, Reward reward) {
-        return displayLocation.getWorld().spawn(displayLocation, ItemDisplay.class, display -> {
+        return sessionManager.getDisplayPool().acquireItemDisplay(displayLocation, display -> {
             display.setItemStack(buildRewardDisplayItem(reward, displayLocation.getWorld()));
             applyRewardDisplayScale(display);
         });
     }
 
     private TextDisplay createHologram(Location hologramLocation, Reward reward) {
-        return hologramLocation.getWorld().spawn(hologramLocation, TextDisplay.class, display -> {
+        return sessionManager.getDisplayPool().acquireTextDisplay(hologramLocation, display -> {
             String name = resolveHologramText(reward);
             display.text(configLoader.getSettings().applyHologramFont(TextUtil.color(name)));
             display.setBillboard(Display.Billboard.CENTER);
@@ -1151,30 +1215,30 @@ public class CrateSession {
         if (rewardAnimationTask != null) {
             rewardAnimationTask.cancel();
         }
-        stopMusic();
-        untrackEntity(cameraEntity);
-        untrackEntity(rewardDisplay);
-        untrackEntity(hologram);
-        if (cameraEntity != null && !cameraEntity.isDead()) {
-            if (cameraEntity instanceof ArmorStand armorStand) {
-                armorStand.remove();
-            } else {
-                cameraEntity.remove();
-            }
+        if (autoConfirmTask != null) {
+            autoConfirmTask.cancel();
         }
-        if (rewardDisplay != null && !rewardDisplay.isDead()) {
-            rewardDisplay.remove();
+        if (timeoutTask != null) {
+            timeoutTask.cancel();
+        }
+        stopMusic();
+        if (virtualCamera != null) {
+            virtualCamera.destroy();
         }
-        if (hologram != null && !hologram.isDead()) {
-            hologram.remove();
+        destroyVirtualDisplays();
+        if (frameEmitter != null) {
+            sessionManager.recordCameraFrames(frameEmitter.getSent(), frameEmitter.getSkipped());
+            logVerbose("Frames de camara: enviados=%d omitidos=%d", frameEmitter.getSent(), frameEmitter.getSkipped());
         }
         ProtocolEntityHider protocolEntityHider = plugin.getProtocolEntityHider();
         if (protocolEntityHider != null) {
-            for (Entity entity : visibleEntities) {
-                protocolEntityHider.untrackEntity(entity);
-            }
+            protocolEntityHider.untrackEntities(visibleEntities);
         }
         visibleEntities.clear();
+        DisplayPool displayPool = sessionManager.getDisplayPool();
+        displayPool.release(cameraEntity);
+        displayPool.releaseItemDisplay(rewardDisplay);
+        displayPool.releaseTextDisplay(hologram);
         if (previousLocation != null) {
             player.teleport(previousLocation);
         }
@@ -1263,13 +1327,13 @@ public class CrateSession {
         if (autoConfirmTicks <= 0) {
             return;
         }
-        autoConfirmTask = new BukkitRunnable() {
+        autoConfirmTask = new SessionTicker.Task() {
             @Override
             public void run() {
                 confirmReward(false);
             }
         };
-        autoConfirmTask.runTaskLater(plugin, autoConfirmTicks);
+        sessionManager.getTicker().schedule(SessionTicker.Category.AUTO_CONFIRM, autoConfirmTask, autoConfirmTicks);
     }
 
     private void capturePlayerState() {
@@ -1349,13 +1413,6 @@ public class CrateSession {
         }
     }
 
-    private void untrackEntity(Entity entity) {
-        ProtocolEntityHider hider = plugin.getProtocolEntityHider();
-        if (hider != null && entity != null) {
-            hider.untrackEntity(entity);
-        }
-    }
-
     public boolean isMovementLocked() {
         return crate.cutsceneSettings().lockMovement();
     }
@@ -1515,7 +1572,7 @@ public class CrateSession {
         float startVolume = fadeIn ? 0.0f : music.volume();
         float endVolume = fadeIn ? music.volume() : 0.0f;
         float step = (endVolume - startVolume) / steps;
-        musicTask = new BukkitRunnable() {
+        musicTask = new SessionTicker.Task() {
             int stepIndex = 0;
             float current = startVolume;
 
@@ -1540,7 +1597,7 @@ public class CrateSession {
                 stepIndex++;
             }
         };
-        musicTask.runTaskTimer(plugin, 0L, 4L);
+        sessionManager.getTicker().repeat(SessionTicker.Category.MUSIC, musicTask, 0L, 4L);
     }
 
     private SoundCategory parseCategory(String categoryName) {
@@ -1707,7 +1764,17 @@ public class CrateSession {
             rewardAnimationTask.cancel();
         }
         rewardAnimationTick = 0;
-        rewardAnimationTask = new BukkitRunnable() {
+        int configuredTicks = configLoader.getMainConfig().getInt("cutscene.reward-animation-keyframe-ticks", 10);
+        int keyframeTicks = com.extracrates.runtime.RewardAnimationService.keyframeTicks(
+                configuredTicks,
+                rewardAnimationName != null ? rewardAnimationName : "float",
+                crate.animation().rewardFloatSettings()
+        );
+        if (keyframeTicks > 1 || virtualRewardDisplay != null) {
+            startRewardKeyframes(configuredTicks);
+            return;
+        }
+        rewardAnimationTask = new SessionTicker.Task() {
             @Override
             public void run() {
                 if (ended || rewardDisplay == null || rewardBaseLocation == null) {
@@ -1728,7 +1795,57 @@ public class CrateSession {
                 );
             }
         };
-        rewardAnimationTask.runTaskTimer(plugin, 0L, 1L);
+        sessionManager.getTicker().repeat(SessionTicker.Category.REWARD_ANIMATION, rewardAnimationTask, 0L, 1L);
+    }
+
+    private void startRewardKeyframes(int configuredTicks) {
+        // Entities stay at their base location; the client interpolates between transformation keyframes.
+        if (rewardDisplay != null && rewardBaseLocation != null) {
+            rewardDisplay.teleport(rewardBaseLocation);
+        }
+        if (hologram != null && hologramBaseLocation != null) {
+            hologram.teleport(hologramBaseLocation);
+        }
+        rewardAnimationTask = new SessionTicker.Task() {
+            @Override
+            public void run() {
+                if (ended || (rewardDisplay == null && virtualRewardDisplay == null) || rewardBaseLocation == null) {
+                    cancel();
+                    return;
+                }
+                String animation = rewardAnimationName != null ? rewardAnimationName : "float";
+                // Recomputed per keyframe: a reroll can switch to an animation that needs closer keyframes.
+                int keyframeTicks = com.extracrates.runtime.RewardAnimationService.keyframeTicks(
+                        configuredTicks,
+                        animation,
+                        crate.animation().rewardFloatSettings()
+                );
+                if (virtualRewardDisplay != null) {
+                    Transformation target = rewardAnimationService.keyframe(
+                            animation,
+                            rewardBaseTransform,
+                            rewardAnimationTick,
+                            keyframeTicks,
+                            crate.animation().rewardFloatSettings()
+                    );
+                    if (target != null) {
+                        virtualRewardDisplay.interpolateTo(target, keyframeTicks);
+                    }
+                } else {
+                    rewardAnimationService.applyKeyframe(
+                            animation,
+                            rewardDisplay,
+                            rewardBaseTransform,
+                            rewardAnimationTick,
+                            keyframeTicks,
+                            crate.animation().rewardFloatSettings()
+                    );
+                }
+                rewardAnimationTick += keyframeTicks;
+                setPeriod(keyframeTicks);
+            }
+        };
+        sessionManager.getTicker().repeat(SessionTicker.Category.REWARD_ANIMATION, rewardAnimationTask, 0L, 1L);
     }
 
     private String resolveRewardAnimation(Reward reward) {
@@ -6,20 +6,28 @@ import com.extracrates.config.LanguageManager;
 import com.extracrates.cutscene.CutscenePath;
 import com.extracrates.cutscene.CutscenePoint;
 import com.extracrates.economy.EconomyService;
+import com.extracrates.logging.RewardLogger;
 import com.extracrates.model.CrateDefinition;
 import com.extracrates.model.RarityDefinition;
 import com.extracrates.model.Reward;
 import com.extracrates.model.RewardPool;
+import com.extracrates.runtime.DisplayPool;
+import com.extracrates.runtime.ProtocolEntityHider;
+import com.extracrates.storage.AsyncCrateStorage;
 import com.extracrates.storage.CrateOpenEntry;
 import com.extracrates.storage.CrateStorage;
 import com.extracrates.storage.DeliveryStatus;
+import com.extracrates.storage.HistoryCursor;
 import com.extracrates.storage.LocalStorage;
 import com.extracrates.storage.PendingReward;
+import com.extracrates.storage.PlayerStateSnapshot;
 import com.extracrates.storage.OpenHistoryFilter;
+import com.extracrates.storage.RewardDeliveryStatus;
 import com.extracrates.storage.SqlStorage;
 import com.extracrates.storage.StorageFallback;
 import com.extracrates.storage.StorageMigrationReport;
 import com.extracrates.storage.StorageMigrator;
+import com.extracrates.storage.StorageServerId;
 import com.extracrates.storage.StorageSettings;
 import com.extracrates.storage.StorageTarget;
 import com.extracrates.sync.SyncBridge;
@@ -27,10 +35,11 @@ import com.extracrates.sync.SyncEventType;
 import com.extracrates.sync.SyncSettings;
 import com.extracrates.sync.CrateHistoryEntry;
 import com.extracrates.util.ItemUtil;
-import com.extracrates.util.RaritySelector;
+import com.extracrates.util.RandomSource;
 import com.extracrates.util.RewardSelector;
 import com.extracrates.util.ResourcepackModelResolver;
 import com.extracrates.util.TextUtil;
+import com.extracrates.util.WeightedTable;
 import net.kyori.adventure.bossbar.BossBar;
 import net.kyori.adventure.text.Component;
 import org.bukkit.Bukkit;
@@ -58,9 +67,12 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Random;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.random.RandomGenerator;
 
 public class SessionManager {
     public static final String REWARD_HOLOGRAM_KEY = "extracrates_reward_hologram";
@@ -69,33 +81,74 @@ public class SessionManager {
     private final EconomyService economyService;
     private final LanguageManager languageManager;
     private final CrateStorage storage;
+    private final AsyncCrateStorage asyncStorage;
+    private final Executor mainThreadExecutor;
     private final SyncBridge syncBridge;
     private final boolean storageEnabled;
     private final String serverId;
     private final NamespacedKey keyMarker;
     private final NamespacedKey rewardHologramMarker;
+    private final RandomSource randomSource;
+    private final RewardLogger rewardLogger;
     // Stores both preview and normal crate sessions. Preview sessions are marked in CrateSession.
     private final Map<UUID, CrateSession> sessions = new HashMap<>();
+    // Players whose open is waiting on async storage (lock + cooldown) before the session starts.
+    private final Set<UUID> pendingOpens = new HashSet<>();
     private final Map<UUID, Map<String, Instant>> cooldowns = new HashMap<>();
-    private final Map<UUID, Random> sessionRandoms = new HashMap<>();
     private final Map<UUID, Deque<CrateHistoryEntry>> history = new HashMap<>();
     private final Map<UUID, BukkitRunnable> cooldownTasks = new HashMap<>();
     private final Map<UUID, BossBar> cooldownBars = new HashMap<>();
     private final Map<UUID, Map<String, String>> pendingRewards = new HashMap<>();
+    // Players whose cooldowns/pending rewards were preloaded: for them the maps above are authoritative.
+    private final Set<UUID> loadedStates = new HashSet<>();
+    private final Map<UUID, CompletableFuture<Void>> stateLoads = new ConcurrentHashMap<>();
+    private final BukkitRunnable lockMaintenanceTask;
+    private final SessionTicker ticker;
+    private final DisplayPool displayPool;
     private static final int HISTORY_LIMIT = 200;
+    private long historySequence;
+    private long cameraFramesSent;
+    private long cameraFramesSkipped;
 
     public SessionManager(ExtraCratesPlugin plugin, ConfigLoader configLoader, EconomyService economyService) {
         this.plugin = plugin;
         this.configLoader = configLoader;
         this.economyService = economyService;
         this.languageManager = plugin.getLanguageManager();
-        StorageSettings storageSettings = StorageSettings.fromConfig(configLoader.getMainConfig());
+        StorageSettings storageSettings = loadStorageSettings();
         this.storageEnabled = storageSettings.enabled();
         this.storage = initializeStorage(storageSettings);
+        this.asyncStorage = new AsyncCrateStorage(storage, storageSettings, plugin.getLogger());
+        this.mainThreadExecutor = this::runOnMainThread;
         this.syncBridge = new SyncBridge(plugin, configLoader, this);
         this.serverId = SyncSettings.fromConfig(configLoader.getMainConfig()).getServerId();
         this.keyMarker = new NamespacedKey(plugin, "crate_key_id");
         this.rewardHologramMarker = new NamespacedKey(plugin, REWARD_HOLOGRAM_KEY);
+        this.randomSource = RandomSource.fromName(configLoader.getMainConfig().getString("rng.algorithm", "L64X128MixRandom"));
+        this.rewardLogger = RewardLogger.isEnabled(plugin) ? new RewardLogger(plugin) : null;
+        this.lockMaintenanceTask = storageEnabled ? startLockMaintenance(storageSettings) : null;
+        this.ticker = new SessionTicker(plugin, plugin.getLogger());
+        this.displayPool = new DisplayPool(plugin, DisplayPool.Settings.fromConfig(configLoader.getMainConfig()));
+        // Worlds and the ProtocolLib hook are only ready once the plugin finished enabling.
+        Bukkit.getScheduler().runTask(plugin, this::prewarmDisplayPool);
+    }
+
+    private void prewarmDisplayPool() {
+        // Camera entities are only needed without the client-side camera.
+        boolean armorStands = plugin.getProtocolEntityHider() == null
+                || !configLoader.getMainConfig().getBoolean("cutscene.virtual-camera", true);
+        Set<UUID> worlds = new HashSet<>();
+        int spawned = 0;
+        for (CrateDefinition crate : configLoader.getCrates().values()) {
+            Location anchor = crate.rewardAnchor() != null ? crate.rewardAnchor() : crate.cameraStart();
+            if (anchor == null || anchor.getWorld() == null || !worlds.add(anchor.getWorld().getUID())) {
+                continue;
+            }
+            spawned += displayPool.prewarm(anchor, armorStands);
+        }
+        if (spawned > 0) {
+            plugin.getLogger().info("Pool de displays precargado: " + spawned + " entidades en " + worlds.size() + " mundos.");
+        }
     }
 
     public void shutdown() {
@@ -109,18 +162,55 @@ public class SessionManager {
             session.end();
         });
         sessions.clear();
-        sessionRandoms.clear();
+        pendingOpens.clear();
+        ticker.shutdown();
+        displayPool.clear();
         cooldownTasks.values().forEach(BukkitRunnable::cancel);
         cooldownTasks.clear();
         cooldownBars.clear();
+        if (lockMaintenanceTask != null) {
+            lockMaintenanceTask.cancel();
+        }
         if (syncBridge != null) {
             syncBridge.shutdown();
         }
-        if (storage != null) {
-            storage.close();
+        if (asyncStorage != null) {
+            // Drains pending async calls first, then the SQL write-behind journal.
+            asyncStorage.close();
         }
     }
 
+    private BukkitRunnable startLockMaintenance(StorageSettings settings) {
+        long heartbeatTicks = Math.max(20L, settings.lockHeartbeatMillis() / 50L);
+        long sweepEvery = Math.max(1L, settings.lockSweepMillis() / (heartbeatTicks * 50L));
+        BukkitRunnable task = new BukkitRunnable() {
+            private long runs;
+
+            @Override
+            public void run() {
+                // Keep the leases of live opens ahead of expiry; a crashed server simply stops renewing.
+                Set<UUID> holders = new HashSet<>(pendingOpens);
+                sessions.forEach((playerId, session) -> {
+                    if (!session.isPreview()) {
+                        holders.add(playerId);
+                    }
+                });
+                if (!holders.isEmpty()) {
+                    asyncStorage.renewLocks(holders);
+                }
+                if (++runs % sweepEvery == 0) {
+                    asyncStorage.sweepExpiredLocks().thenAccept(removed -> {
+                        if (removed > 0) {
+                            plugin.getLogger().info("Locks de crates expirados eliminados: " + removed);
+                        }
+                    });
+                }
+            }
+        };
+        task.runTaskTimer(plugin, heartbeatTicks, heartbeatTicks);
+        return task;
+    }
+
     public int cleanupActiveSessions(String reason, boolean localMode) {
         List<CrateSession> activeSessions = new ArrayList<>(sessions.values());
         if (activeSessions.isEmpty()) {
@@ -137,6 +227,7 @@ public class SessionManager {
                 activeSessions.size(),
                 localMode ? " en modo local" : ""
         ));
+        Set<UUID> affectedPlayers = new HashSet<>();
         for (CrateSession session : activeSessions) {
             Player player = session.getPlayer();
             if (player != null) {
@@ -146,13 +237,16 @@ public class SessionManager {
                         player.getUniqueId(),
                         session.getCrateId()
                 ));
-                clearCrateEffects(player);
+                affectedPlayers.add(player.getUniqueId());
+                clearCrateEffects(player, false);
                 continue;
             }
             UUID playerId = session.getPlayerId();
+            affectedPlayers.add(playerId);
             endSession(playerId);
             removeSession(playerId);
         }
+        asyncStorage.releaseAllLocks(affectedPlayers);
         return activeSessions.size();
     }
 
@@ -161,7 +255,7 @@ public class SessionManager {
     }
 
     public boolean openCrate(Player player, CrateDefinition crate, boolean preview) {
-        if (sessions.containsKey(player.getUniqueId())) {
+        if (isOpenInProgress(player.getUniqueId())) {
             player.sendMessage(languageManager.getMessage("session.already-in-progress"));
             return false;
         }
@@ -178,40 +272,23 @@ public class SessionManager {
             player.sendMessage(languageManager.getMessage("session.error.missing-reward-pool"));
             return false;
         }
-        Random random = sessionRandoms.computeIfAbsent(player.getUniqueId(), key -> new Random());
-        List<Reward> rewards = rollRewards(rewardPool, random, buildRollLogger(player));
+        long seed = randomSource.nextSeed();
+        List<Reward> rewards = rollRewards(rewardPool, randomSource.generator(seed), buildRollLogger(player));
         if (rewards.isEmpty()) {
             player.sendMessage(languageManager.getMessage("session.no-rewards"));
             return false;
         }
         CutscenePath path = resolveCutscenePath(crate, rewards.getFirst(), player);
-        OpenState openState = null;
-        if (!preview) {
-            if (storage != null && !storage.acquireLock(player.getUniqueId(), crate.id())) {
-                player.sendMessage(Component.text("Ya tienes una apertura en progreso."));
-                return false;
-            }
-            Instant previousCooldown = getCooldownTimestamp(player, crate.id());
-            openState = new OpenState(storage != null, false, false, previousCooldown);
-        }
-        CrateSession session = new CrateSession(plugin, configLoader, languageManager, player, crate, rewards, null, path, this, preview, openState);
-        sessions.put(player.getUniqueId(), session);
-        Instant createdAt = Instant.now();
-        plugin.getLogger().info(() -> String.format(
-                "Sesion creada: jugador=%s crate=%s timestamp=%s",
-                player.getName(),
-                crate.id(),
-                createdAt
-        ));
-        if (!preview && storage != null) {
-            storage.logOpenStarted(player.getUniqueId(), crate.id(), resolveServerId(), createdAt);
+        if (preview) {
+            startSession(player, crate, rewards, null, path, true, null, seed);
+            return true;
         }
-        session.start();
+        beginOpen(player, crate, rewards, null, path, seed);
         return true;
     }
 
     public boolean openCrateWithRarity(Player player, CrateDefinition crate, String rarityId) {
-        if (sessions.containsKey(player.getUniqueId())) {
+        if (isOpenInProgress(player.getUniqueId())) {
             player.sendMessage(languageManager.getMessage("session.already-in-progress"));
             return false;
         }
@@ -228,35 +305,101 @@ public class SessionManager {
             player.sendMessage(languageManager.getMessage("session.error.missing-reward-pool"));
             return false;
         }
-        Random random = sessionRandoms.computeIfAbsent(player.getUniqueId(), key -> new Random());
-        List<Reward> rewards = rollRewardsByRarity(rewardPool, rarityId, random, buildRollLogger(player));
+        long seed = randomSource.nextSeed();
+        List<Reward> rewards = rollRewardsByRarity(rewardPool, rarityId, randomSource.generator(seed), buildRollLogger(player));
         if (rewards.isEmpty()) {
             player.sendMessage(languageManager.getMessage("session.no-rewards-rarity", java.util.Map.of("rarity", rarityId)));
             return false;
         }
         CutscenePath path = resolveCutscenePath(crate, rewards.getFirst(), player);
-        OpenState openState = null;
-        if (storage != null && !storage.acquireLock(player.getUniqueId(), crate.id())) {
-            player.sendMessage(Component.text("Ya tienes una apertura en progreso."));
-            return false;
-        }
-        Instant previousCooldown = getCooldownTimestamp(player, crate.id());
-        openState = new OpenState(storage != null, false, false, previousCooldown);
-        CrateSession session = new CrateSession(plugin, configLoader, languageManager, player, crate, rewards, rarityId, path, this, false, openState);
+        beginOpen(player, crate, rewards, rarityId, path, seed);
+        return true;
+    }
+
+    private boolean isOpenInProgress(UUID playerId) {
+        return sessions.containsKey(playerId) || pendingOpens.contains(playerId);
+    }
+
+    private void beginOpen(Player player, CrateDefinition crate, List<Reward> rewards, String rarityId, CutscenePath path, long seed) {
+        UUID playerId = player.getUniqueId();
+        pendingOpens.add(playerId);
+        CompletableFuture<Boolean> lockFuture = asyncStorage.acquireLock(playerId, crate.id());
+        CompletableFuture<Instant> cooldownFuture = loadCooldownTimestamp(playerId, crate.id());
+        lockFuture.thenCombine(cooldownFuture, OpenPreconditions::new)
+                .whenCompleteAsync((preconditions, error) -> {
+                    pendingOpens.remove(playerId);
+                    if (error != null) {
+                        plugin.getLogger().warning("No se pudo preparar la apertura de " + player.getName()
+                                + " en crate " + crate.id() + ": " + error.getMessage());
+                        if (lockFuture.isDone() && !lockFuture.isCompletedExceptionally() && lockFuture.join()) {
+                            asyncStorage.releaseLock(playerId, crate.id());
+                        }
+                        if (player.isOnline()) {
+                            player.sendMessage(Component.text("No se pudo iniciar la apertura, inténtalo de nuevo."));
+                        }
+                        return;
+                    }
+                    if (!preconditions.lockAcquired()) {
+                        player.sendMessage(Component.text("Ya tienes una apertura en progreso."));
+                        return;
+                    }
+                    if (!player.isOnline() || sessions.containsKey(playerId)) {
+                        asyncStorage.releaseLock(playerId, crate.id());
+                        return;
+                    }
+                    Instant previousCooldown = preconditions.previousCooldown();
+                    if (previousCooldown != null) {
+                        cooldowns.computeIfAbsent(playerId, key -> new HashMap<>()).putIfAbsent(crate.id(), previousCooldown);
+                    }
+                    OpenState openState = new OpenState(true, false, false, previousCooldown);
+                    startSession(player, crate, rewards, rarityId, path, false, openState, seed);
+                }, mainThreadExecutor);
+    }
+
+    private void startSession(
+            Player player,
+            CrateDefinition crate,
+            List<Reward> rewards,
+            String rarityId,
+            CutscenePath path,
+            boolean preview,
+            OpenState openState,
+            long seed
+    ) {
+        CrateSession session = new CrateSession(plugin, configLoader, languageManager, player, crate, rewards, rarityId, path, this, preview, openState, seed);
         sessions.put(player.getUniqueId(), session);
         Instant createdAt = Instant.now();
-        plugin.getLogger().info(() -> String.format(
-                "Sesion creada (rarity): jugador=%s crate=%s rarity=%s timestamp=%s",
-                player.getName(),
-                crate.id(),
-                rarityId,
-                createdAt
-        ));
-        if (storage != null) {
-            storage.logOpenStarted(player.getUniqueId(), crate.id(), resolveServerId(), createdAt);
+        if (rarityId == null) {
+            plugin.getLogger().info(() -> String.format(
+                    "Sesion creada: jugador=%s crate=%s timestamp=%s",
+                    player.getName(),
+                    crate.id(),
+                    createdAt
+            ));
+        } else {
+            plugin.getLogger().info(() -> String.format(
+                    "Sesion creada (rarity): jugador=%s crate=%s rarity=%s timestamp=%s",
+                    player.getName(),
+                    crate.id(),
+                    rarityId,
+                    createdAt
+            ));
+        }
+        if (!preview) {
+            asyncStorage.logOpenStarted(player.getUniqueId(), crate.id(), resolveServerId(), createdAt);
         }
         session.start();
-        return true;
+    }
+
+    private void runOnMainThread(Runnable task) {
+        if (Bukkit.isPrimaryThread()) {
+            task.run();
+            return;
+        }
+        if (!plugin.isEnabled()) {
+            return;
+        }
+        Bukkit.getScheduler().runTask(plugin, task);
     }
 
     public boolean hasCratePermission(Player player, CrateDefinition crate) {
@@ -302,7 +445,6 @@ public class SessionManager {
             session.end();
             logVerbose("Sesion finalizada: jugador=%s", playerId);
         }
-        sessionRandoms.remove(playerId);
         clearCooldownDisplay(playerId);
     }
 
@@ -328,7 +470,8 @@ public class SessionManager {
             player.sendMessage(Component.text("No se encontró el pool de recompensas para esta crate."));
             return false;
         }
-        Random random = sessionRandoms.computeIfAbsent(player.getUniqueId(), key -> new Random());
+        long seed = randomSource.nextSeed();
+        RandomGenerator random = randomSource.generator(seed);
         String forcedRarityId = session.getForcedRarityId();
         List<Reward> rewards = forcedRarityId == null || forcedRarityId.isBlank()
                 ? rollRewards(rewardPool, random, buildRollLogger(player))
@@ -342,7 +485,7 @@ public class SessionManager {
             return false;
         }
         CutscenePath path = resolveCutscenePath(crate, rewards.getFirst(), player);
-        session.reroll(rewards, path);
+        session.reroll(rewards, path, seed);
         return true;
     }
 
@@ -356,7 +499,6 @@ public class SessionManager {
 
     public void removeSession(UUID playerId) {
         sessions.remove(playerId);
-        sessionRandoms.remove(playerId);
     }
 
     public void clearLocalState(UUID playerId) {
@@ -365,16 +507,17 @@ public class SessionManager {
         }
         cooldowns.remove(playerId);
         pendingRewards.remove(playerId);
+        loadedStates.remove(playerId);
+        stateLoads.remove(playerId);
         history.remove(playerId);
-        sessionRandoms.remove(playerId);
         clearCooldownDisplay(playerId);
     }
 
     public void clearStoredPlayerData(UUID playerId) {
-        if (storage == null || playerId == null) {
+        if (playerId == null) {
             return;
         }
-        storage.clearPlayerData(playerId);
+        asyncStorage.clearPlayerData(playerId);
     }
 
     public void handleSessionQuit(Player player, CrateSession session) {
@@ -447,31 +590,24 @@ public class SessionManager {
         return configLoader.getPaths().get(rarity.path());
     }
 
-    private List<Reward> rollRewards(RewardPool pool, Random random, RewardSelector.RewardRollLogger logger) {
+    private List<Reward> rollRewards(RewardPool pool, RandomGenerator random, RewardSelector.RewardRollLogger logger) {
         if (pool == null || pool.rewards().isEmpty()) {
             return List.of();
         }
-        List<Reward> results = new ArrayList<>();
         int rolls = Math.max(1, pool.rollCount());
-        List<Reward> available = pool.preventDuplicateItems() ? new ArrayList<>(pool.rewards()) : null;
+        if (pool.preventDuplicateItems()) {
+            return rollDistinctRewards(pool, pool.rewards(), rolls, true, random, logger);
+        }
+        List<Reward> results = new ArrayList<>();
+        List<Reward> candidates = pool.rewards();
+        WeightedTable<RarityDefinition> raritySampler = configLoader.getRaritySampler();
         for (int i = 0; i < rolls; i++) {
-            List<Reward> candidates = available != null ? available : pool.rewards();
-            if (candidates.isEmpty()) {
-                break;
-            }
-            RarityDefinition rarity = configLoader.getRarities().isEmpty()
-                    ? null
-                    : RaritySelector.select(configLoader.getRarities(), random);
-            List<Reward> rarityRewards = rarity == null ? List.of() : candidates.stream()
-                    .filter(reward -> matchesRarity(reward, rarity.id()))
-                    .toList();
+            RarityDefinition rarity = raritySampler.sample(random);
+            List<Reward> rarityRewards = rarity == null ? List.of() : pool.rewardsOfRarity(rarity.id());
             List<Reward> chosenPool = rarityRewards.isEmpty() ? candidates : rarityRewards;
             int index = random.nextInt(chosenPool.size());
             Reward reward = chosenPool.get(index);
             results.add(reward);
-            if (available != null) {
-                available.remove(reward);
-            }
             if (logger != null) {
                 logger.log(reward, index + 1, chosenPool.size());
             }
@@ -479,53 +615,47 @@ public class SessionManager {
         return results;
     }
 
+    private List<Reward> rollDistinctRewards(
+            RewardPool pool,
+            List<Reward> candidates,
+            int rolls,
+            boolean rollRarity,
+            RandomGenerator random,
+            RewardSelector.RewardRollLogger logger
+    ) {
+        WeightedTable<RarityDefinition> raritySampler = rollRarity ? configLoader.getRaritySampler() : null;
+        return RewardSelector.rollDistinctUniform(pool, candidates, rolls, raritySampler, random, logger);
+    }
+
     private List<Reward> rollRewardsByRarity(
             RewardPool pool,
             String rarityId,
-            Random random,
+            RandomGenerator random,
             RewardSelector.RewardRollLogger logger
     ) {
         if (pool == null || pool.rewards().isEmpty() || rarityId == null || rarityId.isBlank()) {
             return List.of();
         }
-        List<Reward> candidates = pool.rewards().stream()
-                .filter(reward -> matchesRarity(reward, rarityId))
-                .toList();
+        List<Reward> candidates = pool.rewardsOfRarity(rarityId);
         if (candidates.isEmpty()) {
             return List.of();
         }
-        List<Reward> results = new ArrayList<>();
         int rolls = Math.max(1, pool.rollCount());
-        List<Reward> available = pool.preventDuplicateItems() ? new ArrayList<>(candidates) : null;
+        if (pool.preventDuplicateItems()) {
+            return rollDistinctRewards(pool, candidates, rolls, false, random, logger);
+        }
+        List<Reward> results = new ArrayList<>();
         for (int i = 0; i < rolls; i++) {
-            List<Reward> chosenPool = available != null ? available : candidates;
-            if (chosenPool.isEmpty()) {
-                break;
-            }
-            int index = random.nextInt(chosenPool.size());
-            Reward reward = chosenPool.get(index);
+            int index = random.nextInt(candidates.size());
+            Reward reward = candidates.get(index);
             results.add(reward);
-            if (available != null) {
-                available.remove(reward);
-            }
             if (logger != null) {
-                logger.log(reward, index + 1, chosenPool.size());
+                logger.log(reward, index + 1, candidates.size());
             }
         }
         return results;
     }
 
-    private boolean matchesRarity(Reward reward, String rarityId) {
-        if (reward == null || rarityId == null) {
-            return false;
-        }
-        String rewardRarity = reward.rarity();
-        if (rewardRarity == null || rewardRarity.isBlank()) {
-            return false;
-        }
-        return rewardRarity.equalsIgnoreCase(rarityId);
-    }
-
     private RewardPool resolveRewardPool(CrateDefinition crate) {
         if (crate.rewardsPool() == null) {
             return null;
@@ -573,14 +703,31 @@ public class SessionManager {
                 return cached;
             }
         }
-        if (storage == null) {
+        if (loadedStates.contains(player.getUniqueId())) {
             return null;
         }
-        Instant stored = storage.getCooldown(player.getUniqueId(), crateId).orElse(null);
-        if (stored != null) {
-            cooldowns.computeIfAbsent(player.getUniqueId(), key -> new HashMap<>()).put(crateId, stored);
+        // Cache miss: warm the cache in the background instead of querying storage on the main thread.
+        UUID playerId = player.getUniqueId();
+        loadCooldownTimestamp(playerId, crateId).thenAcceptAsync(stored -> {
+            if (stored != null) {
+                cooldowns.computeIfAbsent(playerId, key -> new HashMap<>()).putIfAbsent(crateId, stored);
+            }
+        }, mainThreadExecutor);
+        return null;
+    }
+
+    private CompletableFuture<Instant> loadCooldownTimestamp(UUID playerId, String crateId) {
+        Map<String, Instant> userCooldowns = cooldowns.get(playerId);
+        if (userCooldowns != null) {
+            Instant cached = userCooldowns.get(crateId);
+            if (cached != null) {
+                return CompletableFuture.completedFuture(cached);
+            }
+        }
+        if (loadedStates.contains(playerId)) {
+            return CompletableFuture.completedFuture(null);
         }
-        return stored;
+        return asyncStorage.getCooldown(playerId, crateId).thenApply(stored -> stored.orElse(null));
     }
 
     private void applyCooldown(Player player, CrateDefinition crate) {
@@ -594,9 +741,7 @@ public class SessionManager {
         }
         Instant appliedAt = timestamp != null ? timestamp : Instant.now();
         cooldowns.computeIfAbsent(player.getUniqueId(), key -> new HashMap<>()).put(cooldownKey, appliedAt);
-        if (storage != null) {
-            storage.setCooldown(player.getUniqueId(), cooldownKey, appliedAt);
-        }
+        asyncStorage.setCooldown(player.getUniqueId(), cooldownKey, appliedAt);
         if (record && syncBridge != null) {
             recordHistory(player.getUniqueId(), historyCrateId, null, SyncEventType.COOLDOWN_SET, appliedAt);
             syncBridge.recordCooldown(player.getUniqueId(), historyCrateId, appliedAt);
@@ -611,15 +756,11 @@ public class SessionManager {
             if (userCooldowns != null) {
                 userCooldowns.remove(crateId);
             }
-            if (storage != null) {
-                storage.clearCooldown(playerId, crateId);
-            }
+            asyncStorage.clearCooldown(playerId, crateId);
             return;
         }
         cooldowns.computeIfAbsent(playerId, key -> new HashMap<>()).put(crateId, previous);
-        if (storage != null) {
-            storage.setCooldown(playerId, crateId, previous);
-        }
+        asyncStorage.setCooldown(playerId, crateId, previous);
     }
 
     private boolean hasKey(Player player, CrateDefinition crate) {
@@ -677,15 +818,17 @@ public class SessionManager {
     }
 
     public void clearCrateEffects(Player player) {
+        clearCrateEffects(player, true);
+    }
+
+    private void clearCrateEffects(Player player, boolean releaseLocks) {
         if (player == null) {
             return;
         }
         endSession(player.getUniqueId());
         removeSession(player.getUniqueId());
-        if (storage != null) {
-            for (String crateId : configLoader.getCrates().keySet()) {
-                storage.releaseLock(player.getUniqueId(), crateId);
-            }
+        if (releaseLocks) {
+            asyncStorage.releaseAllLocks(player.getUniqueId());
         }
         if (player.getGameMode() == GameMode.SPECTATOR) {
             player.setSpectatorTarget(null);
@@ -729,31 +872,36 @@ public class SessionManager {
     }
 
     public void completeOpen(Player player, CrateDefinition crate, Reward reward, OpenState openState) {
-        if (storage != null) {
-            storage.logOpen(player.getUniqueId(), crate.id(), reward.id(), resolveServerId(), Instant.now());
-            storage.recordDelivery(player.getUniqueId(), crate.id(), reward.id(), DeliveryStatus.COMPLETED, 1, Instant.now());
-            storage.markRewardDelivered(player.getUniqueId(), crate.id(), reward.id());
-            if (openState != null && openState.isLockAcquired() && !openState.isLockReleased()) {
-                storage.releaseLock(player.getUniqueId(), crate.id());
-                openState.markLockReleased();
-            }
+        UUID playerId = player.getUniqueId();
+        asyncStorage.logOpen(playerId, crate.id(), reward.id(), resolveServerId(), Instant.now());
+        asyncStorage.recordDelivery(playerId, crate.id(), reward.id(), DeliveryStatus.COMPLETED, 1, Instant.now());
+        asyncStorage.markRewardDelivered(playerId, crate.id(), reward.id());
+        if (openState != null && openState.isLockAcquired() && !openState.isLockReleased()) {
+            asyncStorage.releaseLock(playerId, crate.id());
+            openState.markLockReleased();
         }
         recordRewardGranted(player, crate, reward);
     }
 
-    public void logRewardConfirmation(Player player, CrateDefinition crate, Reward reward, int rerollsUsed) {
+    public void logRewardConfirmation(Player player, CrateDefinition crate, Reward reward, int rerollsUsed, long seed) {
         if (player == null || crate == null || reward == null) {
             return;
         }
         Instant timestamp = Instant.now();
+        // Non-replayable generators have no seed to log; never record a placeholder as if it were one.
+        Long loggedSeed = randomSource.isReplayable() ? seed : null;
         plugin.getLogger().info(() -> String.format(
-                "Recompensa confirmada: jugador=%s crate=%s reward=%s rerolls=%d timestamp=%s",
+                "Recompensa confirmada: jugador=%s crate=%s reward=%s rerolls=%d seed=%s timestamp=%s",
                 player.getName(),
                 crate.id(),
                 reward.id(),
                 rerollsUsed,
+                loggedSeed != null ? loggedSeed.toString() : "-",
                 timestamp
         ));
+        if (rewardLogger != null) {
+            rewardLogger.logReward(player, crate, reward, loggedSeed, timestamp);
+        }
     }
 
     public void handleSessionEnd(CrateSession session) {
@@ -765,8 +913,8 @@ public class SessionManager {
             return;
         }
         if (session.isRewardDelivered()) {
-            if (storage != null && openState.isLockAcquired() && !openState.isLockReleased()) {
-                storage.releaseLock(session.getPlayerId(), session.getCrateId());
+            if (openState.isLockAcquired() && !openState.isLockReleased()) {
+                asyncStorage.releaseLock(session.getPlayerId(), session.getCrateId());
                 openState.markLockReleased();
             }
             return;
@@ -781,8 +929,8 @@ public class SessionManager {
         if (openState.isKeyConsumed()) {
             restoreKey(session.getPlayer(), session.getCrate());
         }
-        if (storage != null && openState.isLockAcquired() && !openState.isLockReleased()) {
-            storage.releaseLock(session.getPlayerId(), session.getCrateId());
+        if (openState.isLockAcquired() && !openState.isLockReleased()) {
+            asyncStorage.releaseLock(session.getPlayerId(), session.getCrateId());
             openState.markLockReleased();
         }
     }
@@ -841,6 +989,64 @@ public class SessionManager {
     public void flushSyncCaches() {
         cooldowns.clear();
         pendingRewards.clear();
+        loadedStates.clear();
+        stateLoads.clear();
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            preloadPlayerState(player.getUniqueId());
+        }
+    }
+
+    /**
+     * Loads cooldowns and pending rewards for a player in one storage call and caches them.
+     * Safe to call from any thread; the cache itself is only touched on the main thread.
+     */
+    public CompletableFuture<Void> preloadPlayerState(UUID playerId) {
+        CompletableFuture<Void> load = new CompletableFuture<>();
+        CompletableFuture<Void> existing = stateLoads.putIfAbsent(playerId, load);
+        if (existing != null) {
+            return existing;
+        }
+        asyncStorage.loadPlayerState(playerId)
+                .thenAcceptAsync(snapshot -> applyPlayerState(playerId, snapshot, load), mainThreadExecutor)
+                .whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        stateLoads.remove(playerId, load);
+                        plugin.getLogger().warning("No se pudo precargar el estado de " + playerId + ": " + error.getMessage());
+                    }
+                    load.complete(null);
+                });
+        return load;
+    }
+
+    public void evictPlayerState(UUID playerId) {
+        if (playerId == null) {
+            return;
+        }
+        stateLoads.remove(playerId);
+        loadedStates.remove(playerId);
+        cooldowns.remove(playerId);
+        pendingRewards.remove(playerId);
+    }
+
+    public boolean isPlayerStateLoaded(UUID playerId) {
+        return loadedStates.contains(playerId);
+    }
+
+    private void applyPlayerState(UUID playerId, PlayerStateSnapshot snapshot, CompletableFuture<Void> load) {
+        if (stateLoads.get(playerId) != load) {
+            // Evicted while loading (quit or denied login).
+            return;
+        }
+        // Values written while the load was in flight are newer than the snapshot, so they win.
+        Map<String, Instant> userCooldowns = cooldowns.computeIfAbsent(playerId, key -> new HashMap<>());
+        snapshot.cooldowns().forEach(userCooldowns::putIfAbsent);
+        Map<String, String> userPending = pendingRewards.computeIfAbsent(playerId, key -> new HashMap<>());
+        for (PendingReward pending : snapshot.pendingRewards()) {
+            if (pending.status() == RewardDeliveryStatus.PENDING) {
+                userPending.putIfAbsent(pending.crateId(), pending.rewardId());
+            }
+        }
+        loadedStates.add(playerId);
     }
 
     private boolean hasPendingReward(UUID playerId, String crateId) {
@@ -852,11 +1058,16 @@ public class SessionManager {
     }
 
     public StorageMigrationReport migrateStorage(StorageTarget target) {
-        StorageSettings settings = StorageSettings.fromConfig(configLoader.getMainConfig());
+        StorageSettings settings = loadStorageSettings();
         StorageMigrator migrator = new StorageMigrator();
         return migrator.migrate(storage, settings, target, plugin.getLogger());
     }
 
+    private StorageSettings loadStorageSettings() {
+        StorageSettings settings = StorageSettings.fromConfig(configLoader.getMainConfig());
+        return settings.withServerId(StorageServerId.resolve(settings.serverId(), plugin.getDataFolder(), plugin.getLogger()));
+    }
+
     public boolean isStorageEnabled() {
         return storageEnabled;
     }
@@ -865,29 +1076,71 @@ public class SessionManager {
         return storage;
     }
 
-    public List<CrateOpenEntry> getOpenHistory(UUID playerId, OpenHistoryFilter filter, int limit, int offset) {
-        if (storage == null) {
-            return List.of();
+    public AsyncCrateStorage getAsyncStorage() {
+        return asyncStorage;
+    }
+
+    SessionTicker getTicker() {
+        return ticker;
+    }
+
+    public DisplayPool getDisplayPool() {
+        return displayPool;
+    }
+
+    void recordCameraFrames(long sent, long skipped) {
+        cameraFramesSent += sent;
+        cameraFramesSkipped += skipped;
+    }
+
+    public List<String> getTickerStatusLines() {
+        List<String> lines = new ArrayList<>();
+        lines.add("Sessions: active=" + sessions.size() + " pending-opens=" + pendingOpens.size());
+        lines.addAll(ticker.getStatusLines());
+        long frames = cameraFramesSent + cameraFramesSkipped;
+        lines.add(String.format(Locale.ROOT, "Camera frames: sent=%d skipped=%d (%.1f%%)",
+                cameraFramesSent, cameraFramesSkipped, frames == 0 ? 0.0 : cameraFramesSkipped * 100.0 / frames));
+        lines.addAll(displayPool.getStatusLines());
+        ProtocolEntityHider protocolEntityHider = plugin.getProtocolEntityHider();
+        if (protocolEntityHider != null) {
+            lines.addAll(protocolEntityHider.getStatusLines());
         }
-        return storage.getOpenHistory(playerId, filter, limit, offset);
+        return lines;
     }
 
-    public List<CrateHistoryEntry> getHistory(UUID playerId, String crateId, int limit, int offset) {
+    public List<String> getStorageStatusLines() {
+        List<String> lines = new ArrayList<>();
+        if (storage instanceof StorageFallback fallback) {
+            lines.addAll(fallback.getStatusLines());
+        } else {
+            lines.add("Modo: local");
+        }
+        lines.addAll(asyncStorage.getStatusLines());
+        lines.add("Player cache: loaded=" + loadedStates.size() + " loading=" + (stateLoads.size() - loadedStates.size()));
+        return lines;
+    }
+
+    public CompletableFuture<List<CrateOpenEntry>> getOpenHistory(UUID playerId, OpenHistoryFilter filter, int limit) {
+        if (asyncStorage == null) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        return asyncStorage.getOpenHistory(playerId, filter, limit);
+    }
+
+    public List<CrateHistoryEntry> getHistory(UUID playerId, String crateId, HistoryCursor before, int limit) {
         if (syncBridge != null && syncBridge.isHistoryAvailable()) {
-            return syncBridge.getHistory(playerId, crateId, limit, offset);
+            return syncBridge.getHistory(playerId, crateId, before, limit);
         }
         Deque<CrateHistoryEntry> entries = history.get(playerId);
         if (entries == null || entries.isEmpty() || limit <= 0) {
             return List.of();
         }
         List<CrateHistoryEntry> filtered = new java.util.ArrayList<>();
-        int skipped = 0;
         for (CrateHistoryEntry entry : entries) {
             if (crateId != null && !crateId.isEmpty() && !crateId.equalsIgnoreCase(entry.crateId())) {
                 continue;
             }
-            if (skipped < offset) {
-                skipped++;
+            if (before != null && !before.precedes(entry.timestamp(), entry.id())) {
                 continue;
             }
             filtered.add(entry);
@@ -915,9 +1168,7 @@ public class SessionManager {
         if (player == null || crate == null || reward == null) {
             return;
         }
-        if (storage != null) {
-            storage.setPendingReward(player.getUniqueId(), crate.id(), reward.id());
-        }
+        asyncStorage.setPendingReward(player.getUniqueId(), crate.id(), reward.id());
         pendingRewards.computeIfAbsent(player.getUniqueId(), key -> new HashMap<>()).put(crate.id(), reward.id());
     }
 
@@ -925,25 +1176,23 @@ public class SessionManager {
         if (player == null || crate == null || reward == null) {
             return;
         }
-        if (storage != null) {
-            storage.setPendingReward(player.getUniqueId(), crate.id(), reward.id());
-        }
+        asyncStorage.setPendingReward(player.getUniqueId(), crate.id(), reward.id());
         pendingRewards.computeIfAbsent(player.getUniqueId(), key -> new HashMap<>()).put(crate.id(), reward.id());
     }
 
     public void recordDeliveryStarted(Player player, CrateDefinition crate, Reward reward, int attempt) {
-        if (storage == null || player == null || crate == null || reward == null) {
+        if (player == null || crate == null || reward == null) {
             return;
         }
-        storage.recordDelivery(player.getUniqueId(), crate.id(), reward.id(), DeliveryStatus.STARTED, attempt, Instant.now());
+        asyncStorage.recordDelivery(player.getUniqueId(), crate.id(), reward.id(), DeliveryStatus.STARTED, attempt, Instant.now());
     }
 
     public void recordDeliveryPending(Player player, CrateDefinition crate, Reward reward, int attempt) {
-        if (storage == null || player == null || crate == null || reward == null) {
+        if (player == null || crate == null || reward == null) {
             return;
         }
-        storage.recordDelivery(player.getUniqueId(), crate.id(), reward.id(), DeliveryStatus.PENDING, attempt, Instant.now());
-        storage.setPendingReward(player.getUniqueId(), crate.id(), reward.id());
+        asyncStorage.recordDelivery(player.getUniqueId(), crate.id(), reward.id(), DeliveryStatus.PENDING, attempt, Instant.now());
+        asyncStorage.setPendingReward(player.getUniqueId(), crate.id(), reward.id());
         pendingRewards.computeIfAbsent(player.getUniqueId(), key -> new HashMap<>()).put(crate.id(), reward.id());
     }
 
@@ -952,7 +1201,7 @@ public class SessionManager {
             return;
         }
         Deque<CrateHistoryEntry> entries = history.computeIfAbsent(playerId, key -> new ArrayDeque<>());
-        entries.addFirst(new CrateHistoryEntry(type, playerId, crateId, rewardId, timestamp, serverId));
+        entries.addFirst(new CrateHistoryEntry(type, playerId, crateId, rewardId, timestamp, serverId, ++historySequence));
         while (entries.size() > HISTORY_LIMIT) {
             entries.removeLast();
         }
@@ -1068,4 +1317,7 @@ public class SessionManager {
         String stored = container.get(keyMarker, PersistentDataType.STRING);
         return stored != null && stored.equalsIgnoreCase(crate.id());
     }
+
+    private record OpenPreconditions(boolean lockAcquired, Instant previousCooldown) {
+    }
 }
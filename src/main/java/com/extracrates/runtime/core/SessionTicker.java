@@ -0,0 +1,235 @@
+package com.extracrates.runtime.core;
+
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Drives every crate session from a single repeating Bukkit task. Repeating jobs and one-shot deadlines share a
+ * hashed timer wheel keyed by due tick, so a tick only touches the jobs that are due; cancelled jobs are dropped
+ * lazily when their slot comes round. Time spent per {@link Category} is accumulated for {@link #getStatusLines()}.
+ */
+final class SessionTicker {
+    private static final int WHEEL_SIZE = 256;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int WINDOW_TICKS = 20;
+
+    private final Logger logger;
+    private final List<Task>[] wheel;
+    private final List<Task> due = new ArrayList<>();
+    private final BukkitRunnable driver;
+    private long currentTick;
+    private int scheduled;
+
+    private final long[] windowNanos = new long[Category.values().length];
+    private final int[] windowRuns = new int[Category.values().length];
+    private final long[] lastWindowNanos = new long[Category.values().length];
+    private final int[] lastWindowRuns = new int[Category.values().length];
+    private long windowTickNanos;
+    private long windowMaxTickNanos;
+    private long lastWindowTickNanos;
+    private long lastWindowMaxTickNanos;
+    private long totalRuns;
+    private long failures;
+
+    @SuppressWarnings("unchecked")
+    SessionTicker(Plugin plugin, Logger logger) {
+        this.logger = logger;
+        this.wheel = new List[WHEEL_SIZE];
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel[i] = new ArrayList<>();
+        }
+        this.driver = new BukkitRunnable() {
+            @Override
+            public void run() {
+                tick();
+            }
+        };
+        driver.runTaskTimer(plugin, 1L, 1L);
+    }
+
+    /**
+     * Runs {@code task} once after {@code delayTicks} (at least one tick).
+     */
+    Task schedule(Category category, Task task, long delayTicks) {
+        return enqueue(category, task, delayTicks, 0L);
+    }
+
+    /**
+     * Runs {@code task} after {@code delayTicks} and then every {@code periodTicks} until it is cancelled.
+     */
+    Task repeat(Category category, Task task, long delayTicks, long periodTicks) {
+        return enqueue(category, task, delayTicks, Math.max(1L, periodTicks));
+    }
+
+    void shutdown() {
+        driver.cancel();
+        for (List<Task> slot : wheel) {
+            slot.forEach(task -> task.cancelled = true);
+            slot.clear();
+        }
+        scheduled = 0;
+    }
+
+    List<String> getStatusLines() {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format(Locale.ROOT, "Ticker: tasks=%d tick=%d runs=%d failures=%d",
+                scheduled, currentTick, totalRuns, failures));
+        lines.add(String.format(Locale.ROOT, "Ticker: last %d ticks avg=%.1fus max=%.1fus",
+                WINDOW_TICKS,
+                micros(lastWindowTickNanos) / WINDOW_TICKS,
+                micros(lastWindowMaxTickNanos)));
+        StringBuilder perCategory = new StringBuilder("Ticker:");
+        for (Category category : Category.values()) {
+            int index = category.ordinal();
+            perCategory.append(String.format(Locale.ROOT, " %s=%.1fus/%d",
+                    category.label, micros(lastWindowNanos[index]) / WINDOW_TICKS, lastWindowRuns[index]));
+        }
+        lines.add(perCategory.toString());
+        return lines;
+    }
+
+    private Task enqueue(Category category, Task task, long delayTicks, long periodTicks) {
+        if (task.scheduled) {
+            throw new IllegalStateException("La tarea ya está programada");
+        }
+        task.category = category;
+        task.period = periodTicks;
+        task.cancelled = false;
+        task.scheduled = true;
+        scheduled++;
+        insert(task, currentTick + Math.max(1L, delayTicks));
+        return task;
+    }
+
+    private void insert(Task task, long dueTick) {
+        task.dueTick = dueTick;
+        wheel[(int) (dueTick & WHEEL_MASK)].add(task);
+    }
+
+    private void tick() {
+        long start = System.nanoTime();
+        currentTick++;
+        List<Task> slot = wheel[(int) (currentTick & WHEEL_MASK)];
+        int size = slot.size();
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            Task task = slot.get(i);
+            if (task.cancelled) {
+                release(task);
+            } else if (task.dueTick > currentTick) {
+                // Not due this lap of the wheel.
+                slot.set(kept++, task);
+            } else {
+                due.add(task);
+            }
+        }
+        slot.subList(kept, size).clear();
+        for (int i = 0; i < due.size(); i++) {
+            run(due.get(i));
+        }
+        due.clear();
+        long elapsed = System.nanoTime() - start;
+        windowTickNanos += elapsed;
+        windowMaxTickNanos = Math.max(windowMaxTickNanos, elapsed);
+        if (currentTick % WINDOW_TICKS == 0) {
+            rollWindow();
+        }
+    }
+
+    private void run(Task task) {
+        if (task.cancelled) {
+            release(task);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            task.run();
+        } catch (RuntimeException ex) {
+            failures++;
+            task.cancelled = true;
+            logger.log(Level.WARNING, "Error en tarea de sesión (" + task.category.label + ")", ex);
+        }
+        int index = task.category.ordinal();
+        windowNanos[index] += System.nanoTime() - start;
+        windowRuns[index]++;
+        totalRuns++;
+        if (!task.cancelled && task.period > 0) {
+            insert(task, currentTick + task.period);
+        } else {
+            release(task);
+        }
+    }
+
+    private void release(Task task) {
+        if (task.scheduled) {
+            task.scheduled = false;
+            scheduled--;
+        }
+    }
+
+    private void rollWindow() {
+        System.arraycopy(windowNanos, 0, lastWindowNanos, 0, windowNanos.length);
+        System.arraycopy(windowRuns, 0, lastWindowRuns, 0, windowRuns.length);
+        Arrays.fill(windowNanos, 0L);
+        Arrays.fill(windowRuns, 0);
+        lastWindowTickNanos = windowTickNanos;
+        lastWindowMaxTickNanos = windowMaxTickNanos;
+        windowTickNanos = 0L;
+        windowMaxTickNanos = 0L;
+    }
+
+    private static double micros(long nanos) {
+        return nanos / (double) TimeUnit.MICROSECONDS.toNanos(1);
+    }
+
+    enum Category {
+        CUTSCENE("cutscene"),
+        REWARD_ANIMATION("reward-animation"),
+        MUSIC("music"),
+        WATCHDOG("watchdog"),
+        TIMEOUT("timeout"),
+        AUTO_CONFIRM("auto-confirm");
+
+        private final String label;
+
+        Category(String label) {
+            this.label = label;
+        }
+    }
+
+    /**
+     * A job run by the ticker. Like {@link BukkitRunnable} it can cancel itself from {@link #run()}.
+     */
+    abstract static class Task implements Runnable {
+        private Category category;
+        private long period;
+        private long dueTick;
+        private boolean cancelled;
+        private boolean scheduled;
+
+        void cancel() {
+            cancelled = true;
+        }
+
+        /**
+         * Changes the period of a repeating task; called from {@link #run()} it applies from the next run.
+         */
+        void setPeriod(long periodTicks) {
+            if (period > 0) {
+                period = Math.max(1L, periodTicks);
+            }
+        }
+
+        boolean isCancelled() {
+            return cancelled || !scheduled;
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.extracrates.storage;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+public class AsyncCrateStorage {
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 10000L;
+    private static final long OVER_LIMIT_WARNING_MILLIS = 30000L;
+    private static final CompletableFuture<Void> COMPLETED = CompletableFuture.completedFuture(null);
+
+    private final CrateStorage delegate;
+    private final Logger logger;
+    private final ExecutorService executorService;
+    private final Executor executor;
+    private final LinkedBlockingQueue<Runnable> queue;
+    private final int queueWarnSize;
+    private final AtomicInteger peakDepth = new AtomicInteger();
+    private final AtomicLong overLimit = new AtomicLong();
+    private final AtomicLong lastOverLimitWarning = new AtomicLong();
+    // Last queued operation per player, so writes for the same player keep their call order.
+    private final Map<UUID, CompletableFuture<?>> tails = new HashMap<>();
+
+    public AsyncCrateStorage(CrateStorage delegate, StorageSettings settings, Logger logger) {
+        this.delegate = delegate;
+        this.logger = logger;
+        if (delegate instanceof LocalStorage) {
+            // Pure in-memory storage: no I/O to offload, run inline.
+            this.executorService = null;
+            this.executor = Runnable::run;
+            this.queue = null;
+            this.queueWarnSize = 0;
+            return;
+        }
+        int threads = Math.max(1, settings.asyncThreads());
+        this.queueWarnSize = Math.max(1, settings.asyncQueueSize());
+        // Unbounded on purpose: the submitter is usually the main thread, which must never run SQL itself, and
+        // dropping queued writes would lose deliveries. queue-size only marks the depth worth warning about.
+        this.queue = new LinkedBlockingQueue<>();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                threads,
+                threads,
+                60L,
+                TimeUnit.SECONDS,
+                queue,
+                new StorageThreadFactory()
+        );
+        pool.allowCoreThreadTimeOut(true);
+        this.executorService = pool;
+        this.executor = task -> {
+            pool.execute(task);
+            trackDepth();
+        };
+    }
+
+    public CrateStorage delegate() {
+        return delegate;
+    }
+
+    public List<String> getStatusLines() {
+        List<String> lines = new ArrayList<>();
+        if (queue == null) {
+            return lines;
+        }
+        lines.add("Async queue: depth=" + queue.size() + " peak=" + peakDepth.get() + " warn-at=" + queueWarnSize
+                + " over-limit=" + overLimit.get());
+        return lines;
+    }
+
+    public CompletableFuture<Optional<Instant>> getCooldown(UUID playerId, String crateId) {
+        return submit(playerId, () -> delegate.getCooldown(playerId, crateId));
+    }
+
+    public CompletableFuture<Void> setCooldown(UUID playerId, String crateId, Instant timestamp) {
+        return run(playerId, () -> delegate.setCooldown(playerId, crateId, timestamp));
+    }
+
+    public CompletableFuture<Void> clearCooldown(UUID playerId, String crateId) {
+        return run(playerId, () -> delegate.clearCooldown(playerId, crateId));
+    }
+
+    public CompletableFuture<PlayerStateSnapshot> loadPlayerState(UUID playerId) {
+        return submit(playerId, () -> delegate.loadPlayerState(playerId));
+    }
+
+    public CompletableFuture<Integer> getKeyCount(UUID playerId, String crateId) {
+        return submit(playerId, () -> delegate.getKeyCount(playerId, crateId));
+    }
+
+    public CompletableFuture<Boolean> consumeKey(UUID playerId, String crateId) {
+        return submit(playerId, () -> delegate.consumeKey(playerId, crateId));
+    }
+
+    public CompletableFuture<Void> addKey(UUID playerId, String crateId, int amount) {
+        return run(playerId, () -> delegate.addKey(playerId, crateId, amount));
+    }
+
+    public CompletableFuture<Void> logOpen(UUID playerId, String crateId, String rewardId, String serverId, Instant timestamp) {
+        return run(playerId, () -> delegate.logOpen(playerId, crateId, rewardId, serverId, timestamp));
+    }
+
+    public CompletableFuture<Void> logOpenStarted(UUID playerId, String crateId, String serverId, Instant timestamp) {
+        return run(playerId, () -> delegate.logOpenStarted(playerId, crateId, serverId, timestamp));
+    }
+
+    public CompletableFuture<Void> recordDelivery(
+            UUID playerId,
+            String crateId,
+            String rewardId,
+            DeliveryStatus status,
+            int attempt,
+            Instant timestamp
+    ) {
+        return run(playerId, () -> delegate.recordDelivery(playerId, crateId, rewardId, status, attempt, timestamp));
+    }
+
+    public CompletableFuture<Boolean> acquireLock(UUID playerId, String crateId) {
+        return submit(playerId, () -> delegate.acquireLock(playerId, crateId));
+    }
+
+    public CompletableFuture<Void> releaseLock(UUID playerId, String crateId) {
+        return run(playerId, () -> delegate.releaseLock(playerId, crateId));
+    }
+
+    public CompletableFuture<Void> releaseAllLocks(UUID playerId) {
+        return run(playerId, () -> delegate.releaseAllLocks(playerId));
+    }
+
+    public CompletableFuture<Void> releaseAllLocks(Collection<UUID> playerIds) {
+        List<UUID> ids = List.copyOf(playerIds);
+        if (ids.isEmpty()) {
+            return COMPLETED;
+        }
+        CompletableFuture<Void> next;
+        synchronized (tails) {
+            // Runs after every queued operation of the affected players, and before their later ones.
+            CompletableFuture<?>[] previous = ids.stream()
+                    .map(id -> tails.getOrDefault(id, COMPLETED).handle((ignored, error) -> null))
+                    .toArray(CompletableFuture[]::new);
+            next = CompletableFuture.allOf(previous).thenRunAsync(() -> delegate.releaseAllLocks(ids), executor);
+            for (UUID id : ids) {
+                tails.put(id, next);
+            }
+        }
+        CompletableFuture<Void> queued = next;
+        queued.whenComplete((result, error) -> {
+            synchronized (tails) {
+                for (UUID id : ids) {
+                    tails.remove(id, queued);
+                }
+            }
+            if (error != null) {
+                logger.warning("Storage async: error liberando locks de " + ids.size() + " jugadores: " + rootMessage(error));
+            }
+        });
+        return queued;
+    }
+
+    public CompletableFuture<Void> renewLocks(Collection<UUID> playerIds) {
+        List<UUID> ids = List.copyOf(playerIds);
+        if (ids.isEmpty()) {
+            return COMPLETED;
+        }
+        // Heartbeats only extend leases, they do not need per-player ordering.
+        return CompletableFuture.runAsync(() -> delegate.renewLocks(ids), executor).whenComplete((result, error) -> {
+            if (error != null) {
+                logger.warning("Storage async: error renovando locks: " + rootMessage(error));
+            }
+        });
+    }
+
+    public CompletableFuture<Integer> sweepExpiredLocks() {
+        return CompletableFuture.supplyAsync(delegate::sweepExpiredLocks, executor).whenComplete((result, error) -> {
+            if (error != null) {
+                logger.warning("Storage async: error limpiando locks expirados: " + rootMessage(error));
+            }
+        });
+    }
+
+    public CompletableFuture<List<CrateOpenEntry>> getOpenHistory(UUID playerId, OpenHistoryFilter filter, int limit) {
+        return submit(playerId, () -> delegate.getOpenHistory(playerId, filter, limit));
+    }
+
+    public CompletableFuture<Optional<PendingReward>> getPendingReward(UUID playerId) {
+        return submit(playerId, () -> delegate.getPendingReward(playerId));
+    }
+
+    public CompletableFuture<Void> setPendingReward(UUID playerId, String crateId, String rewardId) {
+        return run(playerId, () -> delegate.setPendingReward(playerId, crateId, rewardId));
+    }
+
+    public CompletableFuture<Void> markRewardDelivered(UUID playerId, String crateId, String rewardId) {
+        return run(playerId, () -> delegate.markRewardDelivered(playerId, crateId, rewardId));
+    }
+
+    public CompletableFuture<Void> clearPlayerData(UUID playerId) {
+        return run(playerId, () -> delegate.clearPlayerData(playerId));
+    }
+
+    public void close() {
+        if (executorService != null) {
+            executorService.shutdown();
+            try {
+                if (!executorService.awaitTermination(SHUTDOWN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    logger.warning("Storage async: timeout drenando operaciones pendientes, cancelando.");
+                    executorService.shutdownNow();
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                executorService.shutdownNow();
+            }
+        }
+        delegate.close();
+    }
+
+    private CompletableFuture<Void> run(UUID playerId, Runnable call) {
+        return submit(playerId, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    private <T> CompletableFuture<T> submit(UUID playerId, Supplier<T> call) {
+        CompletableFuture<T> next;
+        synchronized (tails) {
+            CompletableFuture<?> previous = tails.getOrDefault(playerId, COMPLETED);
+            next = previous.handle((ignored, error) -> null).thenApplyAsync(ignored -> call.get(), executor);
+            tails.put(playerId, next);
+        }
+        CompletableFuture<T> queued = next;
+        queued.whenComplete((result, error) -> {
+            synchronized (tails) {
+                tails.remove(playerId, queued);
+            }
+            if (error != null) {
+                logger.warning("Storage async: error en operación para " + playerId + ": " + rootMessage(error));
+            }
+        });
+        return queued;
+    }
+
+    private void trackDepth() {
+        int depth = queue.size();
+        peakDepth.accumulateAndGet(depth, Math::max);
+        if (depth <= queueWarnSize) {
+            return;
+        }
+        overLimit.incrementAndGet();
+        long now = System.currentTimeMillis();
+        long last = lastOverLimitWarning.get();
+        if (now - last >= OVER_LIMIT_WARNING_MILLIS && lastOverLimitWarning.compareAndSet(last, now)) {
+            logger.warning("Storage async: cola con " + depth + " operaciones pendientes (aviso a partir de "
+                    + queueWarnSize + "), la base de datos no da abasto.");
+        }
+    }
+
+    private String rootMessage(Throwable error) {
+        Throwable cause = error;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage();
+    }
+
+    private static class StorageThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "ExtraCrates-Storage-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -8,6 +8,10 @@ public record CrateOpenEntry(
         String crateId,
         String rewardId,
         String serverId,
-        Instant openedAt
+        Instant openedAt,
+        long id
 ) {
+    public HistoryCursor cursor() {
+        return new HistoryCursor(openedAt, id);
+    }
 }
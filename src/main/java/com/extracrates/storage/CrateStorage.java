@@ -1,6 +1,7 @@
 package com.extracrates.storage;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -12,6 +13,8 @@ public interface CrateStorage {
 
     void clearCooldown(UUID playerId, String crateId);
 
+    PlayerStateSnapshot loadPlayerState(UUID playerId);
+
     int getKeyCount(UUID playerId, String crateId);
 
     boolean consumeKey(UUID playerId, String crateId);
@@ -28,7 +31,19 @@ public interface CrateStorage {
 
     void releaseLock(UUID playerId, String crateId);
 
-    List<CrateOpenEntry> getOpenHistory(UUID playerId, OpenHistoryFilter filter, int limit, int offset);
+    void releaseAllLocks(UUID playerId);
+
+    void releaseAllLocks(Collection<UUID> playerIds);
+
+    void renewLocks(Collection<UUID> playerIds);
+
+    int sweepExpiredLocks();
+
+    /**
+     * Returns up to {@code limit} opens, newest first. Pass the cursor of the last entry of a page
+     * through {@link OpenHistoryFilter#before(HistoryCursor)} to read the next one.
+     */
+    List<CrateOpenEntry> getOpenHistory(UUID playerId, OpenHistoryFilter filter, int limit);
 
     Optional<PendingReward> getPendingReward(UUID playerId);
 
@@ -0,0 +1,14 @@
+package com.extracrates.storage;
+
+import java.time.Instant;
+
+/**
+ * Keyset position in a history listing ordered by {@code (timestamp DESC, id DESC)}.
+ * A page read with a cursor returns only rows strictly older than it.
+ */
+public record HistoryCursor(Instant timestamp, long id) {
+    public boolean precedes(Instant otherTimestamp, long otherId) {
+        int compare = otherTimestamp.compareTo(timestamp);
+        return compare < 0 || (compare == 0 && otherId < id);
+    }
+}
@@ -2,6 +2,7 @@ package com.extracrates.storage;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -18,9 +19,10 @@ public class LocalStorage implements CrateStorage {
     private final Map<UUID, List<CrateOpenEntry>> openHistory = new HashMap<>();
     private final Map<UUID, List<CrateOpenStartedEntry>> openStarts = new HashMap<>();
     private final Map<UUID, Map<String, PendingReward>> pendingRewards = new HashMap<>();
+    private long nextOpenId = 1;
 
     @Override
-    public Optional<Instant> getCooldown(UUID playerId, String crateId) {
+    public synchronized Optional<Instant> getCooldown(UUID playerId, String crateId) {
         Map<String, Instant> userCooldowns = cooldowns.get(playerId);
         if (userCooldowns == null) {
             return Optional.empty();
@@ -29,12 +31,12 @@ public class LocalStorage implements CrateStorage {
     }
 
     @Override
-    public void setCooldown(UUID playerId, String crateId, Instant timestamp) {
+    public synchronized void setCooldown(UUID playerId, String crateId, Instant timestamp) {
         cooldowns.computeIfAbsent(playerId, key -> new HashMap<>()).put(crateId, timestamp);
     }
 
     @Override
-    public void clearCooldown(UUID playerId, String crateId) {
+    public synchronized void clearCooldown(UUID playerId, String crateId) {
         Map<String, Instant> userCooldowns = cooldowns.get(playerId);
         if (userCooldowns != null) {
             userCooldowns.remove(crateId);
@@ -42,7 +44,16 @@ public class LocalStorage implements CrateStorage {
     }
 
     @Override
-    public int getKeyCount(UUID playerId, String crateId) {
+    public synchronized PlayerStateSnapshot loadPlayerState(UUID playerId) {
+        Map<String, PendingReward> userPending = pendingRewards.getOrDefault(playerId, Map.of());
+        return new PlayerStateSnapshot(
+                new HashMap<>(cooldowns.getOrDefault(playerId, Map.of())),
+                new ArrayList<>(userPending.values())
+        );
+    }
+
+    @Override
+    public synchronized int getKeyCount(UUID playerId, String crateId) {
         Map<String, Integer> userKeys = keys.get(playerId);
         if (userKeys == null) {
             return 0;
@@ -51,7 +62,7 @@ public class LocalStorage implements CrateStorage {
     }
 
     @Override
-    public boolean consumeKey(UUID playerId, String crateId) {
+    public synchronized boolean consumeKey(UUID playerId, String crateId) {
         Map<String, Integer> userKeys = keys.get(playerId);
         if (userKeys == null) {
             return false;
@@ -70,7 +81,7 @@ public class LocalStorage implements CrateStorage {
     }
 
     @Override
-    public void addKey(UUID playerId, String crateId, int amount) {
+    public synchronized void addKey(UUID playerId, String crateId, int amount) {
         if (amount <= 0) {
             return;
         }
@@ -79,16 +90,16 @@ public class LocalStorage implements CrateStorage {
     }
 
     @Override
-    public void logOpen(UUID playerId, String crateId, String rewardId, String serverId, Instant timestamp) {
+    public synchronized void logOpen(UUID playerId, String crateId, String rewardId, String serverId, Instant timestamp) {
         List<CrateOpenEntry> entries = openHistory.computeIfAbsent(playerId, key -> new ArrayList<>());
-        entries.add(0, new CrateOpenEntry(playerId, crateId, rewardId, serverId, timestamp));
+        entries.add(0, new CrateOpenEntry(playerId, crateId, rewardId, serverId, timestamp, nextOpenId++));
         if (entries.size() > MAX_HISTORY) {
             entries.remove(entries.size() - 1);
         }
     }
 
     @Override
-    public void logOpenStarted(UUID playerId, String crateId, String serverId, Instant timestamp) {
+    public synchronized void logOpenStarted(UUID playerId, String crateId, String serverId, Instant timestamp) {
         List<CrateOpenStartedEntry> entries = openStarts.computeIfAbsent(playerId, key -> new ArrayList<>());
         entries.add(0, new CrateOpenStartedEntry(playerId, crateId, serverId, timestamp));
         if (entries.size() > MAX_HISTORY) {
@@ -97,7 +108,7 @@ public class LocalStorage implements CrateStorage {
     }
 
     @Override
-    public List<CrateOpenEntry> getOpenHistory(UUID playerId, OpenHistoryFilter filter, int limit, int offset) {
+    public synchronized List<CrateOpenEntry> getOpenHistory(UUID playerId, OpenHistoryFilter filter, int limit) {
         if (limit <= 0) {
             return List.of();
         }
@@ -107,15 +118,10 @@ public class LocalStorage implements CrateStorage {
         }
         OpenHistoryFilter safeFilter = filter != null ? filter : OpenHistoryFilter.none();
         List<CrateOpenEntry> result = new ArrayList<>();
-        int skipped = 0;
         for (CrateOpenEntry entry : entries) {
             if (!safeFilter.matches(entry)) {
                 continue;
             }
-            if (skipped < offset) {
-                skipped++;
-                continue;
-            }
             result.add(entry);
             if (result.size() >= limit) {
                 break;
@@ -125,7 +131,7 @@ public class LocalStorage implements CrateStorage {
     }
 
     @Override
-    public Optional<PendingReward> getPendingReward(UUID playerId) {
+    public synchronized Optional<PendingReward> getPendingReward(UUID playerId) {
         Map<String, PendingReward> userPending = pendingRewards.get(playerId);
         if (userPending == null) {
             return Optional.empty();
@@ -135,13 +141,13 @@ public class LocalStorage implements CrateStorage {
     }
 
     @Override
-    public void setPendingReward(UUID playerId, String crateId, String rewardId) {
+    public synchronized void setPendingReward(UUID playerId, String crateId, String rewardId) {
         pendingRewards.computeIfAbsent(playerId, key -> new HashMap<>())
                 .put(crateId, new PendingReward(crateId, rewardId, RewardDeliveryStatus.PENDING, Instant.now()));
     }
 
     @Override
-    public void markRewardDelivered(UUID playerId, String crateId, String rewardId) {
+    public synchronized void markRewardDelivered(UUID playerId, String crateId, String rewardId) {
         Map<String, PendingReward> userPending = pendingRewards.computeIfAbsent(playerId, key -> new HashMap<>());
         PendingReward existing = userPending.get(crateId);
         if (existing != null && existing.status() == RewardDeliveryStatus.DELIVERED) {
@@ -151,7 +157,7 @@ public class LocalStorage implements CrateStorage {
     }
 
     @Override
-    public void clearPlayerData(UUID playerId) {
+    public synchronized void clearPlayerData(UUID playerId) {
         if (playerId == null) {
             return;
         }
@@ -165,7 +171,7 @@ public class LocalStorage implements CrateStorage {
     }
 
     @Override
-    public void recordDelivery(UUID playerId, String crateId, String rewardId, DeliveryStatus status, int attempt, Instant timestamp) {
+    public synchronized void recordDelivery(UUID playerId, String crateId, String rewardId, DeliveryStatus status, int attempt, Instant timestamp) {
         deliveries
                 .computeIfAbsent(playerId, key -> new HashMap<>())
                 .computeIfAbsent(crateId, key -> new HashMap<>())
@@ -173,7 +179,7 @@ public class LocalStorage implements CrateStorage {
     }
 
     @Override
-    public boolean acquireLock(UUID playerId, String crateId) {
+    public synchronized boolean acquireLock(UUID playerId, String crateId) {
         Map<String, Instant> userLocks = locks.computeIfAbsent(playerId, key -> new HashMap<>());
         if (userLocks.containsKey(crateId)) {
             return false;
@@ -183,7 +189,7 @@ public class LocalStorage implements CrateStorage {
     }
 
     @Override
-    public void releaseLock(UUID playerId, String crateId) {
+    public synchronized void releaseLock(UUID playerId, String crateId) {
         Map<String, Instant> userLocks = locks.get(playerId);
         if (userLocks != null) {
             userLocks.remove(crateId);
@@ -191,7 +197,29 @@ public class LocalStorage implements CrateStorage {
     }
 
     @Override
-    public void close() {
+    public synchronized void releaseAllLocks(UUID playerId) {
+        locks.remove(playerId);
+    }
+
+    @Override
+    public synchronized void releaseAllLocks(Collection<UUID> playerIds) {
+        for (UUID playerId : playerIds) {
+            locks.remove(playerId);
+        }
+    }
+
+    @Override
+    public void renewLocks(Collection<UUID> playerIds) {
+        // In-memory locks live exactly as long as this server, there is no lease to renew.
+    }
+
+    @Override
+    public int sweepExpiredLocks() {
+        return 0;
+    }
+
+    @Override
+    public synchronized void close() {
         cooldowns.clear();
         keys.clear();
         locks.clear();
@@ -201,7 +229,7 @@ public class LocalStorage implements CrateStorage {
         pendingRewards.clear();
     }
 
-    Map<UUID, Map<String, Instant>> getCooldownsSnapshot() {
+    synchronized Map<UUID, Map<String, Instant>> getCooldownsSnapshot() {
         Map<UUID, Map<String, Instant>> snapshot = new HashMap<>();
         for (Map.Entry<UUID, Map<String, Instant>> entry : cooldowns.entrySet()) {
             snapshot.put(entry.getKey(), new HashMap<>(entry.getValue()));
@@ -209,7 +237,7 @@ public class LocalStorage implements CrateStorage {
         return snapshot;
     }
 
-    Map<UUID, Map<String, Integer>> getKeysSnapshot() {
+    synchronized Map<UUID, Map<String, Integer>> getKeysSnapshot() {
         Map<UUID, Map<String, Integer>> snapshot = new HashMap<>();
         for (Map.Entry<UUID, Map<String, Integer>> entry : keys.entrySet()) {
             snapshot.put(entry.getKey(), new HashMap<>(entry.getValue()));
@@ -217,7 +245,7 @@ public class LocalStorage implements CrateStorage {
         return snapshot;
     }
 
-    void setKeyCount(UUID playerId, String crateId, int amount) {
+    synchronized void setKeyCount(UUID playerId, String crateId, int amount) {
         if (amount <= 0) {
             Map<String, Integer> userKeys = keys.get(playerId);
             if (userKeys != null) {
@@ -228,7 +256,7 @@ public class LocalStorage implements CrateStorage {
         keys.computeIfAbsent(playerId, key -> new HashMap<>()).put(crateId, amount);
     }
 
-    void clearAll() {
+    synchronized void clearAll() {
         close();
     }
 
@@ -2,9 +2,17 @@ package com.extracrates.storage;
 
 import java.time.Instant;
 
-public record OpenHistoryFilter(String crateId, Instant from, Instant to) {
+public record OpenHistoryFilter(String crateId, Instant from, Instant to, HistoryCursor before) {
+    public OpenHistoryFilter(String crateId, Instant from, Instant to) {
+        this(crateId, from, to, null);
+    }
+
     public static OpenHistoryFilter none() {
-        return new OpenHistoryFilter(null, null, null);
+        return new OpenHistoryFilter(null, null, null, null);
+    }
+
+    public OpenHistoryFilter before(HistoryCursor cursor) {
+        return new OpenHistoryFilter(crateId, from, to, cursor);
     }
 
     public boolean matches(CrateOpenEntry entry) {
@@ -20,6 +28,9 @@ public record OpenHistoryFilter(String crateId, Instant from, Instant to) {
         if (to != null && entry.openedAt().isAfter(to)) {
             return false;
         }
+        if (before != null && !before.precedes(entry.openedAt(), entry.id())) {
+            return false;
+        }
         return true;
     }
 }
@@ -0,0 +1,14 @@
+package com.extracrates.storage;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+public record PlayerStateSnapshot(
+        Map<String, Instant> cooldowns,
+        List<PendingReward> pendingRewards
+) {
+    public static PlayerStateSnapshot empty() {
+        return new PlayerStateSnapshot(Map.of(), List.of());
+    }
+}
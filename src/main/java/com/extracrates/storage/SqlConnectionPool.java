@@ -0,0 +1,632 @@
+package com.extracrates.storage;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * JDBC connection pool. Idle connections are validated by a background keepalive instead of on every borrow,
+ * rotated after their max lifetime, and borrowed connections held past the leak threshold are reported with
+ * the stack trace of the borrower. Closing a borrowed connection returns it to the pool.
+ * Single-argument {@code prepareStatement} calls are served from a per-connection LRU cache, so repeated
+ * statements are prepared once per physical connection; closing a cached statement only resets it.
+ */
+public class SqlConnectionPool implements javax.sql.DataSource, AutoCloseable {
+    private static final long WAIT_SLICE_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long MAX_HOUSEKEEPING_MILLIS = 30000L;
+    private static final long MIN_HOUSEKEEPING_MILLIS = 500L;
+
+    private final String name;
+    private final String jdbcUrl;
+    private final Properties properties;
+    private final SqlPoolSettings settings;
+    private final Logger logger;
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Set<PooledConnection> all = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger total = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong retired = new AtomicLong();
+    private final AtomicLong borrows = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong leaks = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong statementHits = new AtomicLong();
+    private final AtomicLong statementMisses = new AtomicLong();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed;
+    private volatile PrintWriter logWriter;
+    private volatile int loginTimeout;
+
+    public SqlConnectionPool(
+            String name,
+            String jdbcUrl,
+            String username,
+            String password,
+            SqlPoolSettings settings,
+            Logger logger
+    ) {
+        this.name = name;
+        this.jdbcUrl = jdbcUrl == null ? "" : jdbcUrl;
+        this.settings = settings;
+        this.logger = logger;
+        this.properties = new Properties();
+        if (username != null && !username.isBlank()) {
+            properties.setProperty("user", username);
+        }
+        if (password != null && !password.isBlank()) {
+            properties.setProperty("password", password);
+        }
+        try {
+            // Open at least one connection up front so a bad URL or credentials fail at startup.
+            int initial = Math.max(1, settings.minIdle());
+            for (int i = 0; i < initial; i++) {
+                PooledConnection entry = tryCreate();
+                if (entry == null) {
+                    break;
+                }
+                idle.offerLast(entry);
+            }
+        } catch (SQLException ex) {
+            closeIdle();
+            throw new StorageUnavailableException("No se pudo crear el pool de conexiones", ex);
+        }
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ExtraCrates-Pool-" + name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = housekeepingPeriodMillis();
+        housekeeper.scheduleWithFixedDelay(this::housekeep, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Pool SQL cerrado (" + name + ")");
+        }
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(Math.max(0L, settings.connectionTimeoutMillis()));
+        while (true) {
+            PooledConnection entry = idle.pollFirst();
+            if (entry == null) {
+                entry = tryCreate();
+            }
+            if (entry == null) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    timeouts.incrementAndGet();
+                    throw new SQLTimeoutException("Timeout esperando una conexión SQL (" + name + ")");
+                }
+                waiting.incrementAndGet();
+                try {
+                    // Wait in short slices so capacity freed by retired connections is picked up by tryCreate.
+                    entry = idle.pollFirst(Math.min(remaining, WAIT_SLICE_NANOS), TimeUnit.NANOSECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException("Interrupción esperando conexión SQL", ex);
+                } finally {
+                    waiting.decrementAndGet();
+                }
+                if (entry == null) {
+                    continue;
+                }
+            }
+            if (closed || isExpired(entry, System.currentTimeMillis())) {
+                retire(entry);
+                if (closed) {
+                    throw new SQLException("Pool SQL cerrado (" + name + ")");
+                }
+                continue;
+            }
+            recordWait(System.nanoTime() - start);
+            return lease(entry);
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("El pool usa las credenciales configuradas");
+    }
+
+    public int activeConnections() {
+        return Math.max(0, all.size() - idle.size());
+    }
+
+    public int idleConnections() {
+        return idle.size();
+    }
+
+    public int totalConnections() {
+        return all.size();
+    }
+
+    public int waitingThreads() {
+        return waiting.get();
+    }
+
+    public List<String> getStatusLines() {
+        List<String> lines = new ArrayList<>();
+        long borrowed = borrows.get();
+        long averageWaitMicros = borrowed == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalWaitNanos.get() / borrowed);
+        lines.add("Pool " + name + ": active=" + activeConnections()
+                + " idle=" + idleConnections()
+                + " total=" + totalConnections() + "/" + settings.maxSize()
+                + " waiting=" + waitingThreads());
+        lines.add("Pool " + name + ": borrows=" + borrowed
+                + " wait-avg=" + averageWaitMicros + "us"
+                + " wait-max=" + TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get()) + "ms"
+                + " timeouts=" + timeouts.get());
+        lines.add("Pool " + name + ": created=" + created.get()
+                + " retired=" + retired.get()
+                + " leaks=" + leaks.get());
+        if (settings.statementCacheSize() > 0) {
+            lines.add("Pool " + name + ": statement-cache hits=" + statementHits.get()
+                    + " misses=" + statementMisses.get()
+                    + " size=" + settings.statementCacheSize());
+        }
+        return lines;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (housekeeper != null) {
+            housekeeper.shutdownNow();
+        }
+        closeIdle();
+        int active = activeConnections();
+        if (active > 0) {
+            logger.warning("Pool SQL " + name + " cerrado con " + active + " conexiones aún prestadas; se cerrarán al devolverse.");
+        }
+    }
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return logWriter;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+        this.logWriter = out;
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+        this.loginTimeout = seconds;
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return loginTimeout;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("No es un wrapper de " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+
+    private PooledConnection tryCreate() throws SQLException {
+        while (true) {
+            int current = total.get();
+            if (current >= settings.maxSize()) {
+                return null;
+            }
+            if (total.compareAndSet(current, current + 1)) {
+                break;
+            }
+        }
+        try {
+            if (jdbcUrl.isBlank()) {
+                throw new SQLException("jdbc-url vacío");
+            }
+            PooledConnection entry = new PooledConnection(DriverManager.getConnection(jdbcUrl, properties));
+            all.add(entry);
+            created.incrementAndGet();
+            return entry;
+        } catch (SQLException | RuntimeException ex) {
+            total.decrementAndGet();
+            throw ex;
+        }
+    }
+
+    private Connection lease(PooledConnection entry) {
+        borrows.incrementAndGet();
+        entry.borrowedAt = System.currentTimeMillis();
+        entry.leakReported = false;
+        entry.borrowTrace = settings.leakDetectionMillis() > 0
+                ? new Exception("Conexión prestada por " + Thread.currentThread().getName())
+                : null;
+        return (Connection) Proxy.newProxyInstance(
+                SqlConnectionPool.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new LeaseHandler(entry)
+        );
+    }
+
+    private void release(PooledConnection entry) {
+        long now = System.currentTimeMillis();
+        if (entry.leakReported) {
+            logger.info("Conexión SQL " + name + " reportada como fuga devuelta tras " + (now - entry.borrowedAt) + " ms.");
+        }
+        entry.borrowedAt = 0L;
+        entry.borrowTrace = null;
+        entry.lastUsed = now;
+        entry.resetStatements();
+        if (!entry.broken) {
+            try {
+                if (!entry.connection.getAutoCommit()) {
+                    entry.connection.rollback();
+                    entry.connection.setAutoCommit(true);
+                }
+            } catch (SQLException ex) {
+                entry.broken = true;
+            }
+        }
+        if (closed || entry.broken || isExpired(entry, now)) {
+            retire(entry);
+            if (!closed) {
+                housekeeper.execute(this::replenish);
+            }
+            return;
+        }
+        idle.offerFirst(entry);
+    }
+
+    private void housekeep() {
+        try {
+            long now = System.currentTimeMillis();
+            for (PooledConnection entry : idle) {
+                boolean expired = isExpired(entry, now);
+                boolean needsKeepalive = settings.keepaliveMillis() > 0 && now - entry.lastUsed >= settings.keepaliveMillis();
+                if ((!expired && !needsKeepalive) || !idle.remove(entry)) {
+                    continue;
+                }
+                if (expired || !isValid(entry)) {
+                    retire(entry);
+                    continue;
+                }
+                entry.lastUsed = now;
+                idle.offerLast(entry);
+            }
+            if (settings.leakDetectionMillis() > 0) {
+                for (PooledConnection entry : all) {
+                    long borrowedAt = entry.borrowedAt;
+                    if (borrowedAt > 0 && !entry.leakReported && now - borrowedAt > settings.leakDetectionMillis()) {
+                        entry.leakReported = true;
+                        leaks.incrementAndGet();
+                        logger.log(Level.WARNING, "Posible fuga de conexión SQL " + name + ": prestada hace "
+                                + (now - borrowedAt) + " ms", entry.borrowTrace);
+                    }
+                }
+            }
+            replenish();
+        } catch (RuntimeException ex) {
+            logger.warning("Pool SQL " + name + ": error en mantenimiento: " + ex.getMessage());
+        }
+    }
+
+    private void replenish() {
+        while (!closed && (idle.size() < settings.minIdle() || waiting.get() > 0)) {
+            try {
+                PooledConnection entry = tryCreate();
+                if (entry == null) {
+                    return;
+                }
+                idle.offerLast(entry);
+            } catch (SQLException ex) {
+                logger.warning("Pool SQL " + name + ": no se pudo abrir conexión: " + ex.getMessage());
+                return;
+            }
+        }
+    }
+
+    private boolean isValid(PooledConnection entry) {
+        try {
+            return entry.connection.isValid(settings.validationTimeoutSeconds());
+        } catch (SQLException ex) {
+            return false;
+        }
+    }
+
+    private boolean isExpired(PooledConnection entry, long now) {
+        return settings.maxLifetimeMillis() > 0 && now - entry.createdAt >= settings.maxLifetimeMillis();
+    }
+
+    private void retire(PooledConnection entry) {
+        if (!all.remove(entry)) {
+            return;
+        }
+        total.decrementAndGet();
+        retired.incrementAndGet();
+        entry.closeStatements();
+        try {
+            entry.connection.close();
+        } catch (SQLException ex) {
+            logger.warning("No se pudo cerrar conexión SQL: " + ex.getMessage());
+        }
+    }
+
+    private void closeIdle() {
+        PooledConnection entry;
+        while ((entry = idle.pollFirst()) != null) {
+            retire(entry);
+        }
+    }
+
+    private void recordWait(long nanos) {
+        totalWaitNanos.addAndGet(nanos);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private long housekeepingPeriodMillis() {
+        long period = MAX_HOUSEKEEPING_MILLIS;
+        if (settings.keepaliveMillis() > 0) {
+            period = Math.min(period, settings.keepaliveMillis());
+        }
+        if (settings.leakDetectionMillis() > 0) {
+            period = Math.min(period, settings.leakDetectionMillis() / 2);
+        }
+        return Math.max(MIN_HOUSEKEEPING_MILLIS, period);
+    }
+
+    private static boolean isFatal(SQLException ex) {
+        if (ex instanceof SQLNonTransientConnectionException || ex instanceof SQLRecoverableException) {
+            return true;
+        }
+        String state = ex.getSQLState();
+        return state != null && state.startsWith("08");
+    }
+
+    private final class PooledConnection {
+        private final Connection connection;
+        private final Map<String, CachedStatement> statements;
+        private final long createdAt;
+        private volatile long lastUsed;
+        private volatile long borrowedAt;
+        private volatile boolean leakReported;
+        private volatile boolean broken;
+        private volatile Exception borrowTrace;
+
+        private PooledConnection(Connection connection) {
+            this.connection = connection;
+            this.createdAt = System.currentTimeMillis();
+            this.lastUsed = createdAt;
+            int cacheSize = settings.statementCacheSize();
+            this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+                    if (size() <= cacheSize || eldest.getValue().inUse) {
+                        return false;
+                    }
+                    closeQuietly(eldest.getValue().statement);
+                    return true;
+                }
+            };
+        }
+
+        private PreparedStatement prepare(String sql, Connection owner) throws SQLException {
+            CachedStatement cached = statements.get(sql);
+            if (cached != null && !cached.inUse) {
+                statementHits.incrementAndGet();
+            } else if (cached != null) {
+                // Same SQL already open in this lease: hand out an uncached statement.
+                return connection.prepareStatement(sql);
+            } else {
+                statementMisses.incrementAndGet();
+                cached = new CachedStatement(sql, connection.prepareStatement(sql));
+                statements.put(sql, cached);
+            }
+            cached.inUse = true;
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    SqlConnectionPool.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    new StatementHandler(this, cached, owner)
+            );
+        }
+
+        private void resetStatements() {
+            for (CachedStatement cached : statements.values()) {
+                cached.inUse = false;
+            }
+        }
+
+        private void evict(CachedStatement cached) {
+            statements.remove(cached.sql, cached);
+            closeQuietly(cached.statement);
+        }
+
+        private void closeStatements() {
+            Iterator<CachedStatement> iterator = statements.values().iterator();
+            while (iterator.hasNext()) {
+                closeQuietly(iterator.next().statement);
+                iterator.remove();
+            }
+        }
+
+        private void closeQuietly(PreparedStatement statement) {
+            try {
+                statement.close();
+            } catch (SQLException ignored) {
+                // El statement se descarta de todos modos.
+            }
+        }
+    }
+
+    private static final class CachedStatement {
+        private final String sql;
+        private final PreparedStatement statement;
+        private boolean inUse;
+
+        private CachedStatement(String sql, PreparedStatement statement) {
+            this.sql = sql;
+            this.statement = statement;
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+        private final PooledConnection entry;
+        private final CachedStatement cached;
+        private final Connection owner;
+        private boolean closed;
+
+        private StatementHandler(PooledConnection entry, CachedStatement cached, Connection owner) {
+            this.entry = entry;
+            this.cached = cached;
+            this.owner = owner;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    if (closed) {
+                        return null;
+                    }
+                    closed = true;
+                    try {
+                        cached.statement.clearParameters();
+                        cached.statement.clearBatch();
+                        cached.inUse = false;
+                    } catch (SQLException ex) {
+                        entry.evict(cached);
+                    }
+                    return null;
+                }
+                case "isClosed" -> {
+                    return closed;
+                }
+                case "getConnection" -> {
+                    return owner;
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "Cached[" + cached.sql + "]";
+                }
+                default -> {
+                }
+            }
+            if (closed) {
+                throw new SQLException("El statement ya fue cerrado");
+            }
+            try {
+                return method.invoke(cached.statement, args);
+            } catch (InvocationTargetException ex) {
+                Throwable cause = ex.getCause();
+                if (cause instanceof SQLException sqlException && isFatal(sqlException)) {
+                    entry.broken = true;
+                }
+                throw cause;
+            }
+        }
+    }
+
+    private final class LeaseHandler implements InvocationHandler {
+        private final PooledConnection entry;
+        private boolean returned;
+
+        private LeaseHandler(PooledConnection entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    synchronized (this) {
+                        if (returned) {
+                            return null;
+                        }
+                        returned = true;
+                    }
+                    release(entry);
+                    return null;
+                }
+                case "isClosed" -> {
+                    return returned || entry.connection.isClosed();
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "Pooled[" + name + "]" + entry.connection;
+                }
+                default -> {
+                }
+            }
+            if (returned) {
+                throw new SQLException("La conexión ya fue devuelta al pool");
+            }
+            if (settings.statementCacheSize() > 0
+                    && method.getName().equals("prepareStatement")
+                    && args != null
+                    && args.length == 1) {
+                return entry.prepare((String) args[0], (Connection) proxy);
+            }
+            try {
+                return method.invoke(entry.connection, args);
+            } catch (InvocationTargetException ex) {
+                Throwable cause = ex.getCause();
+                if (cause instanceof SQLException sqlException && isFatal(sqlException)) {
+                    entry.broken = true;
+                }
+                throw cause;
+            }
+        }
+    }
+}
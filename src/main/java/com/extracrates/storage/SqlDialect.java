@@ -0,0 +1,28 @@
+package com.extracrates.storage;
+
+import java.util.Locale;
+
+enum SqlDialect {
+    MYSQL,
+    POSTGRES,
+    SQLITE;
+
+    static SqlDialect detect(String type, String jdbcUrl) {
+        String url = jdbcUrl == null ? "" : jdbcUrl.toLowerCase(Locale.ROOT);
+        if (url.startsWith("jdbc:postgresql:")) {
+            return POSTGRES;
+        }
+        if (url.startsWith("jdbc:sqlite:")) {
+            return SQLITE;
+        }
+        if (url.startsWith("jdbc:mysql:") || url.startsWith("jdbc:mariadb:")) {
+            return MYSQL;
+        }
+        String normalized = type == null ? "" : type.trim().toLowerCase(Locale.ROOT);
+        return switch (normalized) {
+            case "postgres", "postgresql" -> POSTGRES;
+            case "sqlite" -> SQLITE;
+            default -> MYSQL;
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package com.extracrates.storage;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+public record SqlPoolSettings(
+        int maxSize,
+        int minIdle,
+        long connectionTimeoutMillis,
+        long maxLifetimeMillis,
+        long keepaliveMillis,
+        int validationTimeoutSeconds,
+        long leakDetectionMillis,
+        int statementCacheSize
+) {
+    public static SqlPoolSettings defaults() {
+        return new SqlPoolSettings(10, 2, 30000L, 1800000L, 60000L, 2, 0L, 64);
+    }
+
+    public static SqlPoolSettings fromSection(ConfigurationSection section) {
+        SqlPoolSettings defaults = defaults();
+        if (section == null) {
+            return defaults;
+        }
+        int maxSize = Math.max(1, section.getInt("size", defaults.maxSize()));
+        return new SqlPoolSettings(
+                maxSize,
+                Math.min(maxSize, Math.max(0, section.getInt("min-idle", defaults.minIdle()))),
+                section.getLong("timeout", defaults.connectionTimeoutMillis()),
+                section.getLong("max-lifetime-millis", defaults.maxLifetimeMillis()),
+                section.getLong("keepalive-millis", defaults.keepaliveMillis()),
+                Math.max(1, section.getInt("validation-timeout-seconds", defaults.validationTimeoutSeconds())),
+                section.getLong("leak-detection-millis", defaults.leakDetectionMillis()),
+                Math.max(0, section.getInt("statement-cache-size", defaults.statementCacheSize()))
+        );
+    }
+}
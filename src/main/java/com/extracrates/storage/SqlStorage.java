@@ -1,33 +1,55 @@
 package com.extracrates.storage;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
+import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Statement;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Properties;
+import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
 public class SqlStorage implements CrateStorage {
+    private static final int LOCK_BATCH_CHUNK = 500;
     private final Logger logger;
     private final SqlConnectionPool pool;
+    private final boolean ownsPool;
+    private final SqlDialect dialect;
+    private final String serverId;
+    private final long lockLeaseMillis;
+    private final SqlWriteJournal journal;
 
     public SqlStorage(StorageSettings settings, Logger logger) {
+        this(new SqlConnectionPool("storage", settings.jdbcUrl(), settings.username(), settings.password(), settings.pool(), logger),
+                true, settings, logger);
+    }
+
+    SqlStorage(SqlConnectionPool pool, StorageSettings settings, Logger logger) {
+        this(pool, false, settings, logger);
+    }
+
+    private SqlStorage(SqlConnectionPool pool, boolean ownsPool, StorageSettings settings, Logger logger) {
         this.logger = logger;
-        this.pool = new SqlConnectionPool(settings, logger);
+        this.pool = pool;
+        this.ownsPool = ownsPool;
+        this.dialect = SqlDialect.detect(settings.type(), settings.jdbcUrl());
+        this.serverId = settings.serverId();
+        this.lockLeaseMillis = settings.lockLeaseMillis();
         ensureFirstOpenTable();
         ensureOpenStartedTable();
+        ensureLockLeaseColumns();
+        this.journal = settings.writeBehindEnabled() ? new SqlWriteJournal(this::writeBatch, settings, logger) : null;
     }
 
     @Override
@@ -81,6 +103,39 @@ public class SqlStorage implements CrateStorage {
         });
     }
 
+    @Override
+    public PlayerStateSnapshot loadPlayerState(UUID playerId) {
+        // One round trip for everything the open path reads: cooldowns and pending rewards.
+        String sql = "SELECT 'C' AS kind, crate_id, NULL AS reward_id, NULL AS status, cooldown_at AS value"
+                + " FROM crate_cooldowns WHERE player_uuid=?"
+                + " UNION ALL SELECT 'P', crate_id, reward_id, status, updated_at FROM crate_pending_rewards WHERE player_uuid=?";
+        return withConnection(connection -> {
+            Map<String, Instant> cooldowns = new HashMap<>();
+            List<PendingReward> pending = new ArrayList<>();
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                String uuid = playerId.toString();
+                statement.setString(1, uuid);
+                statement.setString(2, uuid);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        String crateId = resultSet.getString("crate_id");
+                        long value = resultSet.getLong("value");
+                        switch (resultSet.getString("kind")) {
+                            case "C" -> cooldowns.put(crateId, Instant.ofEpochMilli(value));
+                            default -> pending.add(new PendingReward(
+                                    crateId,
+                                    resultSet.getString("reward_id"),
+                                    RewardDeliveryStatus.fromString(resultSet.getString("status")),
+                                    Instant.ofEpochMilli(value)
+                            ));
+                        }
+                    }
+                }
+            }
+            return new PlayerStateSnapshot(cooldowns, pending);
+        });
+    }
+
     @Override
     public int getKeyCount(UUID playerId, String crateId) {
         String sql = "SELECT amount FROM crate_keys WHERE player_uuid=? AND crate_id=?";
@@ -160,66 +215,27 @@ public class SqlStorage implements CrateStorage {
 
     @Override
     public void logOpen(UUID playerId, String crateId, String rewardId, String serverId, Instant timestamp) {
-        String sql = "INSERT INTO crate_opens (player_uuid, crate_id, reward_id, server_id, opened_at) VALUES (?, ?, ?, ?, ?)";
-        withConnection(connection -> {
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setString(1, playerId.toString());
-                statement.setString(2, crateId);
-                statement.setString(3, rewardId);
-                statement.setString(4, serverId);
-                statement.setLong(5, timestamp.toEpochMilli());
-                statement.executeUpdate();
-            }
-            return null;
-        });
+        append(new SqlWriteJournal.OpenRow(playerId, crateId, rewardId, serverId, timestamp));
     }
 
     @Override
     public void logOpenStarted(UUID playerId, String crateId, String serverId, Instant timestamp) {
-        String sql = "INSERT INTO crate_open_starts (player_uuid, crate_id, server_id, opened_at) VALUES (?, ?, ?, ?)";
-        withConnection(connection -> {
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setString(1, playerId.toString());
-                statement.setString(2, crateId);
-                statement.setString(3, serverId);
-                statement.setLong(4, timestamp.toEpochMilli());
-                statement.executeUpdate();
-            }
-            return null;
-        });
+        append(new SqlWriteJournal.OpenStartRow(playerId, crateId, serverId, timestamp));
     }
 
     @Override
     public void recordDelivery(UUID playerId, String crateId, String rewardId, DeliveryStatus status, int attempt, Instant timestamp) {
-        withConnection(connection -> {
-            String deleteSql = "DELETE FROM crate_deliveries WHERE player_uuid=? AND crate_id=? AND reward_id=?";
-            String insertSql = "INSERT INTO crate_deliveries (player_uuid, crate_id, reward_id, status, attempt, updated_at) VALUES (?, ?, ?, ?, ?, ?)";
-            try (PreparedStatement delete = connection.prepareStatement(deleteSql)) {
-                delete.setString(1, playerId.toString());
-                delete.setString(2, crateId);
-                delete.setString(3, rewardId);
-                delete.executeUpdate();
-            }
-            try (PreparedStatement insert = connection.prepareStatement(insertSql)) {
-                insert.setString(1, playerId.toString());
-                insert.setString(2, crateId);
-                insert.setString(3, rewardId);
-                insert.setString(4, status.name());
-                insert.setInt(5, attempt);
-                insert.setLong(6, timestamp.toEpochMilli());
-                insert.executeUpdate();
-            }
-            return null;
-        });
+        append(new SqlWriteJournal.DeliveryRow(playerId, crateId, rewardId, status, attempt, timestamp));
     }
 
     @Override
-    public List<CrateOpenEntry> getOpenHistory(UUID playerId, OpenHistoryFilter filter, int limit, int offset) {
+    public List<CrateOpenEntry> getOpenHistory(UUID playerId, OpenHistoryFilter filter, int limit) {
         if (limit <= 0) {
             return List.of();
         }
+        flushJournal();
         StringBuilder sql = new StringBuilder(
-                "SELECT crate_id, reward_id, server_id, opened_at FROM crate_opens WHERE player_uuid=?"
+                "SELECT id, crate_id, reward_id, server_id, opened_at FROM crate_opens WHERE player_uuid=?"
         );
         List<Object> params = new ArrayList<>();
         params.add(playerId.toString());
@@ -235,9 +251,16 @@ public class SqlStorage implements CrateStorage {
             sql.append(" AND opened_at<=?");
             params.add(filter.to().toEpochMilli());
         }
-        sql.append(" ORDER BY opened_at DESC LIMIT ? OFFSET ?");
+        if (filter != null && filter.before() != null) {
+            // Seek past the previous page instead of OFFSET so deep pages stay an index range scan.
+            sql.append(" AND (opened_at<? OR (opened_at=? AND id<?))");
+            long cursorMillis = filter.before().timestamp().toEpochMilli();
+            params.add(cursorMillis);
+            params.add(cursorMillis);
+            params.add(filter.before().id());
+        }
+        sql.append(" ORDER BY opened_at DESC, id DESC LIMIT ?");
         params.add(limit);
-        params.add(offset);
 
         return withConnection(connection -> {
             try (PreparedStatement statement = connection.prepareStatement(sql.toString())) {
@@ -260,7 +283,8 @@ public class SqlStorage implements CrateStorage {
                         String rewardId = resultSet.getString("reward_id");
                         String serverId = resultSet.getString("server_id");
                         Instant openedAt = Instant.ofEpochMilli(resultSet.getLong("opened_at"));
-                        entries.add(new CrateOpenEntry(playerId, crateId, rewardId, serverId, openedAt));
+                        long id = resultSet.getLong("id");
+                        entries.add(new CrateOpenEntry(playerId, crateId, rewardId, serverId, openedAt, id));
                     }
                 }
                 return entries;
@@ -270,38 +294,133 @@ public class SqlStorage implements CrateStorage {
 
     @Override
     public boolean acquireLock(UUID playerId, String crateId) {
-        String sql = "INSERT INTO crate_locks (player_uuid, crate_id, locked_at) VALUES (?, ?, ?)";
+        // Single conditional upsert: inserts a new lease or takes over an expired one, never throws on contention.
+        String sql = switch (dialect) {
+            case POSTGRES, SQLITE -> "INSERT INTO crate_locks (player_uuid, crate_id, server_id, locked_at, expires_at)"
+                    + " VALUES (?, ?, ?, ?, ?)"
+                    + " ON CONFLICT (player_uuid, crate_id) DO UPDATE SET server_id = excluded.server_id,"
+                    + " locked_at = excluded.locked_at, expires_at = excluded.expires_at"
+                    + " WHERE crate_locks.expires_at < excluded.locked_at";
+            // The expiry check is part of the update itself, so a live lease is never overwritten even when two
+            // servers race on the same key. expires_at is assigned last: MySQL evaluates the assignments in order.
+            case MYSQL -> "INSERT INTO crate_locks (player_uuid, crate_id, server_id, locked_at, expires_at)"
+                    + " VALUES (?, ?, ?, ?, ?)"
+                    + " ON DUPLICATE KEY UPDATE"
+                    + " server_id = IF(expires_at < VALUES(locked_at), VALUES(server_id), server_id),"
+                    + " locked_at = IF(expires_at < VALUES(locked_at), VALUES(locked_at), locked_at),"
+                    + " expires_at = IF(expires_at < VALUES(locked_at), VALUES(expires_at), expires_at)";
+        };
+        long now = System.currentTimeMillis();
         return withConnection(connection -> {
+            int affected;
             try (PreparedStatement statement = connection.prepareStatement(sql)) {
                 statement.setString(1, playerId.toString());
                 statement.setString(2, crateId);
-                statement.setLong(3, Instant.now().toEpochMilli());
-                statement.executeUpdate();
-                return true;
-            } catch (SQLIntegrityConstraintViolationException ex) {
-                return false;
-            } catch (SQLException ex) {
-                if (isConstraintViolation(ex)) {
-                    return false;
-                }
-                throw ex;
+                statement.setString(3, serverId);
+                statement.setLong(4, now);
+                statement.setLong(5, now + lockLeaseMillis);
+                affected = statement.executeUpdate();
             }
+            if (dialect != SqlDialect.MYSQL || affected != 1) {
+                // MySQL: 2 = expired lease taken over, 0 = live lease left untouched.
+                return affected > 0;
+            }
+            // 1 is a fresh insert, unless the driver reports found rows (Connector/J default), where a live lease
+            // left untouched also counts as 1. The upsert already ran atomically, so reading back is race-free.
+            return ownsLease(connection, playerId, crateId, now);
         });
     }
 
+    private boolean ownsLease(Connection connection, UUID playerId, String crateId, long lockedAt) throws SQLException {
+        String sql = "SELECT server_id, locked_at FROM crate_locks WHERE player_uuid=? AND crate_id=?";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, playerId.toString());
+            statement.setString(2, crateId);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next()
+                        && serverId.equals(resultSet.getString("server_id"))
+                        && resultSet.getLong("locked_at") == lockedAt;
+            }
+        }
+    }
+
     @Override
     public void releaseLock(UUID playerId, String crateId) {
-        String sql = "DELETE FROM crate_locks WHERE player_uuid=? AND crate_id=?";
+        String sql = "DELETE FROM crate_locks WHERE player_uuid=? AND crate_id=? AND server_id=?";
         withConnection(connection -> {
             try (PreparedStatement statement = connection.prepareStatement(sql)) {
                 statement.setString(1, playerId.toString());
                 statement.setString(2, crateId);
+                statement.setString(3, serverId);
                 statement.executeUpdate();
             }
             return null;
         });
     }
 
+    @Override
+    public void releaseAllLocks(UUID playerId) {
+        String sql = "DELETE FROM crate_locks WHERE player_uuid=? AND server_id=?";
+        withConnection(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setString(1, playerId.toString());
+                statement.setString(2, serverId);
+                statement.executeUpdate();
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public void releaseAllLocks(Collection<UUID> playerIds) {
+        updateLocksByPlayer(playerIds, "DELETE FROM crate_locks WHERE server_id=? AND player_uuid IN (%s)", null);
+    }
+
+    @Override
+    public void renewLocks(Collection<UUID> playerIds) {
+        updateLocksByPlayer(
+                playerIds,
+                "UPDATE crate_locks SET expires_at=? WHERE server_id=? AND player_uuid IN (%s)",
+                System.currentTimeMillis() + lockLeaseMillis
+        );
+    }
+
+    @Override
+    public int sweepExpiredLocks() {
+        String sql = "DELETE FROM crate_locks WHERE expires_at < ?";
+        return withConnection(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setLong(1, System.currentTimeMillis());
+                return statement.executeUpdate();
+            }
+        });
+    }
+
+    private void updateLocksByPlayer(Collection<UUID> playerIds, String sqlTemplate, Long expiresAt) {
+        if (playerIds.isEmpty()) {
+            return;
+        }
+        List<UUID> ids = new ArrayList<>(playerIds);
+        withConnection(connection -> {
+            for (int start = 0; start < ids.size(); start += LOCK_BATCH_CHUNK) {
+                List<UUID> chunk = ids.subList(start, Math.min(ids.size(), start + LOCK_BATCH_CHUNK));
+                String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+                try (PreparedStatement statement = connection.prepareStatement(String.format(sqlTemplate, placeholders))) {
+                    int index = 1;
+                    if (expiresAt != null) {
+                        statement.setLong(index++, expiresAt);
+                    }
+                    statement.setString(index++, serverId);
+                    for (UUID id : chunk) {
+                        statement.setString(index++, id.toString());
+                    }
+                    statement.executeUpdate();
+                }
+            }
+            return null;
+        });
+    }
+
     @Override
     public Optional<PendingReward> getPendingReward(UUID playerId) {
         String sql = "SELECT crate_id, reward_id, status, updated_at FROM crate_pending_rewards WHERE player_uuid=?";
@@ -373,6 +492,7 @@ public class SqlStorage implements CrateStorage {
 
     @Override
     public void clearPlayerData(UUID playerId) {
+        flushJournal();
         withConnection(connection -> {
             String[] tables = {
                     "crate_cooldowns",
@@ -396,7 +516,26 @@ public class SqlStorage implements CrateStorage {
 
     @Override
     public void close() {
-        pool.close();
+        if (journal != null) {
+            journal.close();
+        }
+        if (ownsPool) {
+            pool.close();
+        }
+    }
+
+    public List<String> getStatusLines() {
+        List<String> lines = new ArrayList<>(pool.getStatusLines());
+        if (journal == null) {
+            lines.add("Write-behind: disabled");
+        } else {
+            lines.addAll(journal.getStatusLines());
+        }
+        return lines;
+    }
+
+    SqlConnectionPool getPool() {
+        return pool;
     }
 
     void setKeyCount(UUID playerId, String crateId, int amount) {
@@ -435,6 +574,7 @@ public class SqlStorage implements CrateStorage {
     }
 
     void clearMigrationData() {
+        flushJournal();
         withConnection(connection -> {
             try (PreparedStatement statement = connection.prepareStatement("DELETE FROM crate_cooldowns")) {
                 statement.executeUpdate();
@@ -484,6 +624,7 @@ public class SqlStorage implements CrateStorage {
     }
 
     List<OpenHistoryEntry> fetchOpenHistory() {
+        flushJournal();
         String sql = "SELECT player_uuid, crate_id, reward_id, server_id, opened_at FROM crate_opens";
         return withConnection(connection -> {
             List<OpenHistoryEntry> history = new ArrayList<>();
@@ -502,22 +643,104 @@ public class SqlStorage implements CrateStorage {
         });
     }
 
-    private boolean isConstraintViolation(SQLException ex) {
-        String state = ex.getSQLState();
-        return "23000".equals(state) || "23505".equals(state);
+    private void append(SqlWriteJournal.Entry entry) {
+        if (journal != null) {
+            journal.append(entry);
+            return;
+        }
+        writeBatch(List.of(entry));
+    }
+
+    private void flushJournal() {
+        if (journal != null && journal.depth() > 0) {
+            journal.flush();
+        }
+    }
+
+    private void writeBatch(List<SqlWriteJournal.Entry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        List<SqlWriteJournal.OpenRow> opens = new ArrayList<>();
+        List<SqlWriteJournal.OpenStartRow> starts = new ArrayList<>();
+        // Only the latest status per (player, crate, reward) survives, like the DELETE+INSERT it replaces.
+        Map<String, SqlWriteJournal.DeliveryRow> deliveries = SqlWriteJournal.latestDeliveries(entries);
+        for (SqlWriteJournal.Entry entry : entries) {
+            if (entry instanceof SqlWriteJournal.OpenRow open) {
+                opens.add(open);
+            } else if (entry instanceof SqlWriteJournal.OpenStartRow start) {
+                starts.add(start);
+            }
+        }
+        withConnection(connection -> {
+            boolean originalAutoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                if (!opens.isEmpty()) {
+                    String sql = "INSERT INTO crate_opens (player_uuid, crate_id, reward_id, server_id, opened_at) VALUES (?, ?, ?, ?, ?)";
+                    try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                        for (SqlWriteJournal.OpenRow open : opens) {
+                            statement.setString(1, open.playerId().toString());
+                            statement.setString(2, open.crateId());
+                            statement.setString(3, open.rewardId());
+                            statement.setString(4, open.serverId());
+                            statement.setLong(5, open.timestamp().toEpochMilli());
+                            statement.addBatch();
+                        }
+                        statement.executeBatch();
+                    }
+                }
+                if (!starts.isEmpty()) {
+                    String sql = "INSERT INTO crate_open_starts (player_uuid, crate_id, server_id, opened_at) VALUES (?, ?, ?, ?)";
+                    try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                        for (SqlWriteJournal.OpenStartRow start : starts) {
+                            statement.setString(1, start.playerId().toString());
+                            statement.setString(2, start.crateId());
+                            statement.setString(3, start.serverId());
+                            statement.setLong(4, start.timestamp().toEpochMilli());
+                            statement.addBatch();
+                        }
+                        statement.executeBatch();
+                    }
+                }
+                if (!deliveries.isEmpty()) {
+                    String deleteSql = "DELETE FROM crate_deliveries WHERE player_uuid=? AND crate_id=? AND reward_id=?";
+                    String insertSql = "INSERT INTO crate_deliveries (player_uuid, crate_id, reward_id, status, attempt, updated_at) VALUES (?, ?, ?, ?, ?, ?)";
+                    try (PreparedStatement delete = connection.prepareStatement(deleteSql);
+                         PreparedStatement insert = connection.prepareStatement(insertSql)) {
+                        for (SqlWriteJournal.DeliveryRow delivery : deliveries.values()) {
+                            delete.setString(1, delivery.playerId().toString());
+                            delete.setString(2, delivery.crateId());
+                            delete.setString(3, delivery.rewardId());
+                            delete.addBatch();
+                            insert.setString(1, delivery.playerId().toString());
+                            insert.setString(2, delivery.crateId());
+                            insert.setString(3, delivery.rewardId());
+                            insert.setString(4, delivery.status().name());
+                            insert.setInt(5, delivery.attempt());
+                            insert.setLong(6, delivery.timestamp().toEpochMilli());
+                            insert.addBatch();
+                        }
+                        delete.executeBatch();
+                        insert.executeBatch();
+                    }
+                }
+                connection.commit();
+                return null;
+            } catch (SQLException ex) {
+                connection.rollback();
+                throw ex;
+            } finally {
+                connection.setAutoCommit(originalAutoCommit);
+            }
+        });
     }
 
     private <T> T withConnection(SqlFunction<Connection, T> function) {
-        Connection connection = null;
-        try {
-            connection = pool.borrowConnection();
+        try (Connection connection = pool.getConnection()) {
             return function.apply(connection);
         } catch (SQLException ex) {
             throw new StorageUnavailableException("Error SQL en storage", ex);
-        } finally {
-            if (connection != null) {
-                pool.releaseConnection(connection);
-            }
         }
     }
 
@@ -549,91 +772,39 @@ public class SqlStorage implements CrateStorage {
         });
     }
 
-    @FunctionalInterface
-    private interface SqlFunction<T, R> {
-        R apply(T value) throws SQLException;
-    }
-
-    private static class SqlConnectionPool {
-        private final BlockingQueue<Connection> connections;
-        private final StorageSettings settings;
-        private final Logger logger;
-
-        SqlConnectionPool(StorageSettings settings, Logger logger) {
-            this.settings = settings;
-            this.logger = logger;
-            int size = Math.max(1, settings.poolSize());
-            this.connections = new ArrayBlockingQueue<>(size);
-            initializeConnections(size);
-        }
-
-        private void initializeConnections(int size) {
-            for (int i = 0; i < size; i++) {
-                try {
-                    connections.add(createConnection());
-                } catch (SQLException ex) {
-                    close();
-                    throw new StorageUnavailableException("No se pudo crear el pool de conexiones", ex);
-                }
-            }
-        }
-
-        Connection borrowConnection() {
-            try {
-                Connection connection = connections.poll(settings.poolTimeoutMillis(), TimeUnit.MILLISECONDS);
-                if (connection == null) {
-                    throw new StorageUnavailableException("Timeout esperando una conexión SQL");
-                }
-                if (!connection.isValid(2)) {
-                    logger.warning("Conexión SQL inválida, recreando.");
-                    closeConnection(connection);
-                    connection = createConnection();
-                }
-                return connection;
-            } catch (SQLException ex) {
-                throw new StorageUnavailableException("No se pudo obtener conexión SQL", ex);
-            } catch (InterruptedException ex) {
-                Thread.currentThread().interrupt();
-                throw new StorageUnavailableException("Interrupción esperando conexión SQL", ex);
-            }
-        }
-
-        void releaseConnection(Connection connection) {
-            if (connection == null) {
-                return;
+    private void ensureLockLeaseColumns() {
+        withConnection(connection -> {
+            Set<String> columns = tableColumns(connection.getMetaData(), "crate_locks");
+            if (columns.isEmpty() || columns.contains("expires_at")) {
+                return null;
             }
-            if (!connections.offer(connection)) {
-                closeConnection(connection);
+            // Pre-lease schema: existing rows get expires_at=0, so stale locks are reclaimed immediately.
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("ALTER TABLE crate_locks ADD COLUMN server_id VARCHAR(64) NOT NULL DEFAULT ''");
+                statement.executeUpdate("ALTER TABLE crate_locks ADD COLUMN expires_at BIGINT NOT NULL DEFAULT 0");
             }
-        }
-
-        void close() {
-            Connection connection;
-            while ((connection = connections.poll()) != null) {
-                closeConnection(connection);
-            }
-        }
+            logger.info("Tabla crate_locks migrada a locks con lease (server_id, expires_at).");
+            return null;
+        });
+    }
 
-        private Connection createConnection() throws SQLException {
-            if (settings.jdbcUrl().isBlank()) {
-                throw new SQLException("jdbc-url vacío");
-            }
-            Properties props = new Properties();
-            if (!settings.username().isBlank()) {
-                props.setProperty("user", settings.username());
+    private Set<String> tableColumns(DatabaseMetaData metaData, String table) throws SQLException {
+        Set<String> columns = new HashSet<>();
+        for (String candidate : new String[]{table, table.toUpperCase(Locale.ROOT)}) {
+            try (ResultSet result = metaData.getColumns(null, null, candidate, null)) {
+                while (result.next()) {
+                    columns.add(result.getString("COLUMN_NAME").toLowerCase(Locale.ROOT));
+                }
             }
-            if (!settings.password().isBlank()) {
-                props.setProperty("password", settings.password());
+            if (!columns.isEmpty()) {
+                break;
             }
-            return DriverManager.getConnection(settings.jdbcUrl(), props);
         }
+        return columns;
+    }
 
-        private void closeConnection(Connection connection) {
-            try {
-                connection.close();
-            } catch (SQLException ex) {
-                logger.warning("No se pudo cerrar conexión SQL: " + ex.getMessage());
-            }
-        }
+    @FunctionalInterface
+    private interface SqlFunction<T, R> {
+        R apply(T value) throws SQLException;
     }
 }
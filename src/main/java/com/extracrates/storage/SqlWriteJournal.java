@@ -0,0 +1,216 @@
+package com.extracrates.storage;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Write-behind queue for append-only SQL rows (opens, open starts and deliveries).
+ * Rows are flushed as JDBC batches when the batch size is reached or the flush interval elapses. A batch that fails
+ * to write is kept ahead of the queue and retried first, so rows always reach the database in append order.
+ */
+class SqlWriteJournal {
+    private final BatchWriter writer;
+    private final Logger logger;
+    private final BlockingQueue<Entry> queue;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final Object flushLock = new Object();
+    // Rows of failed batches, oldest first; guarded by flushLock.
+    private final Deque<Entry> retry = new ArrayDeque<>();
+    private volatile int retryDepth;
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong flushedRows = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong overflowWrites = new AtomicLong();
+    private final AtomicLong droppedRows = new AtomicLong();
+    private final AtomicInteger maxDepth = new AtomicInteger();
+    private volatile long lastFlushMillis;
+    private volatile boolean closed;
+
+    SqlWriteJournal(BatchWriter writer, StorageSettings settings, Logger logger) {
+        this.writer = writer;
+        this.logger = logger;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, settings.writeBehindQueueCapacity()));
+        this.batchSize = Math.max(1, settings.writeBehindBatchSize());
+        this.flushIntervalMillis = Math.max(10L, settings.writeBehindFlushMillis());
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ExtraCrates-SqlJournal");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    void append(Entry entry) {
+        if (closed) {
+            writeDirect(entry);
+            return;
+        }
+        if (!queue.offer(entry)) {
+            // Queue full: drain on the caller thread, then retry once before writing the row directly.
+            flush();
+            if (!queue.offer(entry)) {
+                writeDirect(entry);
+                return;
+            }
+        }
+        enqueued.incrementAndGet();
+        maxDepth.accumulateAndGet(queue.size(), Math::max);
+        if (queue.size() >= batchSize && flushScheduled.compareAndSet(false, true)) {
+            scheduler.execute(() -> {
+                flushScheduled.set(false);
+                flushQuietly();
+            });
+        }
+    }
+
+    void flush() {
+        synchronized (flushLock) {
+            List<Entry> batch = new ArrayList<>(batchSize);
+            while (nextBatch(batch) > 0) {
+                try {
+                    writer.writeBatch(batch);
+                    flushedRows.addAndGet(batch.size());
+                    batches.incrementAndGet();
+                    lastFlushMillis = System.currentTimeMillis();
+                } catch (StorageUnavailableException ex) {
+                    requeue(batch);
+                    throw ex;
+                }
+                batch.clear();
+            }
+        }
+    }
+
+    void close() {
+        closed = true;
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            flush();
+        } catch (StorageUnavailableException ex) {
+            int lost;
+            synchronized (flushLock) {
+                lost = queue.size() + retry.size();
+                queue.clear();
+                retry.clear();
+                retryDepth = 0;
+            }
+            droppedRows.addAndGet(lost);
+            logger.warning("Journal SQL: no se pudieron escribir " + lost + " registros al cerrar: " + ex.getMessage());
+        }
+    }
+
+    int depth() {
+        return queue.size() + retryDepth;
+    }
+
+    List<String> getStatusLines() {
+        List<String> lines = new ArrayList<>();
+        lines.add("Write-behind: depth=" + queue.size() + "/" + (queue.size() + queue.remainingCapacity())
+                + " retry=" + retryDepth + " max=" + maxDepth.get());
+        lines.add("Write-behind: enqueued=" + enqueued.get()
+                + " flushed=" + flushedRows.get()
+                + " batches=" + batches.get());
+        lines.add("Write-behind: overflow=" + overflowWrites.get() + " dropped=" + droppedRows.get()
+                + (lastFlushMillis > 0 ? " last-flush=" + Instant.ofEpochMilli(lastFlushMillis) : ""));
+        return lines;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            logger.warning("Journal SQL: flush fallido, se reintentará: " + ex.getMessage());
+        }
+    }
+
+    private void writeDirect(Entry entry) {
+        synchronized (flushLock) {
+            // Older rows still pending must land first, or a stale delivery status could overwrite this one.
+            flush();
+            overflowWrites.incrementAndGet();
+            writer.writeBatch(List.of(entry));
+            flushedRows.incrementAndGet();
+        }
+    }
+
+    private int nextBatch(List<Entry> batch) {
+        while (batch.size() < batchSize && !retry.isEmpty()) {
+            batch.add(retry.pollFirst());
+        }
+        retryDepth = retry.size();
+        if (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+        }
+        return batch.size();
+    }
+
+    private void requeue(List<Entry> batch) {
+        // Back to the head: these rows are older than everything still waiting in the queue.
+        for (int i = batch.size() - 1; i >= 0; i--) {
+            retry.addFirst(batch.get(i));
+        }
+        retryDepth = retry.size();
+    }
+
+    /**
+     * Latest delivery row per (player, crate, reward), in first-seen order. Rows are compared in append order, so
+     * the last one appended wins.
+     */
+    static Map<String, DeliveryRow> latestDeliveries(List<Entry> entries) {
+        Map<String, DeliveryRow> deliveries = new LinkedHashMap<>();
+        for (Entry entry : entries) {
+            if (entry instanceof DeliveryRow delivery) {
+                deliveries.put(delivery.playerId() + ":" + delivery.crateId() + ":" + delivery.rewardId(), delivery);
+            }
+        }
+        return deliveries;
+    }
+
+    @FunctionalInterface
+    interface BatchWriter {
+        void writeBatch(List<Entry> entries);
+    }
+
+    sealed interface Entry permits OpenRow, OpenStartRow, DeliveryRow {
+        UUID playerId();
+    }
+
+    record OpenRow(UUID playerId, String crateId, String rewardId, String serverId, Instant timestamp) implements Entry {
+    }
+
+    record OpenStartRow(UUID playerId, String crateId, String serverId, Instant timestamp) implements Entry {
+    }
+
+    record DeliveryRow(
+            UUID playerId,
+            String crateId,
+            String rewardId,
+            DeliveryStatus status,
+            int attempt,
+            Instant timestamp
+    ) implements Entry {
+    }
+}
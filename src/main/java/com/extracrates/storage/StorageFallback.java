@@ -1,6 +1,8 @@
 package com.extracrates.storage;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -74,6 +76,14 @@ public class StorageFallback implements CrateStorage {
         );
     }
 
+    @Override
+    public PlayerStateSnapshot loadPlayerState(UUID playerId) {
+        return callWithFallback(
+                () -> primary.loadPlayerState(playerId),
+                () -> fallback.loadPlayerState(playerId)
+        );
+    }
+
     @Override
     public int getKeyCount(UUID playerId, String crateId) {
         return callWithFallback(
@@ -139,10 +149,10 @@ public class StorageFallback implements CrateStorage {
     }
 
     @Override
-    public List<CrateOpenEntry> getOpenHistory(UUID playerId, OpenHistoryFilter filter, int limit, int offset) {
+    public List<CrateOpenEntry> getOpenHistory(UUID playerId, OpenHistoryFilter filter, int limit) {
         return callWithFallback(
-                () -> primary.getOpenHistory(playerId, filter, limit, offset),
-                () -> fallback.getOpenHistory(playerId, filter, limit, offset)
+                () -> primary.getOpenHistory(playerId, filter, limit),
+                () -> fallback.getOpenHistory(playerId, filter, limit)
         );
     }
 
@@ -178,12 +188,54 @@ public class StorageFallback implements CrateStorage {
         );
     }
 
+    @Override
+    public void releaseAllLocks(UUID playerId) {
+        runWithFallback(
+                () -> primary.releaseAllLocks(playerId),
+                () -> fallback.releaseAllLocks(playerId)
+        );
+    }
+
+    @Override
+    public void releaseAllLocks(Collection<UUID> playerIds) {
+        runWithFallback(
+                () -> primary.releaseAllLocks(playerIds),
+                () -> fallback.releaseAllLocks(playerIds)
+        );
+    }
+
+    @Override
+    public void renewLocks(Collection<UUID> playerIds) {
+        runWithFallback(
+                () -> primary.renewLocks(playerIds),
+                () -> fallback.renewLocks(playerIds)
+        );
+    }
+
+    @Override
+    public int sweepExpiredLocks() {
+        return callWithFallback(primary::sweepExpiredLocks, fallback::sweepExpiredLocks);
+    }
+
     @Override
     public void close() {
         primary.close();
         fallback.close();
     }
 
+    public List<String> getStatusLines() {
+        List<String> lines = new ArrayList<>();
+        lines.add("Modo: " + (usingFallback ? "local (fallback)" : "sql"));
+        if (primary instanceof SqlStorage sqlStorage) {
+            lines.addAll(sqlStorage.getStatusLines());
+        }
+        return lines;
+    }
+
+    CrateStorage primaryStorage() {
+        return primary;
+    }
+
     CrateStorage activeStorage() {
         return usingFallback ? fallback : primary;
     }
@@ -22,7 +22,7 @@ public class StorageMigrator {
 
         CrateStorage targetStorage = null;
         try {
-            targetStorage = createTarget(settings, target, logger);
+            targetStorage = createTarget(source, settings, target, logger);
             if (targetStorage == null) {
                 return StorageMigrationReport.failure("No se pudo crear el storage destino.");
             }
@@ -59,7 +59,7 @@ public class StorageMigrator {
         return storage;
     }
 
-    private CrateStorage createTarget(StorageSettings settings, StorageTarget target, Logger logger) {
+    private CrateStorage createTarget(CrateStorage source, StorageSettings settings, StorageTarget target, Logger logger) {
         if (target == StorageTarget.LOCAL) {
             return new LocalStorage();
         }
@@ -67,9 +67,21 @@ public class StorageMigrator {
             logger.warning("[Migration] jdbc-url vacío, no se puede crear storage SQL.");
             return null;
         }
+        SqlConnectionPool sharedPool = sharedPool(source);
+        if (sharedPool != null) {
+            return new SqlStorage(sharedPool, settings, logger);
+        }
         return new SqlStorage(settings, logger);
     }
 
+    private SqlConnectionPool sharedPool(CrateStorage source) {
+        CrateStorage sqlSource = source instanceof StorageFallback fallback ? fallback.primaryStorage() : source;
+        if (sqlSource instanceof SqlStorage sqlStorage) {
+            return sqlStorage.getPool();
+        }
+        return null;
+    }
+
     private StorageSnapshot snapshot(CrateStorage storage) {
         if (storage instanceof LocalStorage local) {
             return new StorageSnapshot(local.getCooldownsSnapshot(), local.getKeysSnapshot(), List.of());
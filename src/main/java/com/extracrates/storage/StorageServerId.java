@@ -0,0 +1,48 @@
+package com.extracrates.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+/**
+ * Owner id written into crate lock leases. Servers sharing a database must never share it, or they would renew and
+ * sweep each other's leases, so when none is configured a random one is generated once and kept in the data folder.
+ */
+public final class StorageServerId {
+    private static final String FILE_NAME = "lock-owner-id";
+
+    private StorageServerId() {
+    }
+
+    public static String resolve(String configured, File dataFolder, Logger logger) {
+        if (configured != null && !configured.isBlank()) {
+            return configured;
+        }
+        Path file = dataFolder.toPath().resolve(FILE_NAME);
+        try {
+            if (Files.exists(file)) {
+                String stored = Files.readString(file, StandardCharsets.UTF_8).trim();
+                if (!stored.isEmpty()) {
+                    return stored;
+                }
+            }
+        } catch (IOException ex) {
+            logger.warning("Storage: no se pudo leer " + FILE_NAME + ": " + ex.getMessage());
+        }
+        String generated = "server-" + UUID.randomUUID();
+        try {
+            Files.createDirectories(dataFolder.toPath());
+            Files.writeString(file, generated + System.lineSeparator(), StandardCharsets.UTF_8);
+            logger.info("Storage: storage.locks.server-id no configurado, usando id generado " + generated);
+        } catch (IOException ex) {
+            // Still unique for this run; leases left by a previous run simply expire.
+            logger.warning("Storage: no se pudo guardar " + FILE_NAME + ", el id " + generated
+                    + " solo dura hasta el reinicio: " + ex.getMessage());
+        }
+        return generated;
+    }
+}
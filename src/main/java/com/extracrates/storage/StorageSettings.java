@@ -9,24 +9,80 @@ public record StorageSettings(
         String jdbcUrl,
         String username,
         String password,
-        int poolSize,
-        long poolTimeoutMillis
+        SqlPoolSettings pool,
+        int asyncThreads,
+        int asyncQueueSize,
+        boolean writeBehindEnabled,
+        int writeBehindBatchSize,
+        long writeBehindFlushMillis,
+        int writeBehindQueueCapacity,
+        String serverId,
+        long lockLeaseMillis,
+        long lockHeartbeatMillis,
+        long lockSweepMillis
 ) {
     public static StorageSettings fromConfig(FileConfiguration config) {
         ConfigurationSection section = config.getConfigurationSection("storage");
         if (section == null) {
-            return new StorageSettings(false, "mysql", "", "", "", 10, 30000);
+            return new StorageSettings(false, "mysql", "", "", "", SqlPoolSettings.defaults(), 4, 1024, true, 200, 500L, 10000,
+                    configuredLockOwner(null, config), 30000L, 10000L, 60000L);
         }
         boolean enabled = section.getBoolean("enabled", false);
         String type = section.getString("type", "mysql");
         String jdbcUrl = section.getString("jdbc-url", "");
         String username = section.getString("username", "");
         String password = section.getString("password", "");
-        ConfigurationSection poolSection = section.getConfigurationSection("pool");
-        int poolSize = poolSection != null ? poolSection.getInt("size", 10) : section.getInt("pool.size", 10);
-        long poolTimeoutMillis = poolSection != null
-                ? poolSection.getLong("timeout", 30000)
-                : section.getLong("pool.timeout", 30000);
-        return new StorageSettings(enabled, type, jdbcUrl, username, password, poolSize, poolTimeoutMillis);
+        SqlPoolSettings pool = SqlPoolSettings.fromSection(section.getConfigurationSection("pool"));
+        int asyncThreads = section.getInt("async.threads", 4);
+        int asyncQueueSize = section.getInt("async.queue-size", 1024);
+        boolean writeBehindEnabled = section.getBoolean("write-behind.enabled", true);
+        int writeBehindBatchSize = section.getInt("write-behind.batch-size", 200);
+        long writeBehindFlushMillis = section.getLong("write-behind.flush-interval-millis", 500L);
+        int writeBehindQueueCapacity = section.getInt("write-behind.queue-capacity", 10000);
+        String serverId = configuredLockOwner(section, config);
+        long lockLeaseMillis = Math.max(1000L, section.getLong("locks.lease-seconds", 30L) * 1000L);
+        // Heartbeats must land well inside the lease, otherwise active sessions lose their lock.
+        long lockHeartbeatMillis = Math.min(lockLeaseMillis / 2,
+                Math.max(1000L, section.getLong("locks.heartbeat-seconds", 10L) * 1000L));
+        long lockSweepMillis = Math.max(1000L, section.getLong("locks.sweep-seconds", 60L) * 1000L);
+        return new StorageSettings(
+                enabled,
+                type,
+                jdbcUrl,
+                username,
+                password,
+                pool,
+                asyncThreads,
+                asyncQueueSize,
+                writeBehindEnabled,
+                writeBehindBatchSize,
+                writeBehindFlushMillis,
+                writeBehindQueueCapacity,
+                serverId,
+                lockLeaseMillis,
+                lockHeartbeatMillis,
+                lockSweepMillis
+        );
+    }
+
+    public StorageSettings withServerId(String serverId) {
+        return new StorageSettings(enabled, type, jdbcUrl, username, password, pool, asyncThreads, asyncQueueSize,
+                writeBehindEnabled, writeBehindBatchSize, writeBehindFlushMillis, writeBehindQueueCapacity, serverId,
+                lockLeaseMillis, lockHeartbeatMillis, lockSweepMillis);
+    }
+
+    /**
+     * Lock owner id from storage.locks.server-id, else sync.server-id. Returns an empty string when neither is set
+     * or only the shared "local" default is present; see {@link StorageServerId#resolve}.
+     */
+    private static String configuredLockOwner(ConfigurationSection section, FileConfiguration config) {
+        String serverId = section != null ? section.getString("locks.server-id", "") : "";
+        if (serverId == null || serverId.isBlank()) {
+            serverId = config.getString("sync.server-id", "");
+        }
+        if (serverId == null || serverId.isBlank() || serverId.equalsIgnoreCase("local")) {
+            return "";
+        }
+        return serverId.trim();
     }
 }
@@ -1,5 +1,7 @@
 package com.extracrates.sync;
 
+import com.extracrates.storage.HistoryCursor;
+
 import java.time.Instant;
 import java.util.UUID;
 
@@ -9,6 +11,10 @@ public record CrateHistoryEntry(
         String crateId,
         String rewardId,
         Instant timestamp,
-        String serverId
+        String serverId,
+        long id
 ) {
+    public HistoryCursor cursor() {
+        return new HistoryCursor(timestamp, id);
+    }
 }
@@ -1,9 +1,11 @@
 package com.extracrates.sync;
 
 import com.extracrates.ExtraCratesPlugin;
+import com.extracrates.storage.HistoryCursor;
+import com.extracrates.storage.SqlConnectionPool;
+import com.extracrates.storage.StorageUnavailableException;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -17,9 +19,11 @@ import java.util.logging.Level;
 
 public class PostgresSyncStore implements SyncStore {
     private static final int DEFAULT_KEY_COUNT = 0;
+    private static final String KEY_CONSUMED_REWARD = "key_consumed";
     private final ExtraCratesPlugin plugin;
     private final SyncSettings settings;
     private volatile boolean healthy = true;
+    private volatile SqlConnectionPool pool;
 
     public PostgresSyncStore(ExtraCratesPlugin plugin, SyncSettings settings) {
         this.plugin = plugin;
@@ -28,6 +32,17 @@ public class PostgresSyncStore implements SyncStore {
 
     @Override
     public void init() {
+        SyncSettings.PostgresSettings pg = settings.getPostgres();
+        // prepareThreshold=1: statements cached by the pool are server-side prepared from their first use.
+        String url = "jdbc:postgresql://" + pg.getHost() + ":" + pg.getPort() + "/" + pg.getDatabase()
+                + "?prepareThreshold=1";
+        try {
+            pool = new SqlConnectionPool("sync", url, pg.getUser(), pg.getPassword(), pg.getPool(), plugin.getLogger());
+        } catch (StorageUnavailableException ex) {
+            healthy = false;
+            plugin.getLogger().log(Level.WARNING, "[Sync] No se pudo conectar a Postgres", ex);
+            return;
+        }
         String schema = settings.getPostgres().getSchema();
         String createSchema = "CREATE SCHEMA IF NOT EXISTS " + schema;
         String cooldowns = "CREATE TABLE IF NOT EXISTS " + schema + ".crate_cooldowns ("
@@ -68,6 +83,11 @@ public class PostgresSyncStore implements SyncStore {
                 + "occurred_at TIMESTAMP NOT NULL,"
                 + "server_id TEXT NOT NULL"
                 + ")";
+        // Keyset pagination of /crates history reads these in (occurred_at, id) order.
+        String eventHistorySeekIndex = "CREATE INDEX IF NOT EXISTS idx_crate_event_history_seek ON " + schema
+                + ".crate_event_history (player_id, occurred_at DESC, id DESC)";
+        String eventHistoryCrateSeekIndex = "CREATE INDEX IF NOT EXISTS idx_crate_event_history_crate_seek ON " + schema
+                + ".crate_event_history (player_id, crate_id, occurred_at DESC, id DESC)";
         try (Connection connection = openConnection(); Statement statement = connection.createStatement()) {
             statement.execute(createSchema);
             statement.execute(cooldowns);
@@ -75,6 +95,8 @@ public class PostgresSyncStore implements SyncStore {
             statement.execute(openHistory);
             statement.execute(rewardHistory);
             statement.execute(eventHistory);
+            statement.execute(eventHistorySeekIndex);
+            statement.execute(eventHistoryCrateSeekIndex);
         } catch (SQLException ex) {
             healthy = false;
             plugin.getLogger().log(Level.WARNING, "[Sync] No se pudo inicializar Postgres", ex);
@@ -86,10 +108,7 @@ public class PostgresSyncStore implements SyncStore {
         if (!healthy) {
             return;
         }
-        String sql = "INSERT INTO " + settings.getPostgres().getSchema() + ".crate_cooldowns "
-                + "(player_id, crate_id, last_used, server_id) VALUES (?, ?, ?, ?) "
-                + "ON CONFLICT (player_id, crate_id) DO UPDATE SET last_used = EXCLUDED.last_used, server_id = EXCLUDED.server_id";
-        execute(sql, playerId, crateId, timestamp, serverId);
+        execute(cooldownSql(), playerId, crateId, timestamp, serverId);
     }
 
     @Override
@@ -97,14 +116,8 @@ public class PostgresSyncStore implements SyncStore {
         if (!healthy) {
             return;
         }
-        String sql = "INSERT INTO " + settings.getPostgres().getSchema() + ".key_inventory "
-                + "(player_id, crate_id, key_count, server_id) VALUES (?, ?, ?, ?) "
-                + "ON CONFLICT (player_id, crate_id) DO UPDATE SET key_count = GREATEST(" + settings.getPostgres().getSchema()
-                + ".key_inventory.key_count - 1, 0), server_id = EXCLUDED.server_id";
-        executeKeyInventory(sql, playerId, crateId, serverId);
-        String history = "INSERT INTO " + settings.getPostgres().getSchema() + ".crate_reward_history "
-                + "(player_id, crate_id, reward_id, granted_at, server_id) VALUES (?, ?, ?, ?, ?)";
-        execute(history, playerId, crateId, timestamp, serverId, "key_consumed");
+        executeKeyInventory(keyInventorySql(), playerId, crateId, serverId);
+        execute(rewardHistorySql(), playerId, crateId, timestamp, serverId, KEY_CONSUMED_REWARD);
     }
 
     @Override
@@ -112,9 +125,7 @@ public class PostgresSyncStore implements SyncStore {
         if (!healthy) {
             return;
         }
-        String sql = "INSERT INTO " + settings.getPostgres().getSchema() + ".crate_open_history "
-                + "(player_id, crate_id, opened_at, server_id) VALUES (?, ?, ?, ?)";
-        execute(sql, playerId, crateId, timestamp, serverId);
+        execute(openHistorySql(), playerId, crateId, timestamp, serverId);
     }
 
     @Override
@@ -122,9 +133,7 @@ public class PostgresSyncStore implements SyncStore {
         if (!healthy) {
             return;
         }
-        String sql = "INSERT INTO " + settings.getPostgres().getSchema() + ".crate_reward_history "
-                + "(player_id, crate_id, reward_id, granted_at, server_id) VALUES (?, ?, ?, ?, ?)";
-        execute(sql, playerId, crateId, timestamp, serverId, rewardId);
+        execute(rewardHistorySql(), playerId, crateId, timestamp, serverId, rewardId);
     }
 
     @Override
@@ -132,24 +141,88 @@ public class PostgresSyncStore implements SyncStore {
         if (!healthy) {
             return;
         }
-        String sql = "INSERT INTO " + settings.getPostgres().getSchema() + ".crate_event_history "
-                + "(player_id, crate_id, reward_id, event_type, occurred_at, server_id) VALUES (?, ?, ?, ?, ?, ?)";
-        executeEvent(sql, playerId, crateId, rewardId, type, timestamp, serverId);
+        executeEvent(eventHistorySql(), playerId, crateId, rewardId, type, timestamp, serverId);
     }
 
     @Override
-    public List<CrateHistoryEntry> getHistory(UUID playerId, String crateId, int limit, int offset) {
+    public boolean recordEvents(List<SyncEvent> events) {
+        if (!healthy || events.isEmpty()) {
+            return false;
+        }
+        try (Connection connection = openConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement cooldowns = connection.prepareStatement(cooldownSql());
+                 PreparedStatement keys = connection.prepareStatement(keyInventorySql());
+                 PreparedStatement opens = connection.prepareStatement(openHistorySql());
+                 PreparedStatement rewards = connection.prepareStatement(rewardHistorySql());
+                 PreparedStatement history = connection.prepareStatement(eventHistorySql())) {
+                for (SyncEvent event : events) {
+                    Timestamp timestamp = Timestamp.from(event.timestamp());
+                    switch (event.type()) {
+                        case COOLDOWN_SET -> {
+                            bindRow(cooldowns, event, timestamp);
+                            cooldowns.addBatch();
+                        }
+                        case KEY_CONSUMED -> {
+                            keys.setObject(1, event.playerId());
+                            keys.setString(2, event.crateId());
+                            keys.setInt(3, DEFAULT_KEY_COUNT);
+                            keys.setString(4, event.serverId());
+                            keys.addBatch();
+                            bindReward(rewards, event, KEY_CONSUMED_REWARD, timestamp);
+                            rewards.addBatch();
+                        }
+                        case CRATE_OPEN -> {
+                            bindRow(opens, event, timestamp);
+                            opens.addBatch();
+                        }
+                        case REWARD_GRANTED -> {
+                            bindReward(rewards, event, event.rewardId(), timestamp);
+                            rewards.addBatch();
+                        }
+                    }
+                    history.setObject(1, event.playerId());
+                    history.setString(2, event.crateId());
+                    history.setString(3, event.rewardId());
+                    history.setString(4, event.type().name());
+                    history.setTimestamp(5, timestamp);
+                    history.setString(6, event.serverId());
+                    history.addBatch();
+                }
+                cooldowns.executeBatch();
+                keys.executeBatch();
+                opens.executeBatch();
+                rewards.executeBatch();
+                history.executeBatch();
+                connection.commit();
+                return true;
+            } catch (SQLException ex) {
+                connection.rollback();
+                throw ex;
+            }
+        } catch (SQLException ex) {
+            healthy = false;
+            plugin.getLogger().log(Level.WARNING, "[Sync] Error escribiendo lote de " + events.size() + " eventos en Postgres", ex);
+            return false;
+        }
+    }
+
+    @Override
+    public List<CrateHistoryEntry> getHistory(UUID playerId, String crateId, HistoryCursor before, int limit) {
         if (!healthy) {
             return List.of();
         }
         String schema = settings.getPostgres().getSchema();
-        StringBuilder sql = new StringBuilder("SELECT event_type, crate_id, reward_id, occurred_at, server_id FROM ")
+        StringBuilder sql = new StringBuilder("SELECT id, event_type, crate_id, reward_id, occurred_at, server_id FROM ")
                 .append(schema)
                 .append(".crate_event_history WHERE player_id = ?");
         if (crateId != null && !crateId.isBlank()) {
             sql.append(" AND crate_id = ?");
         }
-        sql.append(" ORDER BY occurred_at DESC, id DESC LIMIT ? OFFSET ?");
+        if (before != null) {
+            sql.append(" AND (occurred_at < ? OR (occurred_at = ? AND id < ?))");
+        }
+        sql.append(" ORDER BY occurred_at DESC, id DESC LIMIT ?");
         List<CrateHistoryEntry> results = new ArrayList<>();
         try (Connection connection = openConnection(); PreparedStatement stmt = connection.prepareStatement(sql.toString())) {
             int index = 1;
@@ -157,8 +230,13 @@ public class PostgresSyncStore implements SyncStore {
             if (crateId != null && !crateId.isBlank()) {
                 stmt.setString(index++, crateId);
             }
-            stmt.setInt(index++, limit);
-            stmt.setInt(index, offset);
+            if (before != null) {
+                Timestamp cursorTimestamp = Timestamp.from(before.timestamp());
+                stmt.setTimestamp(index++, cursorTimestamp);
+                stmt.setTimestamp(index++, cursorTimestamp);
+                stmt.setLong(index++, before.id());
+            }
+            stmt.setInt(index, limit);
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
                     SyncEventType type = SyncEventType.valueOf(rs.getString("event_type"));
@@ -166,7 +244,8 @@ public class PostgresSyncStore implements SyncStore {
                     String rewardId = rs.getString("reward_id");
                     Instant timestamp = rs.getTimestamp("occurred_at").toInstant();
                     String serverId = rs.getString("server_id");
-                    results.add(new CrateHistoryEntry(type, playerId, eventCrateId, rewardId, timestamp, serverId));
+                    long id = rs.getLong("id");
+                    results.add(new CrateHistoryEntry(type, playerId, eventCrateId, rewardId, timestamp, serverId, id));
                 }
             }
         } catch (SQLException ex) {
@@ -224,6 +303,16 @@ public class PostgresSyncStore implements SyncStore {
     @Override
     public void shutdown() {
         healthy = false;
+        SqlConnectionPool current = pool;
+        pool = null;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    public List<String> getPoolStatusLines() {
+        SqlConnectionPool current = pool;
+        return current != null ? current.getStatusLines() : List.of();
     }
 
     @Override
@@ -231,10 +320,56 @@ public class PostgresSyncStore implements SyncStore {
         return "Postgres";
     }
 
+    private String cooldownSql() {
+        return "INSERT INTO " + settings.getPostgres().getSchema() + ".crate_cooldowns "
+                + "(player_id, crate_id, last_used, server_id) VALUES (?, ?, ?, ?) "
+                + "ON CONFLICT (player_id, crate_id) DO UPDATE SET last_used = EXCLUDED.last_used, server_id = EXCLUDED.server_id";
+    }
+
+    private String keyInventorySql() {
+        String schema = settings.getPostgres().getSchema();
+        return "INSERT INTO " + schema + ".key_inventory "
+                + "(player_id, crate_id, key_count, server_id) VALUES (?, ?, ?, ?) "
+                + "ON CONFLICT (player_id, crate_id) DO UPDATE SET key_count = GREATEST(" + schema
+                + ".key_inventory.key_count - 1, 0), server_id = EXCLUDED.server_id";
+    }
+
+    private String openHistorySql() {
+        return "INSERT INTO " + settings.getPostgres().getSchema() + ".crate_open_history "
+                + "(player_id, crate_id, opened_at, server_id) VALUES (?, ?, ?, ?)";
+    }
+
+    private String rewardHistorySql() {
+        return "INSERT INTO " + settings.getPostgres().getSchema() + ".crate_reward_history "
+                + "(player_id, crate_id, reward_id, granted_at, server_id) VALUES (?, ?, ?, ?, ?)";
+    }
+
+    private String eventHistorySql() {
+        return "INSERT INTO " + settings.getPostgres().getSchema() + ".crate_event_history "
+                + "(player_id, crate_id, reward_id, event_type, occurred_at, server_id) VALUES (?, ?, ?, ?, ?, ?)";
+    }
+
+    private void bindRow(PreparedStatement stmt, SyncEvent event, Timestamp timestamp) throws SQLException {
+        stmt.setObject(1, event.playerId());
+        stmt.setString(2, event.crateId());
+        stmt.setTimestamp(3, timestamp);
+        stmt.setString(4, event.serverId());
+    }
+
+    private void bindReward(PreparedStatement stmt, SyncEvent event, String rewardId, Timestamp timestamp) throws SQLException {
+        stmt.setObject(1, event.playerId());
+        stmt.setString(2, event.crateId());
+        stmt.setString(3, rewardId);
+        stmt.setTimestamp(4, timestamp);
+        stmt.setString(5, event.serverId());
+    }
+
     private Connection openConnection() throws SQLException {
-        SyncSettings.PostgresSettings pg = settings.getPostgres();
-        String url = "jdbc:postgresql://" + pg.getHost() + ":" + pg.getPort() + "/" + pg.getDatabase();
-        return DriverManager.getConnection(url, pg.getUser(), pg.getPassword());
+        SqlConnectionPool current = pool;
+        if (current == null) {
+            throw new SQLException("Pool de Postgres no inicializado");
+        }
+        return current.getConnection();
     }
 
     private void execute(String sql, UUID playerId, String crateId, Instant timestamp, String serverId) {
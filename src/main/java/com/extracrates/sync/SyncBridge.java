@@ -3,6 +3,8 @@ package com.extracrates.sync;
 import com.extracrates.ExtraCratesPlugin;
 import com.extracrates.config.ConfigLoader;
 import com.extracrates.runtime.core.SessionManager;
+import com.extracrates.storage.HistoryCursor;
+import org.bukkit.Bukkit;
 
 import java.time.Instant;
 import java.util.ArrayList;
@@ -20,6 +22,7 @@ public class SyncBridge {
     private SyncProvider provider;
     private SyncStore store;
     private SyncHealthMonitor monitor;
+    private SyncEventPipeline pipeline;
     private volatile boolean degraded;
 
     public SyncBridge(ExtraCratesPlugin plugin, ConfigLoader configLoader, SessionManager sessionManager) {
@@ -41,6 +44,7 @@ public class SyncBridge {
         provider = new RedisSyncProvider(plugin, settings);
         store = new PostgresSyncStore(plugin, settings);
         store.init();
+        pipeline = new SyncEventPipeline(store, settings.getPipeline(), plugin.getLogger());
         provider.start(this::handleIncoming);
         monitor = new SyncHealthMonitor(plugin, this);
         monitor.start();
@@ -53,6 +57,11 @@ public class SyncBridge {
         if (provider != null) {
             provider.shutdown();
         }
+        if (pipeline != null) {
+            // Drain buffered events before the store's pool goes away.
+            pipeline.close();
+            pipeline = null;
+        }
         if (store != null) {
             store.shutdown();
         }
@@ -64,8 +73,7 @@ public class SyncBridge {
         }
         SyncEvent event = new SyncEvent(SyncEventType.CRATE_OPEN, settings.getServerId(), playerId, crateId, null, timestamp);
         provider.publish(event);
-        store.recordCrateOpen(playerId, crateId, event.timestamp(), settings.getServerId());
-        store.recordEvent(playerId, crateId, SyncEventType.CRATE_OPEN, null, event.timestamp(), settings.getServerId());
+        pipeline.submit(event);
     }
 
     public void recordRewardGranted(UUID playerId, String crateId, String rewardId, Instant timestamp) {
@@ -74,8 +82,7 @@ public class SyncBridge {
         }
         SyncEvent event = new SyncEvent(SyncEventType.REWARD_GRANTED, settings.getServerId(), playerId, crateId, rewardId, timestamp);
         provider.publish(event);
-        store.recordRewardGranted(playerId, crateId, rewardId, event.timestamp(), settings.getServerId());
-        store.recordEvent(playerId, crateId, SyncEventType.REWARD_GRANTED, rewardId, event.timestamp(), settings.getServerId());
+        pipeline.submit(event);
     }
 
     public void recordKeyConsumed(UUID playerId, String crateId, Instant timestamp) {
@@ -84,8 +91,7 @@ public class SyncBridge {
         }
         SyncEvent event = new SyncEvent(SyncEventType.KEY_CONSUMED, settings.getServerId(), playerId, crateId, null, timestamp);
         provider.publish(event);
-        store.recordKeyConsumed(playerId, crateId, event.timestamp(), settings.getServerId());
-        store.recordEvent(playerId, crateId, SyncEventType.KEY_CONSUMED, null, event.timestamp(), settings.getServerId());
+        pipeline.submit(event);
     }
 
     public void recordCooldown(UUID playerId, String crateId, Instant timestamp) {
@@ -94,20 +100,37 @@ public class SyncBridge {
         }
         SyncEvent event = new SyncEvent(SyncEventType.COOLDOWN_SET, settings.getServerId(), playerId, crateId, null, timestamp);
         provider.publish(event);
-        store.recordCooldown(playerId, crateId, event.timestamp(), settings.getServerId());
-        store.recordEvent(playerId, crateId, SyncEventType.COOLDOWN_SET, null, event.timestamp(), settings.getServerId());
+        pipeline.submit(event);
     }
 
     public void clearPlayerHistory(UUID playerId) {
         if (!settings.isEnabled() || store == null) {
             return;
         }
-        store.clearPlayerHistory(playerId);
+        if (pipeline == null) {
+            store.clearPlayerHistory(playerId);
+            return;
+        }
+        // Queued behind this player's buffered events, so they cannot reappear after the clear.
+        pipeline.afterPending(() -> store.clearPlayerHistory(playerId)).exceptionally(error -> {
+            plugin.getLogger().warning("[Sync] No se pudo borrar el historial de " + playerId + ": " + error.getMessage());
+            return null;
+        });
     }
 
     public void flush() {
-        store.flush();
-        sessionManager.flushSyncCaches();
+        if (pipeline == null) {
+            store.flush();
+            sessionManager.flushSyncCaches();
+            return;
+        }
+        // Truncate only after the buffered events are written, then reload the caches on the main thread.
+        pipeline.afterPending(store::flush)
+                .thenRun(() -> Bukkit.getScheduler().runTask(plugin, sessionManager::flushSyncCaches))
+                .exceptionally(error -> {
+                    plugin.getLogger().warning("[Sync] No se pudo vaciar el almacenamiento de sync: " + error.getMessage());
+                    return null;
+                });
     }
 
     public SyncProvider getProvider() {
@@ -118,11 +141,12 @@ public class SyncBridge {
         return store;
     }
 
-    public List<CrateHistoryEntry> getHistory(UUID playerId, String crateId, int limit, int offset) {
+    public List<CrateHistoryEntry> getHistory(UUID playerId, String crateId, HistoryCursor before, int limit) {
         if (!settings.isEnabled() || store == null) {
             return List.of();
         }
-        return store.getHistory(playerId, crateId, limit, offset);
+        // Reads never flush the pipeline: events still buffered show up after its next flush interval.
+        return store.getHistory(playerId, crateId, before, limit);
     }
 
     public boolean isHistoryAvailable() {
@@ -155,6 +179,12 @@ public class SyncBridge {
         lines.add("Server-ID: " + settings.getServerId());
         lines.add("Provider: " + provider.getName() + " (" + (provider.isHealthy() ? "ok" : "down") + ")");
         lines.add("Store: " + store.getName() + " (" + (store.isHealthy() ? "ok" : "down") + ")");
+        if (store instanceof PostgresSyncStore postgres) {
+            lines.addAll(postgres.getPoolStatusLines());
+        }
+        if (pipeline != null) {
+            lines.addAll(pipeline.getStatusLines());
+        }
         lines.add("Degraded: " + (degraded ? "yes" : "no"));
         if (monitor != null) {
             lines.add("Redis failures: " + monitor.getRedisFailures());
@@ -228,7 +258,12 @@ public class SyncBridge {
         }
 
         @Override
-        public List<CrateHistoryEntry> getHistory(UUID playerId, String crateId, int limit, int offset) {
+        public boolean recordEvents(List<SyncEvent> events) {
+            return true;
+        }
+
+        @Override
+        public List<CrateHistoryEntry> getHistory(UUID playerId, String crateId, HistoryCursor before, int limit) {
             return List.of();
         }
 
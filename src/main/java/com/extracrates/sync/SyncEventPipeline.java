@@ -0,0 +1,132 @@
+package com.extracrates.sync;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Buffers sync events off the caller thread and hands them to the store in batches,
+ * one transaction per batch.
+ */
+class SyncEventPipeline {
+    private final SyncStore store;
+    private final Logger logger;
+    private final BlockingQueue<SyncEvent> queue;
+    private final int batchSize;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final Object flushLock = new Object();
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicInteger maxDepth = new AtomicInteger();
+    private volatile long lastFlushMicros;
+    private volatile boolean closed;
+
+    SyncEventPipeline(SyncStore store, SyncSettings.PipelineSettings settings, Logger logger) {
+        this.store = store;
+        this.logger = logger;
+        this.queue = new ArrayBlockingQueue<>(settings.getQueueCapacity());
+        this.batchSize = settings.getBatchSize();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ExtraCrates-SyncPipeline");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = settings.getFlushIntervalMillis();
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    void submit(SyncEvent event) {
+        if (closed || !queue.offer(event)) {
+            // Sync history is best-effort: never block the caller when the store falls behind.
+            dropped.incrementAndGet();
+            return;
+        }
+        enqueued.incrementAndGet();
+        int depth = queue.size();
+        maxDepth.accumulateAndGet(depth, Math::max);
+        if (depth >= batchSize && flushScheduled.compareAndSet(false, true)) {
+            scheduler.execute(() -> {
+                flushScheduled.set(false);
+                flushQuietly();
+            });
+        }
+    }
+
+    void flush() {
+        synchronized (flushLock) {
+            List<SyncEvent> batch = new ArrayList<>(batchSize);
+            while (queue.drainTo(batch, batchSize) > 0) {
+                long start = System.nanoTime();
+                if (store.recordEvents(batch)) {
+                    written.addAndGet(batch.size());
+                } else {
+                    failed.addAndGet(batch.size());
+                }
+                batches.incrementAndGet();
+                lastFlushMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Runs {@code action} on the pipeline thread once every event queued before this call has been written, so
+     * callers never run store transactions themselves.
+     */
+    CompletableFuture<Void> afterPending(Runnable action) {
+        try {
+            return CompletableFuture.runAsync(() -> {
+                flushQuietly();
+                action.run();
+            }, scheduler);
+        } catch (RejectedExecutionException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    void close() {
+        closed = true;
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        flushQuietly();
+    }
+
+    List<String> getStatusLines() {
+        List<String> lines = new ArrayList<>();
+        lines.add("Pipeline: depth=" + queue.size() + "/" + (queue.size() + queue.remainingCapacity())
+                + " max=" + maxDepth.get());
+        lines.add("Pipeline: enqueued=" + enqueued.get()
+                + " written=" + written.get()
+                + " batches=" + batches.get()
+                + " last-flush=" + lastFlushMicros + "us");
+        lines.add("Pipeline: failed=" + failed.get() + " dropped=" + dropped.get());
+        return lines;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            logger.log(Level.WARNING, "[Sync] Error vaciando la cola de eventos", ex);
+        }
+    }
+}
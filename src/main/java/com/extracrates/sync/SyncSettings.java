@@ -1,5 +1,6 @@
 package com.extracrates.sync;
 
+import com.extracrates.storage.SqlPoolSettings;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 
@@ -9,13 +10,22 @@ public class SyncSettings {
     private final String serverId;
     private final RedisSettings redis;
     private final PostgresSettings postgres;
-
-    public SyncSettings(boolean enabled, SyncMode mode, String serverId, RedisSettings redis, PostgresSettings postgres) {
+    private final PipelineSettings pipeline;
+
+    public SyncSettings(
+            boolean enabled,
+            SyncMode mode,
+            String serverId,
+            RedisSettings redis,
+            PostgresSettings postgres,
+            PipelineSettings pipeline
+    ) {
         this.enabled = enabled;
         this.mode = mode;
         this.serverId = serverId;
         this.redis = redis;
         this.postgres = postgres;
+        this.pipeline = pipeline;
     }
 
     public boolean isEnabled() {
@@ -38,6 +48,10 @@ public class SyncSettings {
         return postgres;
     }
 
+    public PipelineSettings getPipeline() {
+        return pipeline;
+    }
+
     public static SyncSettings fromConfig(FileConfiguration config) {
         ConfigurationSection sync = config.getConfigurationSection("sync");
         boolean enabled = sync != null && sync.getBoolean("enabled", false);
@@ -45,7 +59,43 @@ public class SyncSettings {
         String serverId = sync != null ? sync.getString("server-id", "local") : "local";
         RedisSettings redis = RedisSettings.fromSection(sync != null ? sync.getConfigurationSection("redis") : null);
         PostgresSettings postgres = PostgresSettings.fromSection(sync != null ? sync.getConfigurationSection("postgres") : null);
-        return new SyncSettings(enabled, mode, serverId, redis, postgres);
+        PipelineSettings pipeline = PipelineSettings.fromSection(sync != null ? sync.getConfigurationSection("pipeline") : null);
+        return new SyncSettings(enabled, mode, serverId, redis, postgres, pipeline);
+    }
+
+    public static class PipelineSettings {
+        private final int batchSize;
+        private final long flushIntervalMillis;
+        private final int queueCapacity;
+
+        public PipelineSettings(int batchSize, long flushIntervalMillis, int queueCapacity) {
+            this.batchSize = batchSize;
+            this.flushIntervalMillis = flushIntervalMillis;
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public long getFlushIntervalMillis() {
+            return flushIntervalMillis;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public static PipelineSettings fromSection(ConfigurationSection section) {
+            if (section == null) {
+                return new PipelineSettings(100, 250L, 10000);
+            }
+            return new PipelineSettings(
+                    Math.max(1, section.getInt("batch-size", 100)),
+                    Math.max(10L, section.getLong("flush-interval-millis", 250L)),
+                    Math.max(1, section.getInt("queue-capacity", 10000))
+            );
+        }
     }
 
     public static class RedisSettings {
@@ -97,14 +147,24 @@ public class SyncSettings {
         private final String user;
         private final String password;
         private final String schema;
-
-        public PostgresSettings(String host, int port, String database, String user, String password, String schema) {
+        private final SqlPoolSettings pool;
+
+        public PostgresSettings(
+                String host,
+                int port,
+                String database,
+                String user,
+                String password,
+                String schema,
+                SqlPoolSettings pool
+        ) {
             this.host = host;
             this.port = port;
             this.database = database;
             this.user = user;
             this.password = password;
             this.schema = schema;
+            this.pool = pool;
         }
 
         public String getHost() {
@@ -131,9 +191,13 @@ public class SyncSettings {
             return schema;
         }
 
+        public SqlPoolSettings getPool() {
+            return pool;
+        }
+
         public static PostgresSettings fromSection(ConfigurationSection section) {
             if (section == null) {
-                return new PostgresSettings("localhost", 5432, "extracrates", "postgres", "", "public");
+                return new PostgresSettings("localhost", 5432, "extracrates", "postgres", "", "public", SqlPoolSettings.defaults());
             }
             return new PostgresSettings(
                     section.getString("host", "localhost"),
@@ -141,7 +205,8 @@ public class SyncSettings {
                     section.getString("database", "extracrates"),
                     section.getString("user", "postgres"),
                     section.getString("password", ""),
-                    section.getString("schema", "public")
+                    section.getString("schema", "public"),
+                    SqlPoolSettings.fromSection(section.getConfigurationSection("pool"))
             );
         }
     }
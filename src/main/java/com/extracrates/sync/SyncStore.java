@@ -1,5 +1,7 @@
 package com.extracrates.sync;
 
+import com.extracrates.storage.HistoryCursor;
+
 import java.time.Instant;
 import java.util.UUID;
 
@@ -16,7 +18,17 @@ public interface SyncStore {
 
     void recordEvent(UUID playerId, String crateId, SyncEventType type, String rewardId, Instant timestamp, String serverId);
 
-    java.util.List<CrateHistoryEntry> getHistory(UUID playerId, String crateId, int limit, int offset);
+    /**
+     * Writes the typed row and the history row of every event in a single transaction.
+     *
+     * @return {@code false} when the batch could not be written
+     */
+    boolean recordEvents(java.util.List<SyncEvent> events);
+
+    /**
+     * Returns up to {@code limit} history rows newest first, strictly older than {@code before} when given.
+     */
+    java.util.List<CrateHistoryEntry> getHistory(UUID playerId, String crateId, HistoryCursor before, int limit);
 
     void clearPlayerHistory(UUID playerId);
 
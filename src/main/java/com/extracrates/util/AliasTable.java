@@ -0,0 +1,102 @@
+package com.extracrates.util;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Immutable Vose alias table: O(n) to build, O(1) and allocation-free per sample.
+ */
+public final class AliasTable {
+    private final double[] probability;
+    private final int[] alias;
+    private final double total;
+
+    private AliasTable(double[] probability, int[] alias, double total) {
+        this.probability = probability;
+        this.alias = alias;
+        this.total = total;
+    }
+
+    /**
+     * Builds a table for the given non-negative weights, or returns {@code null} when they do not sum to a
+     * positive value (callers keep their uniform fallback for that case).
+     */
+    public static AliasTable build(double[] weights) {
+        int size = weights == null ? 0 : weights.length;
+        double total = 0;
+        for (int i = 0; i < size; i++) {
+            total += sanitize(weights[i]);
+        }
+        if (size == 0 || !(total > 0) || Double.isInfinite(total)) {
+            return null;
+        }
+        double[] probability = new double[size];
+        int[] alias = new int[size];
+        double[] scaled = new double[size];
+        int[] small = new int[size];
+        int[] large = new int[size];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < size; i++) {
+            scaled[i] = sanitize(weights[i]) * size / total;
+            if (scaled[i] < 1.0) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probability[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+            if (scaled[more] < 1.0) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        // Leftovers are 1.0 up to rounding error.
+        while (largeCount > 0) {
+            int index = large[--largeCount];
+            probability[index] = 1.0;
+            alias[index] = index;
+        }
+        while (smallCount > 0) {
+            int index = small[--smallCount];
+            probability[index] = 1.0;
+            alias[index] = index;
+        }
+        return new AliasTable(probability, alias, total);
+    }
+
+    /**
+     * Maps a uniform value in {@code [0, 1)} to an index: the integer part of {@code u * n} picks the column,
+     * the fractional part decides between the column and its alias.
+     */
+    public int sample(double uniform) {
+        int size = probability.length;
+        double scaled = uniform * size;
+        int column = (int) scaled;
+        if (column >= size) {
+            column = size - 1;
+        }
+        return scaled - column < probability[column] ? column : alias[column];
+    }
+
+    public int sample(RandomGenerator random) {
+        return sample(random.nextDouble());
+    }
+
+    public int size() {
+        return probability.length;
+    }
+
+    public double total() {
+        return total;
+    }
+
+    private static double sanitize(double weight) {
+        return weight > 0 && !Double.isNaN(weight) ? weight : 0.0;
+    }
+}
@@ -0,0 +1,132 @@
+package com.extracrates.util;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Weighted sampling without replacement over a Fenwick tree: O(log n) per draw, removal and range weight.
+ * Indices can be grouped into contiguous ranges so a draw can be restricted to one group.
+ * Not thread-safe; build one per roll sequence.
+ */
+public final class FenwickSampler {
+    private final double[] weights;
+    private final double[] tree;
+    private final double epsilon;
+    private double total;
+
+    public FenwickSampler(double[] weights) {
+        int size = weights.length;
+        this.weights = new double[size];
+        this.tree = new double[size + 1];
+        for (int i = 0; i < size; i++) {
+            double weight = weights[i] > 0 && !Double.isNaN(weights[i]) ? weights[i] : 0.0;
+            this.weights[i] = weight;
+            total += weight;
+            tree[i + 1] += weight;
+            int parent = (i + 1) + ((i + 1) & -(i + 1));
+            if (parent <= size) {
+                tree[parent] += tree[i + 1];
+            }
+        }
+        // Removals subtract floating point values; anything below this is treated as empty.
+        this.epsilon = total * 1.0e-12;
+    }
+
+    public static FenwickSampler uniform(int size) {
+        double[] weights = new double[size];
+        Arrays.fill(weights, 1.0);
+        return new FenwickSampler(weights);
+    }
+
+    public int size() {
+        return weights.length;
+    }
+
+    public boolean isEmpty() {
+        return total <= epsilon;
+    }
+
+    public double totalWeight() {
+        return total;
+    }
+
+    public double weight(int index) {
+        return weights[index];
+    }
+
+    /**
+     * Sum of the remaining weights in {@code [from, to)}.
+     */
+    public double weight(int from, int to) {
+        double sum = prefix(to) - prefix(from);
+        return sum <= epsilon ? 0.0 : sum;
+    }
+
+    /**
+     * Sum of the remaining weights in {@code [0, end)}.
+     */
+    public double prefix(int end) {
+        double sum = 0;
+        for (int i = end; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Maps a uniform value in {@code [0, 1)} to a remaining index in {@code [from, to)}, or {@code -1} when the
+     * range is empty. The index is not removed.
+     */
+    public int draw(double uniform, int from, int to) {
+        double rangeWeight = weight(from, to);
+        if (rangeWeight <= 0) {
+            return -1;
+        }
+        int index = find(prefix(from) + uniform * rangeWeight);
+        if (index < from || index >= to || weights[index] <= 0) {
+            // Rounding pushed the target onto a boundary: take the last remaining index of the range.
+            index = to - 1;
+            while (index >= from && weights[index] <= 0) {
+                index--;
+            }
+        }
+        return index >= from ? index : -1;
+    }
+
+    public int draw(double uniform) {
+        return draw(uniform, 0, weights.length);
+    }
+
+    public int drawAndRemove(RandomGenerator random) {
+        int index = draw(random.nextDouble());
+        if (index >= 0) {
+            remove(index);
+        }
+        return index;
+    }
+
+    public void remove(int index) {
+        double weight = weights[index];
+        if (weight <= 0) {
+            return;
+        }
+        weights[index] = 0.0;
+        total -= weight;
+        for (int i = index + 1; i < tree.length; i += i & -i) {
+            tree[i] -= weight;
+        }
+    }
+
+    private int find(double target) {
+        int position = 0;
+        double remaining = target;
+        for (int step = Integer.highestOneBit(weights.length); step > 0; step >>= 1) {
+            int next = position + step;
+            if (next <= weights.length && tree[next] <= remaining) {
+                position = next;
+                remaining -= tree[next];
+            }
+        }
+        return position;
+    }
+}
@@ -0,0 +1,210 @@
+package com.extracrates.util;
+
+import com.extracrates.model.RarityDefinition;
+import com.extracrates.model.Reward;
+import com.extracrates.model.RewardPool;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Monte-Carlo check of a reward pool: draws {@code rolls} rewards through the pool's compiled alias table (what
+ * {@link RewardSelector} uses) and {@code rolls} rarities through the rarity sampler, split across a fork-join
+ * pool with one {@link SplittableRandom} stream per task. Runs are reproducible for a given seed.
+ */
+public final class PoolSimulator {
+    private static final long LEAF_ROLLS = 1L << 20;
+
+    private PoolSimulator() {
+    }
+
+    public static Report run(
+            RewardPool pool,
+            WeightedTable<RarityDefinition> rarities,
+            long rolls,
+            long seed,
+            ForkJoinPool executor
+    ) {
+        RewardPool compiled = pool.isCompiled() ? pool : pool.compile();
+        WeightedTable<RarityDefinition> rarityTable = rarities == null ? WeightedTable.empty() : rarities;
+        List<Reward> rewards = compiled.rewards();
+        List<RarityDefinition> rarityItems = rarityTable.items();
+        long start = System.nanoTime();
+        Counts counts = executor.invoke(new RollTask(
+                compiled.aliasTable(),
+                rewards.size(),
+                rarityTable,
+                Math.max(0L, rolls),
+                new SplittableRandom(seed)
+        ));
+        long elapsed = System.nanoTime() - start;
+
+        double[] rewardWeights = new double[rewards.size()];
+        List<String> rewardIds = new ArrayList<>(rewards.size());
+        for (int i = 0; i < rewardWeights.length; i++) {
+            rewardWeights[i] = rewards.get(i).chance();
+            rewardIds.add(rewards.get(i).id());
+        }
+        double[] rarityWeights = new double[rarityItems.size()];
+        List<String> rarityIds = new ArrayList<>(rarityItems.size());
+        for (int i = 0; i < rarityWeights.length; i++) {
+            rarityWeights[i] = rarityItems.get(i).chance();
+            rarityIds.add(rarityItems.get(i).id());
+        }
+        return new Report(
+                compiled.id(),
+                rolls,
+                seed,
+                elapsed,
+                executor.getParallelism(),
+                Distribution.of(rewardIds, rewardWeights, counts.rewards, rolls),
+                Distribution.of(rarityIds, rarityWeights, counts.rarities, rolls)
+        );
+    }
+
+    public record Report(
+            String poolId,
+            long rolls,
+            long seed,
+            long elapsedNanos,
+            int parallelism,
+            Distribution rewards,
+            Distribution rarities
+    ) {
+        public double rollsPerSecond() {
+            return elapsedNanos <= 0 ? 0.0 : rolls * 1_000_000_000.0 / elapsedNanos;
+        }
+    }
+
+    /**
+     * Observed vs configured frequencies of one sampler, with Pearson's chi-square over the outcomes that have
+     * a positive configured probability.
+     */
+    public record Distribution(List<Outcome> outcomes, double chiSquare, int degreesOfFreedom, double pValue) {
+        static Distribution of(List<String> ids, double[] weights, long[] counts, long rolls) {
+            double total = 0;
+            for (double weight : weights) {
+                total += sanitize(weight);
+            }
+            List<Outcome> outcomes = new ArrayList<>(ids.size());
+            double chiSquare = 0;
+            int categories = 0;
+            for (int i = 0; i < ids.size(); i++) {
+                double expected = total > 0 ? sanitize(weights[i]) / total : 1.0 / ids.size();
+                double observed = rolls > 0 ? (double) counts[i] / rolls : 0.0;
+                outcomes.add(new Outcome(ids.get(i), counts[i], observed, expected));
+                if (expected > 0 && rolls > 0) {
+                    double expectedCount = expected * rolls;
+                    double diff = counts[i] - expectedCount;
+                    chiSquare += diff * diff / expectedCount;
+                    categories++;
+                }
+            }
+            int degreesOfFreedom = Math.max(0, categories - 1);
+            return new Distribution(List.copyOf(outcomes), chiSquare, degreesOfFreedom, chiSquarePValue(chiSquare, degreesOfFreedom));
+        }
+    }
+
+    public record Outcome(String id, long count, double observed, double expected) {
+        public double deviation() {
+            return observed - expected;
+        }
+
+        /**
+         * Deviation in binomial standard errors, used to rank which outcomes drift the most.
+         */
+        public double zScore(long rolls) {
+            double variance = expected * (1.0 - expected) / Math.max(1L, rolls);
+            return variance > 0 ? deviation() / Math.sqrt(variance) : (count > 0 ? Double.POSITIVE_INFINITY : 0.0);
+        }
+    }
+
+    /**
+     * Upper-tail probability of the chi-square distribution using the Wilson-Hilferty normal approximation,
+     * which is accurate to a few decimals for the degrees of freedom a pool has.
+     */
+    static double chiSquarePValue(double chiSquare, int degreesOfFreedom) {
+        if (degreesOfFreedom <= 0) {
+            return 1.0;
+        }
+        double k = degreesOfFreedom;
+        double variance = 2.0 / (9.0 * k);
+        double z = (Math.cbrt(chiSquare / k) - (1.0 - variance)) / Math.sqrt(variance);
+        return 0.5 * erfc(z / Math.sqrt(2.0));
+    }
+
+    private static double erfc(double x) {
+        // Numerical Recipes erfc approximation, relative error below 1.2e-7.
+        double z = Math.abs(x);
+        double t = 1.0 / (1.0 + 0.5 * z);
+        double r = t * Math.exp(-z * z - 1.26551223 + t * (1.00002368 + t * (0.37409196 + t * (0.09678418
+                + t * (-0.18628806 + t * (0.27886807 + t * (-1.13520398 + t * (1.48851587
+                + t * (-0.82215223 + t * 0.17087277)))))))));
+        return x >= 0 ? r : 2.0 - r;
+    }
+
+    private static double sanitize(double weight) {
+        return weight > 0 && Double.isFinite(weight) ? weight : 0.0;
+    }
+
+    private record Counts(long[] rewards, long[] rarities) {
+        Counts merge(Counts other) {
+            for (int i = 0; i < rewards.length; i++) {
+                rewards[i] += other.rewards[i];
+            }
+            for (int i = 0; i < rarities.length; i++) {
+                rarities[i] += other.rarities[i];
+            }
+            return this;
+        }
+    }
+
+    private static final class RollTask extends RecursiveTask<Counts> {
+        private final AliasTable rewardTable;
+        private final int rewardCount;
+        private final WeightedTable<RarityDefinition> rarities;
+        private final long rolls;
+        private final SplittableRandom random;
+
+        private RollTask(
+                AliasTable rewardTable,
+                int rewardCount,
+                WeightedTable<RarityDefinition> rarities,
+                long rolls,
+                SplittableRandom random
+        ) {
+            this.rewardTable = rewardTable;
+            this.rewardCount = rewardCount;
+            this.rarities = rarities;
+            this.rolls = rolls;
+            this.random = random;
+        }
+
+        @Override
+        protected Counts compute() {
+            if (rolls > LEAF_ROLLS) {
+                long half = rolls >>> 1;
+                RollTask left = new RollTask(rewardTable, rewardCount, rarities, half, random.split());
+                left.fork();
+                Counts right = new RollTask(rewardTable, rewardCount, rarities, rolls - half, random).compute();
+                return right.merge(left.join());
+            }
+            long[] rewardCounts = new long[rewardCount];
+            long[] rarityCounts = new long[rarities.items().size()];
+            boolean sampleRewards = rewardCount > 0;
+            boolean sampleRarities = !rarities.isEmpty();
+            for (long i = 0; i < rolls; i++) {
+                if (sampleRewards) {
+                    rewardCounts[rewardTable != null ? rewardTable.sample(random) : random.nextInt(rewardCount)]++;
+                }
+                if (sampleRarities) {
+                    rarityCounts[rarities.sampleIndex(random)]++;
+                }
+            }
+            return new Counts(rewardCounts, rarityCounts);
+        }
+    }
+}
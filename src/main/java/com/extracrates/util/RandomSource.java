@@ -0,0 +1,93 @@
+package com.extracrates.util;
+
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * Supplies the generator used for each crate open. Seeded sources derive every open from a fresh 64-bit seed,
+ * so a logged seed replays the same rolls with {@link #generator(long)}; the thread-local source trades
+ * replayability for zero allocation.
+ */
+public interface RandomSource {
+    /**
+     * Seed for a new open; only meaningful when {@link #isReplayable()}.
+     */
+    long nextSeed();
+
+    /**
+     * Generator for one open. Replayable sources return a fresh generator fully determined by {@code seed}.
+     */
+    RandomGenerator generator(long seed);
+
+    boolean isReplayable();
+
+    String name();
+
+    static RandomSource fromName(String name) {
+        String normalized = name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+        return switch (normalized) {
+            case "splittable", "splittablerandom" -> seeded("SplittableRandom", SplittableRandom::new);
+            case "thread-local", "threadlocal", "threadlocalrandom" -> threadLocal();
+            default -> {
+                RandomGeneratorFactory<RandomGenerator> factory = RandomGeneratorFactory.of("L64X128MixRandom");
+                yield seeded("L64X128MixRandom", factory::create);
+            }
+        };
+    }
+
+    static RandomSource seeded(String name, SeededFactory factory) {
+        return new RandomSource() {
+            @Override
+            public long nextSeed() {
+                return ThreadLocalRandom.current().nextLong();
+            }
+
+            @Override
+            public RandomGenerator generator(long seed) {
+                return factory.create(seed);
+            }
+
+            @Override
+            public boolean isReplayable() {
+                return true;
+            }
+
+            @Override
+            public String name() {
+                return name;
+            }
+        };
+    }
+
+    static RandomSource threadLocal() {
+        return new RandomSource() {
+            @Override
+            public long nextSeed() {
+                return 0L;
+            }
+
+            @Override
+            public RandomGenerator generator(long seed) {
+                return ThreadLocalRandom.current();
+            }
+
+            @Override
+            public boolean isReplayable() {
+                return false;
+            }
+
+            @Override
+            public String name() {
+                return "ThreadLocalRandom";
+            }
+        };
+    }
+
+    @FunctionalInterface
+    interface SeededFactory {
+        RandomGenerator create(long seed);
+    }
+}
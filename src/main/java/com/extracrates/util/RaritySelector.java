@@ -4,13 +4,13 @@ import com.extracrates.model.RarityDefinition;
 
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 public final class RaritySelector {
     private RaritySelector() {
     }
 
-    public static RarityDefinition select(Map<String, RarityDefinition> rarities, Random random) {
+    public static RarityDefinition select(Map<String, RarityDefinition> rarities, RandomGenerator random) {
         if (rarities == null || rarities.isEmpty()) {
             return null;
         }
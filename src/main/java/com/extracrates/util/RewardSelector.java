@@ -1,11 +1,15 @@
 package com.extracrates.util;
 
+import com.extracrates.model.RarityDefinition;
 import com.extracrates.model.Reward;
 import com.extracrates.model.RewardPool;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Utility class for rolling rewards, exposed for integrations and tests.
@@ -16,14 +20,14 @@ public final class RewardSelector {
 
     @SuppressWarnings("unused")
     public static List<Reward> roll(RewardPool pool) {
-        return roll(pool, new Random(), null);
+        return roll(pool, ThreadLocalRandom.current(), null);
     }
 
-    public static List<Reward> roll(RewardPool pool, Random random, RewardRollLogger logger) {
+    public static List<Reward> roll(RewardPool pool, RandomGenerator random, RewardRollLogger logger) {
         return roll(pool, random, logger, RewardSelectorSettings.disabled());
     }
 
-    public static List<Reward> roll(RewardPool pool, Random random, RewardRollLogger logger, RewardSelectorSettings settings) {
+    public static List<Reward> roll(RewardPool pool, RandomGenerator random, RewardRollLogger logger, RewardSelectorSettings settings) {
         List<Reward> results = new ArrayList<>();
         if (pool == null || pool.rewards().isEmpty()) {
             return results;
@@ -31,21 +35,146 @@ public final class RewardSelector {
         RewardSelectorSettings safeSettings = settings == null ? RewardSelectorSettings.disabled() : settings;
         warnIfNeeded(pool, safeSettings);
         int rolls = Math.max(1, pool.rollCount());
-        List<Reward> available = pool.preventDuplicateItems() ? new ArrayList<>(pool.rewards()) : null;
+        if (pool.preventDuplicateItems()) {
+            return rollDistinct(pool, rolls, random, logger, safeSettings);
+        }
+        // Pools are compiled once at load; uncompiled ones and ones without positive chances take the linear scan.
+        AliasTable table = pool.aliasTable();
         for (int i = 0; i < rolls; i++) {
-            RewardRollResult result = selectOne(pool.rewards(), random, safeSettings);
-            results.add(result.reward());
-            if (available != null && !available.isEmpty()) {
-                available.remove(result.reward());
+            Reward reward;
+            if (table != null) {
+                double uniform = random.nextDouble();
+                reward = pool.rewards().get(table.sample(uniform));
+                if (logger != null) {
+                    boolean normalized = safeSettings.normalizeChances();
+                    logger.log(reward, normalized ? uniform : uniform * table.total(), normalized ? 1.0 : table.total());
+                }
+            } else {
+                RewardRollResult result = selectOne(pool.rewards(), random, safeSettings);
+                reward = result.reward();
+                if (logger != null) {
+                    logger.log(reward, result.roll(), result.total());
+                }
             }
+            results.add(reward);
+        }
+        return results;
+    }
+
+    /**
+     * Rolls without replacement: each winner is removed from the remaining weight, so a pool never yields the
+     * same reward twice and stops early once every reward with a positive chance has been drawn.
+     */
+    private static List<Reward> rollDistinct(
+            RewardPool pool,
+            int rolls,
+            RandomGenerator random,
+            RewardRollLogger logger,
+            RewardSelectorSettings settings
+    ) {
+        List<Reward> rewards = pool.rewards();
+        double[] weights = new double[rewards.size()];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = rewards.get(i).chance();
+        }
+        FenwickSampler sampler = new FenwickSampler(weights);
+        if (sampler.isEmpty()) {
+            sampler = FenwickSampler.uniform(rewards.size());
+        }
+        List<Reward> results = new ArrayList<>(Math.min(rolls, rewards.size()));
+        for (int i = 0; i < rolls && !sampler.isEmpty(); i++) {
+            double total = sampler.totalWeight();
+            double uniform = random.nextDouble();
+            int index = sampler.draw(uniform);
+            if (index < 0) {
+                break;
+            }
+            sampler.remove(index);
+            Reward reward = rewards.get(index);
+            results.add(reward);
             if (logger != null) {
-                logger.log(result.reward(), result.roll(), result.total());
+                boolean normalized = settings.normalizeChances();
+                logger.log(reward, normalized ? uniform : uniform * total, normalized ? 1.0 : total);
             }
         }
         return results;
     }
 
-    public static RewardRollResult rollOne(List<Reward> rewards, Random random, RewardSelectorSettings settings) {
+    /**
+     * Uniform rolls without replacement over a Fenwick tree. With a {@code raritySampler}, candidates are laid out
+     * bucket by bucket in the pool's rarity index order, so a rolled rarity draws (and removes) only from its
+     * remaining rewards in O(log n) and a given seed always yields the same rewards.
+     */
+    public static List<Reward> rollDistinctUniform(
+            RewardPool pool,
+            List<Reward> candidates,
+            int rolls,
+            WeightedTable<RarityDefinition> raritySampler,
+            RandomGenerator random,
+            RewardRollLogger logger
+    ) {
+        List<Reward> ordered = candidates;
+        Map<String, int[]> rarityRanges = Map.of();
+        if (raritySampler != null) {
+            // Lay the pool out bucket by bucket from its precompiled rarity index.
+            Map<String, List<Reward>> buckets = pool.isCompiled() ? pool.rarityBuckets() : pool.compile().rarityBuckets();
+            ordered = new ArrayList<>(candidates.size());
+            rarityRanges = new HashMap<>();
+            for (Map.Entry<String, List<Reward>> bucket : buckets.entrySet()) {
+                rarityRanges.put(bucket.getKey(), new int[]{ordered.size(), ordered.size() + bucket.getValue().size()});
+                ordered.addAll(bucket.getValue());
+            }
+            for (Reward reward : candidates) {
+                if (reward.rarity() == null || reward.rarity().isBlank()) {
+                    ordered.add(reward);
+                }
+            }
+        }
+        FenwickSampler sampler = FenwickSampler.uniform(ordered.size());
+        List<Reward> results = new ArrayList<>(Math.min(rolls, ordered.size()));
+        for (int i = 0; i < rolls && !sampler.isEmpty(); i++) {
+            int from = 0;
+            int to = ordered.size();
+            if (raritySampler != null) {
+                RarityDefinition rarity = raritySampler.sample(random);
+                int[] range = rarity == null ? null : rarityRanges.get(rarity.id());
+                if (range != null && sampler.weight(range[0], range[1]) > 0) {
+                    from = range[0];
+                    to = range[1];
+                }
+            }
+            int remaining = (int) sampler.weight(from, to);
+            int index = sampler.draw(random.nextDouble(), from, to);
+            if (index < 0) {
+                break;
+            }
+            int rank = (int) sampler.weight(from, index) + 1;
+            sampler.remove(index);
+            Reward reward = ordered.get(index);
+            results.add(reward);
+            if (logger != null) {
+                logger.log(reward, rank, remaining);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Draws one reward from the pool's precompiled alias table in O(1) without allocating.
+     * Pools without a table (not compiled, or no positive chance) fall back to a uniform pick.
+     */
+    public static Reward sample(RewardPool pool, RandomGenerator random) {
+        if (pool == null || pool.rewards().isEmpty()) {
+            return null;
+        }
+        AliasTable table = pool.aliasTable();
+        if (table == null) {
+            return pool.rewards().get(random.nextInt(pool.rewards().size()));
+        }
+        return pool.rewards().get(table.sample(random));
+    }
+
+    public static RewardRollResult rollOne(List<Reward> rewards, RandomGenerator random, RewardSelectorSettings settings) {
         if (rewards == null || rewards.isEmpty()) {
             return null;
         }
@@ -64,8 +193,11 @@ public final class RewardSelector {
         }
     }
 
-    private static RewardRollResult selectOne(List<Reward> rewards, Random random, RewardSelectorSettings settings) {
-        double total = rewards.stream().mapToDouble(Reward::chance).sum();
+    private static RewardRollResult selectOne(List<Reward> rewards, RandomGenerator random, RewardSelectorSettings settings) {
+        double total = 0;
+        for (Reward reward : rewards) {
+            total += reward.chance();
+        }
         if (total <= 0) {
             double roll = random.nextDouble();
             Reward reward = rewards.get(random.nextInt(rewards.size()));
@@ -0,0 +1,64 @@
+package com.extracrates.util;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+import java.util.random.RandomGenerator;
+
+/**
+ * Immutable list of items with a precompiled {@link AliasTable} over their weights. Items are drawn in O(1);
+ * when no weight is positive every item is equally likely.
+ */
+public final class WeightedTable<T> {
+    private static final WeightedTable<?> EMPTY = new WeightedTable<>(List.of(), null);
+
+    private final List<T> items;
+    private final AliasTable table;
+
+    private WeightedTable(List<T> items, AliasTable table) {
+        this.items = items;
+        this.table = table;
+    }
+
+    public static <T> WeightedTable<T> of(Collection<? extends T> items, ToDoubleFunction<? super T> weight) {
+        if (items == null || items.isEmpty()) {
+            return empty();
+        }
+        List<T> copy = List.copyOf(items);
+        double[] weights = new double[copy.size()];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = weight.applyAsDouble(copy.get(i));
+        }
+        return new WeightedTable<>(copy, AliasTable.build(weights));
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> WeightedTable<T> empty() {
+        return (WeightedTable<T>) EMPTY;
+    }
+
+    public T sample(RandomGenerator random) {
+        if (items.isEmpty()) {
+            return null;
+        }
+        return items.get(sampleIndex(random));
+    }
+
+    /**
+     * Index into {@link #items()} of a weighted draw; callers must check {@link #isEmpty()} first.
+     */
+    public int sampleIndex(RandomGenerator random) {
+        if (table == null) {
+            return random.nextInt(items.size());
+        }
+        return table.sample(random);
+    }
+
+    public List<T> items() {
+        return items;
+    }
+
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+}
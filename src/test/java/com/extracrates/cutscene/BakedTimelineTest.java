@@ -0,0 +1,89 @@
+package com.extracrates.cutscene;
+
+import org.bukkit.Location;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BakedTimelineTest {
+
+    @Test
+    void bakesLinearSegmentAtStepResolution() {
+        BakedTimeline timeline = BakedTimeline.bake(path(Set.of(), point(0, 0, 0, 0), point(10, 0, 0, 0)));
+
+        assertEquals(3, timeline.size());
+        assertEquals(0.0, timeline.x(0), 1.0e-9);
+        assertEquals(5.0, timeline.x(1), 1.0e-9);
+        assertEquals(10.0, timeline.x(2), 1.0e-9);
+        assertFalse(timeline.isJump(1));
+    }
+
+    @Test
+    void sampleInterpolatesBetweenFramesAndClampsToEnds() {
+        BakedTimeline timeline = BakedTimeline.bake(path(Set.of(), point(0, 0, 0, 0), point(10, 0, 0, 0)));
+        Location target = new Location(null, 0, 0, 0);
+
+        assertEquals(2.5, timeline.sample(0.5, target).getX(), 1.0e-9);
+        assertEquals(7.5, timeline.sample(1.5, target).getX(), 1.0e-9);
+        assertEquals(0.0, timeline.sample(-1.0, target).getX(), 1.0e-9);
+        assertEquals(10.0, timeline.sample(5.0, target).getX(), 1.0e-9);
+    }
+
+    @Test
+    void sampleTurnsTheShortWayAcrossTheYawSeam() {
+        BakedTimeline timeline = BakedTimeline.bake(path(Set.of(), point(0, 0, 0, 170), point(10, 0, 0, -170)));
+        Location target = new Location(null, 0, 0, 0);
+
+        assertEquals(175.0f, timeline.sample(0.5, target).getYaw(), 1.0e-4f);
+        assertEquals(-175.0f, timeline.sample(1.5, target).getYaw(), 1.0e-4f);
+    }
+
+    @Test
+    void directJumpInFirstSegmentIsNotInterpolated() {
+        BakedTimeline timeline = BakedTimeline.bake(path(
+                Set.of(1),
+                point(0, 0, 0, 0),
+                point(100, 0, 0, 0),
+                point(100, 0, 10, 0)
+        ));
+        Location target = new Location(null, 0, 0, 0);
+
+        // Both frames of the jump belong to segment 0.
+        assertEquals(timeline.segmentIndex(0), timeline.segmentIndex(1));
+        assertTrue(timeline.isJump(1));
+        assertEquals(0.0, timeline.sample(0.5, target).getX(), 1.0e-9);
+        assertEquals(0.0, timeline.sample(0.99, target).getX(), 1.0e-9);
+        assertEquals(100.0, timeline.sample(1.0, target).getX(), 1.0e-9);
+        assertEquals(2.5, timeline.sample(2.5, target).getZ(), 1.0e-9);
+    }
+
+    @Test
+    void directJumpMidPathIsNotInterpolated() {
+        BakedTimeline timeline = BakedTimeline.bake(path(
+                Set.of(2),
+                point(0, 0, 0, 0),
+                point(10, 0, 0, 0),
+                point(50, 0, 0, 0)
+        ));
+        Location target = new Location(null, 0, 0, 0);
+
+        assertEquals(4, timeline.size());
+        assertTrue(timeline.isJump(3));
+        assertEquals(10.0, timeline.sample(2.5, target).getX(), 1.0e-9);
+        assertEquals(50.0, timeline.sample(3.0, target).getX(), 1.0e-9);
+    }
+
+    private static CutscenePath path(Set<Integer> directPoints, CutscenePoint... points) {
+        return new CutscenePath("test", 4.0, true, 5.0, "linear", "", null, List.of(points), directPoints,
+                List.of(), List.of(), List.of());
+    }
+
+    private static CutscenePoint point(double x, double y, double z, float yaw) {
+        return new CutscenePoint(x, y, z, yaw, 0.0f);
+    }
+}
@@ -0,0 +1,131 @@
+package com.extracrates.runtime;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class EntityOwnerIndexTest {
+    private static final int OWNER = 7;
+    private static final int OTHER_OWNER = 8;
+
+    @Test
+    void emptyIndexHasNoOwners() {
+        assertEquals(0, EntityOwnerIndex.EMPTY.size());
+        assertEquals(EntityOwnerIndex.NO_OWNER, EntityOwnerIndex.EMPTY.ownerOf(0));
+        assertEquals(EntityOwnerIndex.NO_OWNER, EntityOwnerIndex.EMPTY.ownerOf(Integer.MAX_VALUE));
+    }
+
+    @Test
+    void insertedIdsResolveToTheirOwner() {
+        EntityOwnerIndex index = EntityOwnerIndex.EMPTY.with(new int[]{10, 20, 30}, OWNER);
+
+        assertEquals(3, index.size());
+        assertEquals(OWNER, index.ownerOf(10));
+        assertEquals(OWNER, index.ownerOf(20));
+        assertEquals(OWNER, index.ownerOf(30));
+        assertEquals(EntityOwnerIndex.NO_OWNER, index.ownerOf(15));
+    }
+
+    @Test
+    void withLeavesTheOriginalIndexUntouched() {
+        EntityOwnerIndex first = EntityOwnerIndex.EMPTY.with(new int[]{10}, OWNER);
+        EntityOwnerIndex second = first.with(new int[]{20}, OTHER_OWNER);
+
+        assertEquals(1, first.size());
+        assertEquals(EntityOwnerIndex.NO_OWNER, first.ownerOf(20));
+        assertEquals(OTHER_OWNER, second.ownerOf(20));
+        assertEquals(OWNER, second.ownerOf(10));
+    }
+
+    @Test
+    void removedIdsHaveNoOwner() {
+        EntityOwnerIndex index = EntityOwnerIndex.EMPTY.with(new int[]{10, 20, 30}, OWNER)
+                .without(new int[]{20});
+
+        assertEquals(2, index.size());
+        assertEquals(OWNER, index.ownerOf(10));
+        assertEquals(EntityOwnerIndex.NO_OWNER, index.ownerOf(20));
+        assertEquals(OWNER, index.ownerOf(30));
+    }
+
+    @Test
+    void removingAbsentIdsReturnsTheSameIndex() {
+        EntityOwnerIndex index = EntityOwnerIndex.EMPTY.with(new int[]{10, 20}, OWNER);
+
+        assertSame(index, index.without(new int[]{5, 15, 25}));
+        assertSame(index, index.without(new int[0]));
+    }
+
+    @Test
+    void removingEveryIdReturnsTheEmptyIndex() {
+        EntityOwnerIndex index = EntityOwnerIndex.EMPTY.with(new int[]{10, 20}, OWNER);
+
+        assertSame(EntityOwnerIndex.EMPTY, index.without(new int[]{10, 20}));
+    }
+
+    @Test
+    void reowningAnIdReplacesItsOwner() {
+        EntityOwnerIndex index = EntityOwnerIndex.EMPTY.with(new int[]{10, 20}, OWNER)
+                .with(new int[]{20}, OTHER_OWNER);
+
+        assertEquals(2, index.size());
+        assertEquals(OWNER, index.ownerOf(10));
+        assertEquals(OTHER_OWNER, index.ownerOf(20));
+    }
+
+    @Test
+    void collidingIdsAreAllReachableByProbing() {
+        // Far more ids than the minimum capacity, so most of them share a home slot with another id.
+        int[] ids = new int[1000];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = i * 2;
+        }
+        EntityOwnerIndex index = EntityOwnerIndex.EMPTY.with(ids, OWNER);
+
+        assertEquals(ids.length, index.size());
+        for (int i = 0; i < ids.length; i++) {
+            assertEquals(OWNER, index.ownerOf(i * 2));
+            assertEquals(EntityOwnerIndex.NO_OWNER, index.ownerOf(i * 2 + 1));
+        }
+    }
+
+    @Test
+    void probeChainsSurviveRemovalInTheMiddle() {
+        int[] ids = new int[64];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = i << 16;
+        }
+        EntityOwnerIndex index = EntityOwnerIndex.EMPTY.with(ids, OWNER);
+        int[] removed = new int[ids.length / 2];
+        for (int i = 0; i < removed.length; i++) {
+            removed[i] = ids[i * 2];
+        }
+        index = index.without(removed);
+
+        assertEquals(ids.length - removed.length, index.size());
+        for (int i = 0; i < ids.length; i++) {
+            assertEquals(i % 2 == 0 ? EntityOwnerIndex.NO_OWNER : OWNER, index.ownerOf(ids[i]));
+        }
+    }
+
+    @Test
+    void idsOutsideTheTrackedRangeHaveNoOwner() {
+        EntityOwnerIndex index = EntityOwnerIndex.EMPTY.with(new int[]{100, 200}, OWNER);
+
+        assertEquals(EntityOwnerIndex.NO_OWNER, index.ownerOf(99));
+        assertEquals(EntityOwnerIndex.NO_OWNER, index.ownerOf(201));
+        assertEquals(EntityOwnerIndex.NO_OWNER, index.ownerOf(Integer.MIN_VALUE));
+        assertEquals(EntityOwnerIndex.NO_OWNER, index.ownerOf(Integer.MAX_VALUE));
+    }
+
+    @Test
+    void rangeShrinksWhenTheExtremeIdsAreRemoved() {
+        EntityOwnerIndex index = EntityOwnerIndex.EMPTY.with(new int[]{-50, 100, 200}, OWNER)
+                .without(new int[]{-50, 200});
+
+        assertEquals(OWNER, index.ownerOf(100));
+        assertEquals(EntityOwnerIndex.NO_OWNER, index.ownerOf(-50));
+        assertEquals(EntityOwnerIndex.NO_OWNER, index.ownerOf(200));
+    }
+}
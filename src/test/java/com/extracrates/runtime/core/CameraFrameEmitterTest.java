@@ -0,0 +1,87 @@
+package com.extracrates.runtime.core;
+
+import org.bukkit.Location;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CameraFrameEmitterTest {
+
+    @Test
+    void firstFrameIsAlwaysSent() {
+        CameraFrameEmitter emitter = new CameraFrameEmitter(1.0, 5.0);
+
+        assertTrue(emitter.accept(at(0, 0, 0), false));
+        assertEquals(1, emitter.getSent());
+    }
+
+    @Test
+    void framesWithinBothThresholdsAreCoalesced() {
+        CameraFrameEmitter emitter = new CameraFrameEmitter(1.0, 5.0);
+        emitter.accept(at(0, 0, 0), false);
+
+        assertFalse(emitter.accept(at(0, 0, 0), false));
+        assertFalse(emitter.accept(at(0.5, 0, 0.5), false));
+        assertFalse(emitter.accept(at(0.5, 0, 0.5, 4.0f, 0.0f), false));
+        assertEquals(1, emitter.getSent());
+        assertEquals(3, emitter.getSkipped());
+    }
+
+    @Test
+    void distanceOrRotationOverThresholdIsSent() {
+        CameraFrameEmitter emitter = new CameraFrameEmitter(1.0, 5.0);
+        emitter.accept(at(0, 0, 0), false);
+
+        assertTrue(emitter.accept(at(1.5, 0, 0), false));
+        assertTrue(emitter.accept(at(1.5, 0, 0, 6.0f, 0.0f), false));
+        assertTrue(emitter.accept(at(1.5, 0, 0, 6.0f, -6.0f), false));
+        assertEquals(4, emitter.getSent());
+    }
+
+    @Test
+    void deltasAreMeasuredFromTheLastSentFrame() {
+        CameraFrameEmitter emitter = new CameraFrameEmitter(1.0, 5.0);
+        emitter.accept(at(0, 0, 0), false);
+
+        assertFalse(emitter.accept(at(0.6, 0, 0), false));
+        // 1.2 from the last sent frame even though only 0.6 from the skipped one.
+        assertTrue(emitter.accept(at(1.2, 0, 0), false));
+    }
+
+    @Test
+    void yawDeltaWrapsAroundTheSeam() {
+        CameraFrameEmitter emitter = new CameraFrameEmitter(1.0, 5.0);
+        emitter.accept(at(0, 0, 0, 179.0f, 0.0f), false);
+
+        assertFalse(emitter.accept(at(0, 0, 0, -179.0f, 0.0f), false));
+    }
+
+    @Test
+    void forcedFramesBypassThresholds() {
+        CameraFrameEmitter emitter = new CameraFrameEmitter(1.0, 5.0);
+        emitter.accept(at(0, 0, 0), false);
+
+        assertTrue(emitter.accept(at(0, 0, 0), true));
+        assertEquals(2, emitter.getSent());
+        assertEquals(0, emitter.getSkipped());
+    }
+
+    @Test
+    void resetSendsTheNextFrame() {
+        CameraFrameEmitter emitter = new CameraFrameEmitter(1.0, 5.0);
+        emitter.accept(at(0, 0, 0), false);
+        emitter.reset();
+
+        assertTrue(emitter.accept(at(0, 0, 0), false));
+    }
+
+    private static Location at(double x, double y, double z) {
+        return at(x, y, z, 0.0f, 0.0f);
+    }
+
+    private static Location at(double x, double y, double z, float yaw, float pitch) {
+        return new Location(null, x, y, z, yaw, pitch);
+    }
+}
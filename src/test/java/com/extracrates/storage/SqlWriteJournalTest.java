@@ -0,0 +1,109 @@
+package com.extracrates.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SqlWriteJournalTest {
+    private static final UUID PLAYER = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    private final FakeWriter writer = new FakeWriter();
+    private SqlWriteJournal journal;
+
+    @AfterEach
+    void closeJournal() {
+        if (journal != null) {
+            writer.failing = false;
+            journal.close();
+        }
+    }
+
+    @Test
+    void latestDeliveryPerKeyWins() {
+        List<SqlWriteJournal.Entry> entries = List.of(
+                delivery("a", DeliveryStatus.STARTED, 1),
+                delivery("b", DeliveryStatus.STARTED, 2),
+                delivery("a", DeliveryStatus.COMPLETED, 3)
+        );
+
+        Map<String, SqlWriteJournal.DeliveryRow> latest = SqlWriteJournal.latestDeliveries(entries);
+
+        assertEquals(2, latest.size());
+        assertEquals(List.of("a", "b"), latest.values().stream().map(SqlWriteJournal.DeliveryRow::rewardId).toList());
+        assertEquals(DeliveryStatus.COMPLETED, latest.values().iterator().next().status());
+    }
+
+    @Test
+    void failedBatchIsRetriedBeforeNewerRows() {
+        journal = new SqlWriteJournal(writer, settings(100), Logger.getLogger("SqlWriteJournalTest"));
+        journal.append(delivery("a", DeliveryStatus.STARTED, 1));
+        writer.failing = true;
+
+        assertThrows(StorageUnavailableException.class, journal::flush);
+        assertEquals(1, journal.depth());
+
+        journal.append(delivery("a", DeliveryStatus.COMPLETED, 2));
+        writer.failing = false;
+        journal.flush();
+
+        assertEquals(DeliveryStatus.COMPLETED, writer.deliveries.get(PLAYER + ":crate:a"));
+        assertEquals(0, journal.depth());
+    }
+
+    @Test
+    void retriedRowsKeepAppendOrderAcrossBatches() {
+        journal = new SqlWriteJournal(writer, settings(2), Logger.getLogger("SqlWriteJournalTest"));
+        writer.failing = true;
+        journal.append(delivery("a", DeliveryStatus.STARTED, 1));
+        journal.append(delivery("b", DeliveryStatus.STARTED, 2));
+        assertThrows(StorageUnavailableException.class, journal::flush);
+
+        journal.append(delivery("a", DeliveryStatus.COMPLETED, 3));
+        journal.append(delivery("b", DeliveryStatus.PENDING, 4));
+        writer.failing = false;
+        journal.flush();
+
+        assertEquals(List.of(1L, 2L, 3L, 4L), writer.writtenOrder);
+        assertEquals(DeliveryStatus.COMPLETED, writer.deliveries.get(PLAYER + ":crate:a"));
+        assertEquals(DeliveryStatus.PENDING, writer.deliveries.get(PLAYER + ":crate:b"));
+    }
+
+    private static SqlWriteJournal.DeliveryRow delivery(String rewardId, DeliveryStatus status, long timestamp) {
+        return new SqlWriteJournal.DeliveryRow(PLAYER, "crate", rewardId, status, 1, Instant.ofEpochMilli(timestamp));
+    }
+
+    private static StorageSettings settings(int batchSize) {
+        // Long flush interval so only the test triggers flushes.
+        return new StorageSettings(true, "mysql", "", "", "", SqlPoolSettings.defaults(), 1, 16, true,
+                batchSize, 600000L, 100, "test", 30000L, 10000L, 60000L);
+    }
+
+    private static final class FakeWriter implements SqlWriteJournal.BatchWriter {
+        private final Map<String, DeliveryStatus> deliveries = new HashMap<>();
+        private final List<Long> writtenOrder = new ArrayList<>();
+        private volatile boolean failing;
+
+        @Override
+        public void writeBatch(List<SqlWriteJournal.Entry> entries) {
+            if (failing) {
+                throw new StorageUnavailableException("fallo simulado");
+            }
+            for (SqlWriteJournal.Entry entry : entries) {
+                if (entry instanceof SqlWriteJournal.DeliveryRow delivery) {
+                    writtenOrder.add(delivery.timestamp().toEpochMilli());
+                }
+            }
+            SqlWriteJournal.latestDeliveries(entries).forEach((key, row) -> deliveries.put(key, row.status()));
+        }
+    }
+}
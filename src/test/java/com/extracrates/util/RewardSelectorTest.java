@@ -1,16 +1,24 @@
 package com.extracrates.util;
 
+import com.extracrates.model.RarityDefinition;
 import com.extracrates.model.Reward;
 import com.extracrates.model.RewardPool;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Deque;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Random;
+import java.util.SplittableRandom;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class RewardSelectorTest {
 
@@ -37,6 +45,31 @@ class RewardSelectorTest {
         assertEquals(List.of(first, second), results);
     }
 
+    @Test
+    void compiledPoolSamplesThroughAliasTable() {
+        Reward first = reward("first", 1.0);
+        Reward second = reward("second", 3.0);
+        RewardPool pool = new RewardPool("pool", 1, false, List.of(first, second)).compile();
+
+        assertNotNull(pool.aliasTable());
+        assertEquals(first, RewardSelector.sample(pool, new FixedRandom().withDoubles(0.1)));
+        assertEquals(second, RewardSelector.sample(pool, new FixedRandom().withDoubles(0.3)));
+        assertEquals(second, RewardSelector.sample(pool, new FixedRandom().withDoubles(0.99)));
+    }
+
+    @Test
+    void preventDuplicateItemsDrawsWithoutReplacement() {
+        Reward first = reward("first", 0.7);
+        Reward second = reward("second", 0.2);
+        Reward third = reward("third", 0.1);
+        RewardPool pool = new RewardPool("pool", 5, true, List.of(first, second, third)).compile();
+
+        List<Reward> results = RewardSelector.roll(pool, new Random(7), null);
+
+        assertEquals(3, results.size());
+        assertEquals(3, new HashSet<>(results).size());
+    }
+
     @Test
     void zeroTotalFallsBackToIndexSelectionAndLogs() {
         Reward first = reward("first", 0.0);
@@ -59,7 +92,67 @@ class RewardSelectorTest {
         assertEquals(second, logger.lastReward);
     }
 
+    @Test
+    void compiledPoolWithoutPositiveChanceStaysCompiled() {
+        Reward first = reward("first", 0.0);
+        Reward second = reward("second", 0.0);
+        RewardPool pool = new RewardPool("pool", 1, false, List.of(first, second)).compile();
+
+        assertTrue(pool.isCompiled());
+        assertNull(pool.aliasTable());
+        assertFalse(new RewardPool("pool", 1, false, List.of(first)).isCompiled());
+
+        List<Reward> results = RewardSelector.roll(pool, new FixedRandom().withDoubles(0.5).withInts(1), null);
+
+        assertEquals(List.of(second), results);
+    }
+
+    @Test
+    void compiledRarityBucketsFollowPoolOrder() {
+        List<Reward> rewards = new ArrayList<>();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            String rarity = "rarity-" + (15 - i);
+            expected.add(rarity);
+            rewards.add(reward("reward-" + i, 1.0, rarity.toUpperCase(Locale.ROOT)));
+        }
+        RewardPool pool = new RewardPool("pool", 1, true, rewards).compile();
+
+        assertEquals(expected, new ArrayList<>(pool.rarityBuckets().keySet()));
+    }
+
+    @Test
+    void sameSeedReplaysDistinctRollsAcrossSeparatelyCompiledPools() {
+        List<RarityDefinition> rarities = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            rarities.add(new RarityDefinition("rarity-" + i, "rarity-" + i, i + 1.0, ""));
+        }
+        WeightedTable<RarityDefinition> raritySampler = WeightedTable.of(rarities, RarityDefinition::chance);
+
+        RewardPool pool = distinctPool();
+        List<Reward> first = RewardSelector.rollDistinctUniform(pool, pool.rewards(), 10,
+                raritySampler, new SplittableRandom(42L), null);
+        RewardPool replayPool = distinctPool();
+        List<Reward> replay = RewardSelector.rollDistinctUniform(replayPool, replayPool.rewards(), 10,
+                raritySampler, new SplittableRandom(42L), null);
+
+        assertEquals(10, first.size());
+        assertEquals(first.stream().map(Reward::id).toList(), replay.stream().map(Reward::id).toList());
+    }
+
+    private RewardPool distinctPool() {
+        List<Reward> rewards = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            rewards.add(reward("reward-" + i, 1.0, i % 5 == 0 ? "" : "rarity-" + (i % 8)));
+        }
+        return new RewardPool("pool", 10, true, rewards).compile();
+    }
+
     private Reward reward(String id, double chance) {
+        return reward(id, chance, "");
+    }
+
+    private Reward reward(String id, double chance, String rarity) {
         return new Reward(
                 id,
                 chance,
@@ -76,7 +169,7 @@ class RewardSelectorTest {
                 null,
                 "",
                 "",
-                ""
+                rarity
         );
     }
 